@@ -33,7 +33,7 @@ public class App extends JFrame implements ViewListener {
     private static final Logger LOGGER = Logger.getLogger(App.class.getName());
 
     private static final String TITLE = "Stock Data Viewer";
-    private static final String[] TIMEFRAMES = {"Daily", "Weekly", "Monthly"};
+    private static final String[] TIMEFRAMES = {"Daily", "Weekly", "Monthly", "1min", "5min", "15min", "30min", "1hour", "4hour"};
     private static final String INPUT_ERROR = "Input Error";
     private static final String INFO = "Info";
     private static final String ERROR = "Error";
@@ -121,6 +121,7 @@ public class App extends JFrame implements ViewListener {
             tableModel.setRowCount(0);
             stockData.forEach(row -> tableModel.addRow(row.toArray()));
             enableActionButtons();
+            stockController.startStreaming(symbol, timeframe);
         } else {
             JOptionPane.showMessageDialog(this, "Failed to fetch data!", ERROR, JOptionPane.ERROR_MESSAGE);
         }
@@ -145,6 +146,8 @@ public class App extends JFrame implements ViewListener {
     }
 
     private void refreshScreen(ActionEvent event) {
+        stockController.stopStreaming();
+        setTitle(TITLE);
         tableModel.setRowCount(0);
         symbolField.setText("");
         timeframeDropdown.setSelectedIndex(0);
@@ -178,6 +181,11 @@ public class App extends JFrame implements ViewListener {
     }
 
 
+    @Override
+    public void onLivePrediction(String symbol, String timeframe, double predictedPrice) {
+        setTitle(TITLE + " | " + symbol + " " + timeframe + " live prediction: $" + String.format("%.2f", predictedPrice));
+    }
+
     @Override
     public void onEvaluationCompleted() {
         JOptionPane.showMessageDialog(this, "Model evaluation completed.", INFO, JOptionPane.INFORMATION_MESSAGE);
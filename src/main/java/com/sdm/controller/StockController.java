@@ -2,6 +2,7 @@ package com.sdm.controller;
 
 import com.sdm.model.ModelScore;
 import com.sdm.model.PredictionModel;
+import com.sdm.service.LiveBarStream;
 import com.sdm.service.ModelEvaluation;
 import com.sdm.service.ModelManager;
 import com.sdm.service.StockDataFetcher;
@@ -10,6 +11,7 @@ import com.sdm.view.ChartHandler;
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
 import java.awt.event.ActionEvent;
+import java.io.IOException;
 import java.util.List;
 
 /**
@@ -26,6 +28,7 @@ public class StockController {
     private final ModelEvaluation modelEvaluation;
     private ChartHandler chartHandler;
     private final ViewListener viewListener;
+    private LiveBarStream liveStream;
 
     /**
      * Initializes services and registers prediction models.
@@ -74,6 +77,46 @@ public class StockController {
     }
     
 
+    /**
+     * Streams live bars for the symbol when stream.source is configured. Each
+     * time a bar of the timeframe closes, the prediction is re-run on the
+     * buffered bars (no re-fetch) and the view is notified. Only intraday
+     * timeframes keep buffered bars; any previous stream is stopped.
+     *
+     * @param symbol    Stock ticker.
+     * @param timeframe Time granularity.
+     */
+    public void startStreaming(final String symbol, final String timeframe) {
+        stopStreaming();
+        final LiveBarStream stream = StockDataFetcher.openLiveStream();
+        if (stream == null) {
+            return;
+        }
+        final String interval = StockDataFetcher.toInterval(timeframe);
+        stream.addListener((barSymbol, barInterval, bar) -> {
+            if (symbol.equals(barSymbol) && interval.equals(barInterval)) {
+                SwingUtilities.invokeLater(() -> predictFromBufferedBars(symbol, timeframe));
+            }
+        });
+        try {
+            stream.start(List.of(symbol));
+            liveStream = stream;
+        } catch (IOException e) {
+            stream.close();
+            showInfoDialog("Could not start live stream: " + e.getMessage(), "Error");
+        }
+    }
+
+    /**
+     * Stops the live stream, if one is running.
+     */
+    public void stopStreaming() {
+        if (liveStream != null) {
+            liveStream.close();
+            liveStream = null;
+        }
+    }
+
     /**
      * Evaluates all models, shows results, and notifies the view.
      *
@@ -132,6 +175,16 @@ public class StockController {
 
     // --- Private Helper Methods ---
 
+    private void predictFromBufferedBars(final String symbol, final String timeframe) {
+        if (!stockDataFetcher.refreshFromBuffer(symbol, timeframe)) {
+            return;
+        }
+        final double predictedPrice = modelManager.predictBestModel(stockDataFetcher, timeframe, modelEvaluation);
+        if (viewListener != null) {
+            viewListener.onLivePrediction(symbol, timeframe, predictedPrice);
+        }
+    }
+
     private void showEvaluationSummary(final List<ModelScore> scores, final String timeframe) {
         final StringBuilder summary = new StringBuilder("Model Evaluation Summary (" + timeframe + "):\n\n");
         scores.forEach(score -> summary.append(score.toString()).append("\n"));
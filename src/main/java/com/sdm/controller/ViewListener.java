@@ -20,4 +20,15 @@ public interface ViewListener {
      * Called by the controller when a model evaluation has been completed successfully.
      */
     void onEvaluationCompleted();
+
+    /**
+     * Called on the Swing thread when a streamed bar closed and the prediction was refreshed.
+     *
+     * @param symbol Stock symbol predicted
+     * @param timeframe Timeframe of the closed bar
+     * @param predictedPrice Predicted price value
+     */
+    default void onLivePrediction(final String symbol, final String timeframe, final double predictedPrice) {
+        // optional for views without a live display
+    }
 }
@@ -0,0 +1,66 @@
+package com.sdm.model;
+
+import com.sdm.utils.DenseMatrix;
+
+
+/**
+ * Autoregressive model: predicts the next price as a linear combination of
+ * the previous lags prices plus an intercept.
+ *
+ * The lag matrix is a DenseMatrix view over the training prices, so training on a
+ * long history needs no copy of the prices per lag.
+ */
+public class AutoRegressiveModel implements PredictionModel {
+    private final int lags;
+    private final MultiFeatureLinearRegressionModel regression = new MultiFeatureLinearRegressionModel();
+    private double[] lastWindow;
+
+    /**
+     * @param lags Number of past prices used as features
+     */
+    public AutoRegressiveModel(final int lags) {
+        if (lags < 1) {
+            throw new IllegalArgumentException("lags must be positive");
+        }
+        this.lags = lags;
+    }
+
+    @Override
+    public String getName() {
+        return "AutoRegressive (lags=" + lags + ")";
+    }
+
+    @Override
+    public boolean supportsUnivariate() {
+        return true;
+    }
+
+    /**
+     * Fits the weights on every window of lags prices followed by the next price.
+     *
+     * @param prices Historical prices, oldest first; needs at least 2 * lags + 1 of them
+     */
+    @Override
+    public void trainUnivariate(final double[] prices) {
+        if (prices == null || prices.length <= 2 * lags) {
+            throw new IllegalArgumentException("Need more than " + 2 * lags + " prices for " + lags + " lags");
+        }
+        final DenseMatrix windows = DenseMatrix.lags(prices, lags);
+        final double[] targets = new double[windows.rows()];
+        System.arraycopy(prices, lags, targets, 0, targets.length);
+        regression.trainMatrix(windows, targets);
+        lastWindow = new double[lags];
+        System.arraycopy(prices, prices.length - lags, lastWindow, 0, lags);
+    }
+
+    /**
+     * Predicts the price following the training prices.
+     */
+    @Override
+    public double predictNext() {
+        if (lastWindow == null) {
+            throw new IllegalStateException("Model is not trained");
+        }
+        return regression.predict(lastWindow);
+    }
+}
@@ -0,0 +1,37 @@
+package com.sdm.model;
+
+/**
+ * One completed OHLCV bar, as pushed to streaming consumers.
+ * The timestamp is the start of the bar's period in epoch seconds.
+ */
+public final class Bar {
+    private final long timestamp;
+    private final double open;
+    private final double high;
+    private final double low;
+    private final double close;
+    private final double volume;
+
+    @SuppressWarnings("PMD.ExcessiveParameterList")
+    public Bar(final long timestamp, final double open, final double high,
+               final double low, final double close, final double volume) {
+        this.timestamp = timestamp;
+        this.open = open;
+        this.high = high;
+        this.low = low;
+        this.close = close;
+        this.volume = volume;
+    }
+
+    public long getTimestamp() { return timestamp; }
+    public double getOpen() { return open; }
+    public double getHigh() { return high; }
+    public double getLow() { return low; }
+    public double getClose() { return close; }
+    public double getVolume() { return volume; }
+
+    @Override
+    public String toString() {
+        return "Bar{" + timestamp + " O=" + open + " H=" + high + " L=" + low + " C=" + close + " V=" + volume + "}";
+    }
+}
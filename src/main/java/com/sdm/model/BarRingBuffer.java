@@ -0,0 +1,141 @@
+package com.sdm.model;
+
+/**
+ * Fixed-capacity columnar store of the newest OHLCV bars of one symbol/interval.
+ *
+ * Columns are primitive arrays allocated once; appending a bar is O(1) and,
+ * once full, overwrites the oldest bar, so memory stays bounded however long a
+ * session runs. Bars are indexed oldest first (0 = oldest retained bar).
+ * Not thread-safe; callers sharing a buffer must synchronize on it.
+ */
+@SuppressWarnings("PMD.TooManyMethods")
+public final class BarRingBuffer {
+    private final long[] timestamps;
+    private final double[] open;
+    private final double[] high;
+    private final double[] low;
+    private final double[] close;
+    private final double[] volume;
+    private int start;  // physical index of the oldest bar
+    private int size;
+
+    /**
+     * @param capacity Maximum number of bars retained
+     */
+    public BarRingBuffer(final int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be at least 1");
+        }
+        timestamps = new long[capacity];
+        open = new double[capacity];
+        high = new double[capacity];
+        low = new double[capacity];
+        close = new double[capacity];
+        volume = new double[capacity];
+    }
+
+    public int capacity() { return timestamps.length; }
+    public int size() { return size; }
+    public boolean isEmpty() { return size == 0; }
+
+    /**
+     * Appends a bar. A bar with the newest bar's timestamp replaces it (the bar
+     * was still forming); an older bar is ignored.
+     *
+     * @return false if the bar was older than the newest bar and ignored
+     */
+    @SuppressWarnings("PMD.ExcessiveParameterList")
+    public boolean append(final long timestamp, final double openPrice, final double highPrice,
+                          final double lowPrice, final double closePrice, final double barVolume) {
+        final int slot;
+        if (size > 0 && timestamp <= getLastTimestamp()) {
+            if (timestamp < getLastTimestamp()) {
+                return false;
+            }
+            slot = physical(size - 1);
+        } else if (size < timestamps.length) {
+            slot = physical(size);
+            size++;
+        } else {
+            slot = start;
+            start = (start + 1) % timestamps.length;
+        }
+        timestamps[slot] = timestamp;
+        open[slot] = openPrice;
+        high[slot] = highPrice;
+        low[slot] = lowPrice;
+        close[slot] = closePrice;
+        volume[slot] = barVolume;
+        return true;
+    }
+
+    /**
+     * Appends every bar of a series (oldest first), skipping bars older than the newest retained one.
+     *
+     * @return number of bars appended or updated
+     */
+    public int appendAll(final BarSeries series) {
+        int appended = 0;
+        for (int i = 0; i < series.size(); i++) {
+            if (append(series.getTimestamp(i), series.getOpen(i), series.getHigh(i),
+                    series.getLow(i), series.getClose(i), series.getVolume(i))) {
+                appended++;
+            }
+        }
+        return appended;
+    }
+
+    public long getTimestamp(final int index) { return timestamps[physical(checkIndex(index))]; }
+    public double getOpen(final int index) { return open[physical(checkIndex(index))]; }
+    public double getHigh(final int index) { return high[physical(checkIndex(index))]; }
+    public double getLow(final int index) { return low[physical(checkIndex(index))]; }
+    public double getClose(final int index) { return close[physical(checkIndex(index))]; }
+    public double getVolume(final int index) { return volume[physical(checkIndex(index))]; }
+
+    /**
+     * @return timestamp of the newest bar
+     * @throws IllegalStateException if the buffer is empty
+     */
+    public long getLastTimestamp() {
+        if (size == 0) {
+            throw new IllegalStateException("Buffer is empty");
+        }
+        return timestamps[physical(size - 1)];
+    }
+
+    /**
+     * Copies the retained bars, oldest first, into a new series
+     * (two array copies per column).
+     */
+    public BarSeries toSeries() {
+        return new BarSeries(unwrap(timestamps), unwrap(open), unwrap(high), unwrap(low), unwrap(close), unwrap(volume));
+    }
+
+    private long[] unwrap(final long[] column) {
+        final long[] result = new long[size];
+        final int firstPart = Math.min(size, column.length - start);
+        System.arraycopy(column, start, result, 0, firstPart);
+        System.arraycopy(column, 0, result, firstPart, size - firstPart);
+        return result;
+    }
+
+    private double[] unwrap(final double[] column) {
+        final double[] result = new double[size];
+        final int firstPart = Math.min(size, column.length - start);
+        System.arraycopy(column, start, result, 0, firstPart);
+        System.arraycopy(column, 0, result, firstPart, size - firstPart);
+        return result;
+    }
+
+    private int physical(final int index) {
+        final int slot = start + index;
+        return slot < timestamps.length ? slot : slot - timestamps.length;
+    }
+
+    private int checkIndex(final int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Bar index " + index + " out of range for size " + size);
+        }
+        return index;
+    }
+}
@@ -0,0 +1,350 @@
+package com.sdm.model;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Columnar OHLCV time series ordered oldest bar first.
+ *
+ * Each field is held in its own primitive array so the series can be written
+ * to and read from disk column by column without boxing.
+ * Timestamps are epoch seconds (UTC).
+ *
+ * A series may be a view over a range of another series' arrays (see slice),
+ * which lets train/test splits share the fetched data instead of copying it.
+ */
+@SuppressWarnings({"PMD.MethodReturnsInternalArray", "PMD.TooManyMethods"})
+public final class BarSeries {
+    private final long[] timestamps;
+    private final double[] open;
+    private final double[] high;
+    private final double[] low;
+    private final double[] close;
+    private final double[] volume;
+    private final int offset;  // index of this view's first bar in the backing arrays
+    private final int length;  // number of bars in this view
+
+    /**
+     * Wraps the given columns without copying. All arrays must have the same length.
+     */
+    public BarSeries(final long[] timestamps, final double[] open, final double[] high,
+                     final double[] low, final double[] close, final double[] volume) {
+        this(timestamps, open, high, low, close, volume, 0, timestamps.length);
+        final int size = timestamps.length;
+        if (open.length != size || high.length != size || low.length != size
+                || close.length != size || volume.length != size) {
+            throw new IllegalArgumentException("All columns must have the same length");
+        }
+    }
+
+    @SuppressWarnings("PMD.ExcessiveParameterList")
+    private BarSeries(final long[] timestamps, final double[] open, final double[] high, final double[] low,
+                      final double[] close, final double[] volume, final int offset, final int length) {
+        this.timestamps = timestamps;
+        this.open = open;
+        this.high = high;
+        this.low = low;
+        this.close = close;
+        this.volume = volume;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    /**
+     * Wraps columns whose rows may be in any order and returns them oldest first.
+     * Ascending input is kept as is and descending input (as sent by the API) is
+     * reversed in place; anything else is stably sorted with a primitive sort.
+     * The given arrays may be modified and become the series' backing arrays.
+     */
+    public static BarSeries ofUnordered(final long[] timestamps, final double[] open, final double[] high,
+                                        final double[] low, final double[] close, final double[] volume) {
+        final double[][] fields = {open, high, low, close, volume};
+        final int count = timestamps.length;
+        boolean ascending = true;
+        boolean descending = true;
+        for (int i = 1; i < count && (ascending || descending); i++) {
+            ascending &= timestamps[i - 1] <= timestamps[i];
+            descending &= timestamps[i - 1] >= timestamps[i];
+        }
+        if (!ascending && descending) {
+            reverse(timestamps, fields);
+        } else if (!ascending) {
+            sort(timestamps, fields);
+        }
+        return new BarSeries(timestamps, open, high, low, close, volume);
+    }
+
+    private static void reverse(final long[] timestamps, final double[][] fields) {
+        for (int i = 0, j = timestamps.length - 1; i < j; i++, j--) {
+            final long t = timestamps[i];
+            timestamps[i] = timestamps[j];
+            timestamps[j] = t;
+            for (final double[] field : fields) {
+                final double v = field[i];
+                field[i] = field[j];
+                field[j] = v;
+            }
+        }
+    }
+
+    /**
+     * Sorts rows by timestamp without boxing: each key packs the offset from the
+     * oldest timestamp above the row index, so one Arrays.sort(long[]) yields a
+     * stable order and the permutation can be read from the low bits.
+     */
+    private static void sort(final long[] timestamps, final double[][] fields) {
+        final int count = timestamps.length;
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (final long timestamp : timestamps) {
+            min = Math.min(min, timestamp);
+            max = Math.max(max, timestamp);
+        }
+        final int indexBits = 64 - Long.numberOfLeadingZeros(count);
+        if (max - min < 0 || (max - min) >>> (63 - indexBits) != 0) {
+            throw new IllegalArgumentException("Timestamp range too wide to sort");
+        }
+        final long indexMask = (1L << indexBits) - 1;
+        final long[] keys = new long[count];
+        for (int i = 0; i < count; i++) {
+            keys[i] = (timestamps[i] - min) << indexBits | i;
+        }
+        Arrays.sort(keys);
+        for (int i = 0; i < count; i++) {
+            timestamps[i] = (keys[i] >>> indexBits) + min;
+        }
+        for (final double[] field : fields) {
+            final double[] source = field.clone();
+            for (int i = 0; i < count; i++) {
+                field[i] = source[(int) (keys[i] & indexMask)];
+            }
+        }
+    }
+
+    /**
+     * @return a series with no bars
+     */
+    public static BarSeries empty() {
+        return new BarSeries(new long[0], new double[0], new double[0], new double[0], new double[0], new double[0]);
+    }
+
+    public int size() { return length; }
+    public boolean isEmpty() { return length == 0; }
+
+    public long getTimestamp(final int index) { return timestamps[offset + checkIndex(index)]; }
+    public double getOpen(final int index) { return open[offset + checkIndex(index)]; }
+    public double getHigh(final int index) { return high[offset + checkIndex(index)]; }
+    public double getLow(final int index) { return low[offset + checkIndex(index)]; }
+    public double getClose(final int index) { return close[offset + checkIndex(index)]; }
+    public double getVolume(final int index) { return volume[offset + checkIndex(index)]; }
+
+    private int checkIndex(final int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("Bar index " + index + " out of range for size " + length);
+        }
+        return index;
+    }
+
+    /**
+     * @return timestamp of the newest bar
+     * @throws IllegalStateException if the series is empty
+     */
+    public long getLastTimestamp() {
+        if (length == 0) {
+            throw new IllegalStateException("Series is empty");
+        }
+        return timestamps[offset + length - 1];
+    }
+
+    /**
+     * Zero-copy view of bars [from, to). The view shares this series' arrays.
+     *
+     * @param from First bar index (inclusive)
+     * @param to   Last bar index (exclusive)
+     */
+    public BarSeries slice(final int from, final int to) {
+        if (from < 0 || to > length || from > to) {
+            throw new IndexOutOfBoundsException("Invalid slice [" + from + ", " + to + ") of size " + length);
+        }
+        return new BarSeries(timestamps, open, high, low, close, volume, offset + from, to - from);
+    }
+
+    /**
+     * Binary search for the first bar at or after the timestamp.
+     *
+     * @return its index, or size() if every bar is older
+     */
+    public int indexAtOrAfter(final long timestamp) {
+        int low = 0;
+        int high = length;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (timestamps[offset + mid] < timestamp) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Binary search for the first bar strictly after the timestamp.
+     *
+     * @return its index, or size() if no bar is newer
+     */
+    public int indexAfter(final long timestamp) {
+        return timestamp == Long.MAX_VALUE ? length : indexAtOrAfter(timestamp + 1);
+    }
+
+    /**
+     * Zero-copy view of the bars with start &lt;= timestamp &lt;= end.
+     */
+    public BarSeries between(final long start, final long end) {
+        final int from = indexAtOrAfter(start);
+        return slice(from, Math.max(from, indexAfter(end)));
+    }
+
+    /**
+     * Zero-copy view of the newest count bars (or the whole series if shorter).
+     */
+    public BarSeries tail(final int count) {
+        return slice(Math.max(0, length - count), length);
+    }
+
+    /**
+     * Merges a delta of newer bars into this series. Stored bars at or after the
+     * first timestamp of the delta are replaced, so a re-sent (still forming)
+     * last bar is updated rather than duplicated.
+     *
+     * @param newer Bars ordered oldest first, typically fetched from the last stored timestamp onwards
+     * @return a new series holding the merged bars
+     */
+    public BarSeries mergeNewer(final BarSeries newer) {
+        if (newer.isEmpty()) {
+            return this;
+        }
+        final int keep = indexAtOrAfter(newer.getTimestamp(0));
+        final int total = keep + newer.length;
+        return new BarSeries(
+                concat(timestamps, offset, keep, newer.timestamps, newer.offset, newer.length, total),
+                concat(open, offset, keep, newer.open, newer.offset, newer.length, total),
+                concat(high, offset, keep, newer.high, newer.offset, newer.length, total),
+                concat(low, offset, keep, newer.low, newer.offset, newer.length, total),
+                concat(close, offset, keep, newer.close, newer.offset, newer.length, total),
+                concat(volume, offset, keep, newer.volume, newer.offset, newer.length, total));
+    }
+
+    /**
+     * Joins pages of bars into one series in a single pass. Pages may arrive in
+     * any order and overlap at their edges; bars not newer than the last bar
+     * already taken are skipped.
+     *
+     * @param pages Pages, each ordered oldest first
+     * @return the stitched series
+     */
+    public static BarSeries stitch(final List<BarSeries> pages) {
+        final List<BarSeries> ordered = new ArrayList<>(pages);
+        ordered.removeIf(BarSeries::isEmpty);
+        ordered.sort(Comparator.comparingLong(page -> page.getTimestamp(0)));
+
+        int capacity = 0;
+        for (final BarSeries page : ordered) {
+            capacity += page.length;
+        }
+        final long[] timestamps = new long[capacity];
+        final double[][] fields = new double[5][capacity];
+        int count = 0;
+        for (final BarSeries page : ordered) {
+            for (int i = page.offset; i < page.offset + page.length; i++) {
+                if (count > 0 && page.timestamps[i] <= timestamps[count - 1]) {
+                    continue;
+                }
+                timestamps[count] = page.timestamps[i];
+                fields[0][count] = page.open[i];
+                fields[1][count] = page.high[i];
+                fields[2][count] = page.low[i];
+                fields[3][count] = page.close[i];
+                fields[4][count] = page.volume[i];
+                count++;
+            }
+        }
+        return new BarSeries(timestamps, fields[0], fields[1], fields[2], fields[3], fields[4], 0, count);
+    }
+
+    @SuppressWarnings("PMD.ExcessiveParameterList")
+    private static long[] concat(final long[] head, final int headOffset, final int headLength,
+                                 final long[] tail, final int tailOffset, final int tailLength, final int total) {
+        final long[] result = new long[total];
+        System.arraycopy(head, headOffset, result, 0, headLength);
+        System.arraycopy(tail, tailOffset, result, headLength, tailLength);
+        return result;
+    }
+
+    @SuppressWarnings("PMD.ExcessiveParameterList")
+    private static double[] concat(final double[] head, final int headOffset, final int headLength,
+                                   final double[] tail, final int tailOffset, final int tailLength, final int total) {
+        final double[] result = new double[total];
+        System.arraycopy(head, headOffset, result, 0, headLength);
+        System.arraycopy(tail, tailOffset, result, headLength, tailLength);
+        return result;
+    }
+
+    /**
+     * Read-only List view of the close column, for callers still working with
+     * List&lt;Double&gt;. Values are boxed on access only; nothing is copied.
+     */
+    public List<Double> closeList() {
+        return new ColumnList(close, offset, length);
+    }
+
+    // Column access for bulk I/O and model training; callers must not modify the arrays.
+    // The backing array is returned as-is when this series covers it entirely,
+    // otherwise the view's range is copied.
+    public long[] timestampColumn() { return isWhole() ? timestamps : Arrays.copyOfRange(timestamps, offset, offset + length); }
+    public double[] openColumn() { return column(open); }
+    public double[] highColumn() { return column(high); }
+    public double[] lowColumn() { return column(low); }
+    public double[] closeColumn() { return column(close); }
+    public double[] volumeColumn() { return column(volume); }
+
+    private boolean isWhole() {
+        return offset == 0 && length == timestamps.length;
+    }
+
+    private double[] column(final double[] values) {
+        return isWhole() ? values : Arrays.copyOfRange(values, offset, offset + length);
+    }
+
+    /**
+     * Unmodifiable boxed view over a range of a primitive column.
+     */
+    private static final class ColumnList extends AbstractList<Double> implements RandomAccess {
+        private final double[] values;
+        private final int start;
+        private final int size;
+
+        ColumnList(final double[] values, final int start, final int size) {
+            this.values = values;
+            this.start = start;
+            this.size = size;
+        }
+
+        @Override
+        public Double get(final int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index " + index + " out of range for size " + size);
+            }
+            return values[start + index];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -1,5 +1,4 @@
 package com.sdm.model;
-import java.util.List;
 import java.util.Arrays;
 
 
@@ -43,21 +42,16 @@ public class LassoRegressionModel implements PredictionModel {
     /**
      * Trains the model using coordinate descent algorithm for Lasso Regression
      *
-     * @param features input features as List of double arrays
+     * @param features input feature rows (read, not modified)
      * @param targets  target values (true labels)
      */
     @SuppressWarnings({ "PMD.CognitiveComplexity", "PMD.CyclomaticComplexity" })
     @Override
-    public void train(final List<double[]> features,final List<Double> targets) {
-        final int numSamples = features.size();
-        final int numFeatures = features.get(0).length;
-        final double[][] xMatrix = new double[numSamples][numFeatures];
-        final double[] targetValues = new double[numSamples];
-
-        for (int i = 0; i < numSamples; i++) {
-            xMatrix[i] = features.get(i);
-            targetValues[i] = targets.get(i);
-        }
+    public void trainMultivariate(final double[][] features, final double[] targets) {
+        final int numSamples = features.length;
+        final int numFeatures = features[0].length;
+        final double[][] xMatrix = features;
+        final double[] targetValues = targets;
 
         // Initialize all weights to zero
         weights = new double[numFeatures];
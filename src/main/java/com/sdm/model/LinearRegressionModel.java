@@ -1,7 +1,5 @@
 package com.sdm.model;
 
-import java.util.List;
-import java.util.stream.IntStream;
 import java.util.logging.Logger;
 
 
@@ -36,29 +34,26 @@ public class LinearRegressionModel implements PredictionModel {
      * Trains the model using a list of historical prices.
      * Applies simple linear regression to fit the best line.
      *
-     * @param trainingPrices List of closing stock prices
+     * @param trainingPrices Closing stock prices, oldest first
      */
     @Override
-    public void train(final List<Double> trainingPrices) {
-        if (trainingPrices == null || trainingPrices.isEmpty()) {
+    public void trainUnivariate(final double[] trainingPrices) {
+        if (trainingPrices == null || trainingPrices.length == 0) {
             throw new IllegalArgumentException("Training data cannot be null or empty!");
         }
 
-        trainingSize = trainingPrices.size(); // Save size
+        trainingSize = trainingPrices.length; // Save size
         LOGGER.info("Training started with " + trainingSize + " data points.");
 
         if (trainingSize == MINIMUM_DATA_SIZE) {
             // Special case: Only one data point, so no slope
             slope = DEFAULT_SLOPE;
-            intercept = trainingPrices.get(0);
+            intercept = trainingPrices[0];
             return;
         }
 
-        // Generate X values (0, 1, 2, ..., trainingSize - 1)
-        final List<Integer> xValues = IntStream.range(0, trainingSize).boxed().toList();
-
-        // Calculate regression
-        calculateRegression(xValues, trainingPrices);
+        // Calculate regression against X values 0, 1, 2, ..., trainingSize - 1
+        calculateRegression(trainingPrices);
         LOGGER.info("Training completed. Slope: " + slope + ", Intercept: " + intercept);
 
     }
@@ -91,22 +86,28 @@ public class LinearRegressionModel implements PredictionModel {
 
     /**
      * Computes the slope and intercept using least squares linear regression.
+     * The x-axis values are the sample indices (0, 1, 2, ...).
      *
-     * @param inputIndices The x-axis values (e.g., 0, 1, 2,...)
      * @param priceValues  The actual y-values (closing prices)
      */
-    private void calculateRegression(final List<Integer> inputIndices, final List<Double> priceValues) {
-        final int count = inputIndices.size();
-        final double sumX = inputIndices.stream().mapToDouble(Integer::doubleValue).sum();
-        final double sumY = priceValues.stream().mapToDouble(Double::doubleValue).sum();
-        final double sumXY = IntStream.range(0, count).mapToDouble(i -> inputIndices.get(i) * priceValues.get(i)).sum();
-        final double sumX2 = inputIndices.stream().mapToDouble(i -> i * i).sum();
+    private void calculateRegression(final double[] priceValues) {
+        final int count = priceValues.length;
+        double sumX = 0;
+        double sumY = 0;
+        double sumXY = 0;
+        double sumX2 = 0;
+        for (int i = 0; i < count; i++) {
+            sumX += i;
+            sumY += priceValues[i];
+            sumXY += i * priceValues[i];
+            sumX2 += (double) i * i;
+        }
 
         // to avoid division by zero for denominator
         final double denominator = (count * sumX2 - sumX * sumX);
         if (denominator == 0) {
             slope = DEFAULT_SLOPE;
-            intercept = priceValues.get(0); // Return first value
+            intercept = priceValues[0]; // Return first value
             return;
         }
 
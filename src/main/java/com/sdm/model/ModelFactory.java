@@ -51,6 +51,7 @@ public final class ModelFactory {
         models.add(new MultiFeatureLinearRegressionModel());
         models.add(new RidgeRegressionModel(0.5));
         models.add(new LassoRegressionModel(0.1));
+        models.add(new AutoRegressiveModel(5));
 
         for (int degree = 2; degree <= 5; degree++) {
             models.add(new PolynomialRegressionModel(degree));
@@ -1,5 +1,6 @@
 package com.sdm.model;
 import com.sdm.utils.LinearAlgebraUtils;
+import com.sdm.utils.DenseMatrix;
 
 //import java.util.ArrayList;
 import java.util.List;
@@ -29,42 +30,21 @@ public class MultiFeatureLinearRegressionModel implements PredictionModel {
      * Trains the multivariate linear regression model using normal equation.
      *
      * @param features Input features (each sample is a double[] with N features)
-     * @param targets  Corresponding true target values (1D list)
+     * @param targets  Corresponding true target values
      */
     @Override
-    public void train(final List<double[]> features, final List<Double> targets) {
-        final int numSamples = features.size();
-        final int numFeaturesWithBias = features.get(0).length + 1; // +1 for bias
-
-        final double[][] xMatrix = new double[numSamples][numFeaturesWithBias];
-        final double[][] yMatrix = new double[numSamples][1];
-
-        for (int i = 0; i < numSamples; i++) {
-            xMatrix[i][0] = 1.0; // bias
-            for (int j = 0; j < numFeaturesWithBias - 1; j++) {
-                xMatrix[i][j + 1] = features.get(i)[j];
-            }
-            yMatrix[i][0] = targets.get(i);
-        }
+    public void trainMultivariate(final double[][] features, final double[] targets) {
+        // The bias column is folded into XᵀX and Xᵀy instead of copied into X
+        trainMatrix(DenseMatrix.of(features), targets);
+    }
 
-        /*
-        double[][] Xt = transpose(X);
-        double[][] XtX = multiply(Xt, X);
-        double[][] XtX_inv = invert(XtX);
-        double[][] XtY = multiply(Xt, y);
-        double[][] theta = multiply(XtX_inv, XtY);
-        */
-        final double[][] xT = LinearAlgebraUtils.transpose(xMatrix);
-        final double[][] xTx = LinearAlgebraUtils.multiply(xT, xMatrix);
-        final double[][] xTxInv = LinearAlgebraUtils.invert(xTx);
-        final double[][] xTy = LinearAlgebraUtils.multiply(xT, yMatrix);
-        final double[][] theta = LinearAlgebraUtils.multiply(xTxInv, xTy);
-
-        weights = new double[numFeaturesWithBias];
-        for (int i = 0; i < numFeaturesWithBias; i++) {
-            weights[i] = theta[i][0];
-        }
 
+    /**
+     * Trains on a flat matrix or view, forming XᵀX and Xᵀy straight from its storage.
+     */
+    @Override
+    public void trainMatrix(final DenseMatrix features, final double[] targets) {
+        weights = LinearAlgebraUtils.fitLeastSquares(features, targets, true);
         trained = true;
     }
 
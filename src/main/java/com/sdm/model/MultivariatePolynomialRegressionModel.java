@@ -1,9 +1,8 @@
 package com.sdm.model;
 import com.sdm.service.CrossValidator;
 import com.sdm.utils.LinearAlgebraUtils;
+import com.sdm.utils.PolynomialDesignMatrix;
 import com.sdm.utils.PolynomialFeatureExpander;
-//import java.util.ArrayList;
-import java.util.List;
 import java.util.logging.Logger;
 
 
@@ -17,6 +16,8 @@ import java.util.logging.Logger;
 public class MultivariatePolynomialRegressionModel implements PredictionModel {
     private int bestDegree;    // Chosen polynomial degree via cross-validation
     private double[] weights;  // Learned weights after training
+    private PolynomialFeatureExpander expander;  // Expander of the selected degree
+    private double[] termBuffer;  // Reused by predict, so predictions do not allocate
     private boolean trained = false;
     private final int maxDegree;   // Upper bound for polynomial degrees to try
     private static final Logger LOGGER = Logger.getLogger(MultivariatePolynomialRegressionModel.class.getName());
@@ -55,15 +56,18 @@ public class MultivariatePolynomialRegressionModel implements PredictionModel {
      * For each degree, evaluates performance via R² and picks the best one.
      */
     @Override
-    public void train(final List<double[]> features, final List<Double> targets) {
-        if (features == null || targets == null || features.isEmpty() || targets.isEmpty()) {
+    public void trainMultivariate(final double[][] features, final double[] targets) {
+        if (features == null || targets == null || features.length == 0 || targets.length == 0) {
             throw new IllegalArgumentException("Features or targets cannot be null or empty.");
         }
 
+        // One expansion at maxDegree serves every degree tried and the final fit
+        final PolynomialDesignMatrix design = new PolynomialDesignMatrix(features, maxDegree);
+        final double[] scores = CrossValidator.crossValidateDegreesR2(design, targets, 5);
         double bestScore = Double.NEGATIVE_INFINITY;
 
         for (int d = 1; d <= maxDegree; d++) {
-            final double score = CrossValidator.crossValidateR2(features, targets, d, 5);
+            final double score = scores[d];
             //System.out.printf(" Degree %d ➜ CV R² = %.4f%n", d, score);
             LOGGER.info(String.format("Degree %d ➜ CV R² = %.4f", d, score));
 
@@ -77,20 +81,18 @@ public class MultivariatePolynomialRegressionModel implements PredictionModel {
           LOGGER.info("Selected best degree: " + bestDegree + " with R² = " + bestScore);
 
         
-        // Expand features to polynomial terms of best degree
-        final double[][] expanded = new PolynomialFeatureExpander(bestDegree)
-                .expand(features)
-                .toArray(new double[0][]);
-
-        
-        // Fit weights using least squares on expanded feature matrix        
-        weights = LinearAlgebraUtils.fitLeastSquares(expanded, targets);
+        // Fit weights using least squares on the best degree's column prefix
+        expander = new PolynomialFeatureExpander(bestDegree);
+        weights = LinearAlgebraUtils.fitLeastSquares(design.prefix(bestDegree), targets, false);
+        termBuffer = new double[weights.length];
         trained = true;
     }
 
     
     /**
      * Predicts target value based on new input features after polynomial expansion.
+     * The terms are expanded into a buffer owned by the model, so a model
+     * must not be shared between threads while predicting.
      *
      * @param inputFeatures Raw input feature array (e.g., OHLCV)
      * @return predicted value using learned polynomial model
@@ -101,8 +103,8 @@ public class MultivariatePolynomialRegressionModel implements PredictionModel {
             throw new IllegalStateException("Model not trained");
         }
 
-       final double[] expanded = new PolynomialFeatureExpander(bestDegree).expandSingle(inputFeatures);
-        return LinearAlgebraUtils.dot(weights, expanded);
+        expander.expandInto(inputFeatures, termBuffer);
+        return LinearAlgebraUtils.dot(weights, termBuffer);
     }
 
     
@@ -1,6 +1,6 @@
 package com.sdm.model;
-import com.sdm.utils.LinearAlgebraUtils;
-import java.util.List;
+import com.sdm.utils.DenseMatrix;
+import com.sdm.utils.LinearSolvers;
 
 
 /**
@@ -50,39 +50,26 @@ public class PolynomialRegressionModel implements PredictionModel {
      * @param prices Historical price data to learn from.
      */
     @Override
-    public void train(final List<Double> prices) {
+    public void trainUnivariate(final double[] prices) {
 
-        if (prices == null || prices.isEmpty()) {
+        if (prices == null || prices.length == 0) {
             throw new IllegalArgumentException("Training data cannot be null or empty!");
         }
         
-        final int sampleCount = prices.size();
-        final double[][] xMatrix = new double[sampleCount][degree + 1];
-        final double[][] yMatrix = new double[sampleCount][1];
+        final int sampleCount = prices.length;
+        final DenseMatrix xMatrix = new DenseMatrix(sampleCount, degree + 1);
 
-        // Prepare input matrix X (with powers of i) and output vector Y
+        // Prepare input matrix X (with powers of i); the prices are the output vector Y
         for (int i = 0; i < sampleCount; i++) {
             final double xVal = i;
             for (int j = 0; j <= degree; j++) {
-                xMatrix[i][j] = Math.pow(xVal, j);
+                xMatrix.set(i, j, Math.pow(xVal, j));
             }
-            yMatrix[i][0] = prices.get(i);
         }
 
        
-       // Apply normal equation: θ = (XᵀX)⁻¹ XᵀY and compute using Utility class methods
-       final double[][] xT = LinearAlgebraUtils.transpose(xMatrix);
-       final double[][] xTx = LinearAlgebraUtils.multiply(xT, xMatrix);
-       final double[][] xTxInv = LinearAlgebraUtils.invert(xTx);
-       final double[][] xTy = LinearAlgebraUtils.multiply(xT, yMatrix);
-       final double[][] theta = LinearAlgebraUtils.multiply(xTxInv, xTy);
-
-
-       // Store resulting coefficients
-       coefficients = new double[degree + 1];
-        for (int i = 0; i <= degree; i++) {
-            coefficients[i] = theta[i][0];
-        }
+       // Least squares via Householder QR on X: powers of the time index make XᵀX too ill-conditioned
+       coefficients = LinearSolvers.solveLeastSquares(xMatrix, prices);
 
         trained = true;
     }
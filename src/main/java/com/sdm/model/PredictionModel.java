@@ -1,5 +1,7 @@
 package com.sdm.model;
 
+import com.sdm.utils.DenseMatrix;
+
 import java.util.List;
 
 
@@ -15,13 +17,32 @@ public interface PredictionModel {
     
     /**
      * Trains the model using univariate data (e.g., closing prices).
+     * Unboxes the list once and delegates to trainUnivariate.
      *
      * @param trainingPrices List of historical prices.
      */
     default void train(List<Double> trainingPrices) {
+        trainUnivariate(toPrimitive(trainingPrices));
+    }
+
+    /**
+     * Trains the model using univariate data held in a primitive array.
+     *
+     * @param trainingPrices Historical prices, oldest first.
+     */
+    default void trainUnivariate(double[] trainingPrices) {
         throw new UnsupportedOperationException("Univariate training not supported.");
     }
 
+    /**
+     * Trains the model on the close column of a bar series (or a slice of one).
+     *
+     * @param series Bars ordered oldest first.
+     */
+    default void trainOnCloses(BarSeries series) {
+        trainUnivariate(series.closeColumn());
+    }
+
     
     /**
      * Predicts the next value based on univariate training.
@@ -35,14 +56,38 @@ public interface PredictionModel {
     
     /**
      * Trains the model using multivariate features (e.g., open, high, low, volume).
+     * Converts the lists once and delegates to trainMultivariate.
      *
      * @param features Matrix of feature vectors.
      * @param targets List of actual target values (e.g., closing prices).
      */
     default void train(List<double[]> features, List<Double> targets) {
+        trainMultivariate(features == null ? null : features.toArray(new double[0][]), toPrimitive(targets));
+    }
+
+    /**
+     * Trains the model using multivariate features held in primitive arrays.
+     * The feature rows are read, not copied or modified.
+     *
+     * @param features Feature rows, one per sample.
+     * @param targets Target value per sample.
+     */
+    default void trainMultivariate(double[][] features, double[] targets) {
         throw new UnsupportedOperationException("Multivariate training not supported.");
     }
 
+    /**
+     * Trains the model on a flat matrix or a zero-copy view, e.g. lagged prices.
+     * The default materializes the rows; models fitting via normal equations
+     * override it to read the matrix directly.
+     *
+     * @param features Matrix rows, one per sample.
+     * @param targets Target value per sample.
+     */
+    default void trainMatrix(DenseMatrix features, double[] targets) {
+        trainMultivariate(features.toArray(), targets);
+    }
+
     /**
      * Predicts output for given input features (multivariate).
      *
@@ -72,5 +117,9 @@ public interface PredictionModel {
     default boolean supportsUnivariate() { return false; }
     default boolean supportsMultivariate() { return false; }
 
+    private static double[] toPrimitive(final List<Double> values) {
+        return values == null ? null : values.stream().mapToDouble(Double::doubleValue).toArray();
+    }
+
 }
 
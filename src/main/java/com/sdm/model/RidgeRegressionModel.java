@@ -1,6 +1,7 @@
 package com.sdm.model;
 import com.sdm.utils.LinearAlgebraUtils;
-import java.util.List;
+import com.sdm.utils.NormalEquations;
+import com.sdm.utils.DenseMatrix;
 
 
 /**
@@ -46,43 +47,29 @@ public class RidgeRegressionModel implements PredictionModel {
      * @param targets Output/target values.
      */
     @Override
-    public void train(final List<double[]> features, final List<Double> targets) {
+    public void trainMultivariate(final double[][] features, final double[] targets) {
 
-        if (features == null || targets == null || features.isEmpty() || targets.isEmpty()) {
+        if (features == null || targets == null || features.length == 0 || targets.length == 0) {
             throw new IllegalArgumentException("Training data cannot be null or empty!");
         }
-        final int sampleCount = features.size();
-        final int featureCount = features.get(0).length + 1;  //+1 added for bias
-
-        final double[][] xMatrix = new double[sampleCount][featureCount];
-        final double[][] yMatrix = new double[sampleCount][1];
+        trainMatrix(DenseMatrix.of(features), targets);
+    }
 
-        // build X and Y matrices
-        for (int i = 0; i < sampleCount; i++) {
-            xMatrix[i][0] = 1.0; // bias
-            for (int j = 0; j < featureCount - 1; j++) {
-                xMatrix[i][j + 1] = features.get(i)[j];
-            }
-            yMatrix[i][0] = targets.get(i);
-        }
 
-        // evaluate regularized normal equation: θ = (XᵀX + λI)⁻¹ XᵀY
-        final double[][] xT = LinearAlgebraUtils.transpose(xMatrix);
-        final double[][] xTx = LinearAlgebraUtils.multiply(xT, xMatrix);
+    /**
+     * Trains on a flat matrix or view, forming XᵀX and Xᵀy straight from its storage.
+     */
+    @Override
+    public void trainMatrix(final DenseMatrix features, final double[] targets) {
+        // evaluate regularized normal equation: θ = (XᵀX + λI)⁻¹ XᵀY, bias column included
+        final NormalEquations equations = NormalEquations.of(features, targets, true);
+        final DenseMatrix xTx = equations.xTx();
 
         // Apply L2 penalty to diagonal (skip bias term if needed)
-        for (int i = 0; i < xTx.length; i++) {
-            xTx[i][i] += lambda; // L2 penalty
+        for (int i = 0; i < xTx.rows(); i++) {
+            xTx.set(i, i, xTx.get(i, i) + lambda); // L2 penalty
         }
-
-        final double[][] xTy = LinearAlgebraUtils.multiply(xT, yMatrix);
-        final double[][] theta = LinearAlgebraUtils.multiply(LinearAlgebraUtils.invert(xTx), xTy);
-
-        weights = new double[featureCount];
-        for (int i = 0; i < featureCount; i++) {
-            weights[i] = theta[i][0];
-        }
-
+        weights = LinearAlgebraUtils.solve(xTx, equations.xTy());
         trained = true;
     }
 
@@ -0,0 +1,37 @@
+package com.sdm.service;
+
+import java.io.IOException;
+
+/**
+ * Error body returned by a Twelve Data compatible API, e.g.
+ * {"code":429,"message":"...","status":"error"}. The API answers such errors
+ * with HTTP 200, so they surface here rather than as an HTTP failure.
+ */
+public final class ApiErrorException extends IOException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int code;
+
+    /**
+     * @param code    The API's error code (HTTP-style: 400, 401, 429, 500, ...)
+     * @param message The API's error message
+     */
+    public ApiErrorException(final int code, final String message) {
+        super("API error " + code + ": " + message);
+        this.code = code;
+    }
+
+    public int getCode() {
+        return code;
+    }
+
+    /**
+     * Whether the API rejected the request itself, e.g. an unknown symbol.
+     * Quota (429), authorization (401/403) and server (5xx) errors are not:
+     * the same request may succeed later.
+     */
+    public boolean isBadRequest() {
+        return code == 400 || code == 404;
+    }
+}
@@ -0,0 +1,161 @@
+package com.sdm.service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Locale;
+
+/**
+ * Period boundaries of a bar interval, on bar timestamps (exchange local
+ * time expressed as epoch seconds, as stored in BarSeries).
+ *
+ * An interval is an amount and a unit, e.g. "5min", "1h", "1day", "2week",
+ * "3month". Periods are aligned so that every standard interval matches the API:
+ *   min, h - anchored at the 09:30 open, so 1h bars start 09:30, 10:30, ...
+ *   day    - calendar days, counted from the epoch for multiples
+ *   week   - Monday to Friday, dated Monday, counted from the epoch's first Monday
+ *   month  - calendar months dated the 1st; multiples start in January (3month = quarters)
+ * A period closes at its interval length for intraday bars (capped at the
+ * 16:00 close) and at the 16:00 close of its last weekday otherwise.
+ */
+final class BarPeriods {
+
+    private static final long SECONDS_PER_DAY = 86_400L;
+    private static final long SESSION_OPEN = 34_200L;   // 09:30
+    private static final long SESSION_CLOSE = 57_600L;  // 16:00
+    private static final long FIRST_MONDAY = 4;         // 1970-01-05
+    private static final int TRADING_DAYS_PER_MONTH = 22;  // upper bound
+
+    private enum Unit { MINUTE, HOUR, DAY, WEEK, MONTH }
+
+    private final int amount;
+    private final Unit unit;
+
+    private BarPeriods(final int amount, final Unit unit) {
+        this.amount = amount;
+        this.unit = unit;
+    }
+
+    /**
+     * Parses an interval name such as "15min" or "2week".
+     *
+     * @throws IllegalArgumentException if the interval is not an amount followed by min, h, day, week or month
+     */
+    static BarPeriods of(final String interval) {
+        final String lower = interval.trim().toLowerCase(Locale.ROOT);
+        int digits = 0;
+        while (digits < lower.length() && Character.isDigit(lower.charAt(digits))) {
+            digits++;
+        }
+        final int amount = digits == 0 ? 0 : Integer.parseInt(lower.substring(0, digits));
+        final Unit unit = switch (lower.substring(digits)) {
+            case "min" -> Unit.MINUTE;
+            case "h" -> Unit.HOUR;
+            case "day" -> Unit.DAY;
+            case "week" -> Unit.WEEK;
+            case "month" -> Unit.MONTH;
+            default -> null;
+        };
+        if (amount < 1 || unit == null) {
+            throw new IllegalArgumentException("Unsupported interval: " + interval);
+        }
+        return new BarPeriods(amount, unit);
+    }
+
+    /**
+     * @return true for minute and hour intervals; "1month" is not intraday even though it ends in "h"
+     * @throws IllegalArgumentException if the interval cannot be parsed
+     */
+    static boolean isIntraday(final String interval) {
+        return of(interval).isIntraday();
+    }
+
+    boolean isIntraday() {
+        return unit == Unit.MINUTE || unit == Unit.HOUR;
+    }
+
+    /**
+     * @return true between the 09:30 open and the 16:00 close of a weekday
+     */
+    static boolean isInSession(final long timestamp) {
+        final long secondOfDay = Math.floorMod(timestamp, SECONDS_PER_DAY);
+        final DayOfWeek weekday = LocalDate.ofEpochDay(Math.floorDiv(timestamp, SECONDS_PER_DAY)).getDayOfWeek();
+        return secondOfDay >= SESSION_OPEN && secondOfDay < SESSION_CLOSE
+                && weekday != DayOfWeek.SATURDAY && weekday != DayOfWeek.SUNDAY;
+    }
+
+    /**
+     * Upper bound of the daily bars one period spans (1 for intraday periods).
+     */
+    int tradingDays() {
+        return switch (unit) {
+            case MINUTE, HOUR -> 1;
+            case DAY -> amount;
+            case WEEK -> amount * 5;
+            case MONTH -> amount * TRADING_DAYS_PER_MONTH;
+        };
+    }
+
+    /**
+     * Start of the period containing the timestamp.
+     */
+    long start(final long timestamp) {
+        final long day = Math.floorDiv(timestamp, SECONDS_PER_DAY);
+        return switch (unit) {
+            case DAY -> Math.floorDiv(day, amount) * amount * SECONDS_PER_DAY;
+            case WEEK -> {
+                final long week = Math.floorDiv(day - FIRST_MONDAY, 7);
+                yield (FIRST_MONDAY + Math.floorDiv(week, amount) * amount * 7) * SECONDS_PER_DAY;
+            }
+            case MONTH -> {
+                final LocalDate date = LocalDate.ofEpochDay(day);
+                final long month = date.getYear() * 12L + date.getMonthValue() - 1;
+                final long first = Math.floorDiv(month, amount) * amount;
+                yield toSeconds(LocalDate.of((int) Math.floorDiv(first, 12), Math.floorMod(first, 12) + 1, 1));
+            }
+            default -> {
+                final long length = lengthSeconds();
+                final long open = day * SECONDS_PER_DAY + SESSION_OPEN;
+                yield open + Math.floorDiv(timestamp - open, length) * length;
+            }
+        };
+    }
+
+    /**
+     * Timestamp at which the period starting at periodStart closes.
+     */
+    long close(final long periodStart) {
+        final long day = Math.floorDiv(periodStart, SECONDS_PER_DAY);
+        return switch (unit) {
+            case DAY -> (day + amount - 1) * SECONDS_PER_DAY + SESSION_CLOSE;
+            case WEEK -> (day + amount * 7L - 3) * SECONDS_PER_DAY + SESSION_CLOSE;
+            case MONTH -> {
+                LocalDate last = LocalDate.ofEpochDay(day).plusMonths(amount - 1L).with(TemporalAdjusters.lastDayOfMonth());
+                while (last.getDayOfWeek() == DayOfWeek.SATURDAY || last.getDayOfWeek() == DayOfWeek.SUNDAY) {
+                    last = last.minusDays(1);
+                }
+                yield toSeconds(last) + SESSION_CLOSE;
+            }
+            default -> {
+                final long end = periodStart + lengthSeconds();
+                final long close = day * SECONDS_PER_DAY + SESSION_CLOSE;
+                yield periodStart < close ? Math.min(end, close) : end;
+            }
+        };
+    }
+
+    /**
+     * Length of an intraday period in seconds.
+     */
+    long lengthSeconds() {
+        return switch (unit) {
+            case MINUTE -> amount * 60L;
+            case HOUR -> amount * 3600L;
+            default -> tradingDays() * SECONDS_PER_DAY;
+        };
+    }
+
+    private static long toSeconds(final LocalDate date) {
+        return date.toEpochDay() * SECONDS_PER_DAY;
+    }
+}
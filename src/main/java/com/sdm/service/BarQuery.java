@@ -0,0 +1,78 @@
+package com.sdm.service;
+
+import com.sdm.service.RequestScheduler.Priority;
+
+import java.util.Objects;
+
+/**
+ * Describes the bars wanted from a MarketDataSource: the newest outputSize bars
+ * of a symbol/interval, optionally restricted to a time range.
+ * Instances are immutable; since/until/withPriority return modified copies.
+ */
+public final class BarQuery {
+    /** Marker for an open range bound. */
+    public static final long UNBOUNDED_START = Long.MIN_VALUE;
+    /** Marker for an open range bound. */
+    public static final long UNBOUNDED_END = Long.MAX_VALUE;
+
+    private final String symbol;
+    private final String interval;
+    private final int outputSize;
+    private final long startEpochSecond;
+    private final long endEpochSecond;
+    private final Priority priority;
+
+    /**
+     * @param symbol     Stock ticker (e.g. "AAPL")
+     * @param interval   API interval (e.g. "1day", "1week")
+     * @param outputSize Maximum number of (newest) bars to return
+     */
+    public BarQuery(final String symbol, final String interval, final int outputSize) {
+        this(symbol, interval, outputSize, UNBOUNDED_START, UNBOUNDED_END, Priority.INTERACTIVE);
+    }
+
+    private BarQuery(final String symbol, final String interval, final int outputSize,
+                     final long startEpochSecond, final long endEpochSecond, final Priority priority) {
+        if (outputSize < 1) {
+            throw new IllegalArgumentException("outputSize must be at least 1");
+        }
+        this.symbol = Objects.requireNonNull(symbol, "symbol");
+        this.interval = Objects.requireNonNull(interval, "interval");
+        this.outputSize = outputSize;
+        this.startEpochSecond = startEpochSecond;
+        this.endEpochSecond = endEpochSecond;
+        this.priority = Objects.requireNonNull(priority, "priority");
+    }
+
+    /**
+     * @return a copy restricted to bars at or after the given time
+     */
+    public BarQuery since(final long epochSecond) {
+        return new BarQuery(symbol, interval, outputSize, epochSecond, endEpochSecond, priority);
+    }
+
+    /**
+     * @return a copy restricted to bars at or before the given time
+     */
+    public BarQuery until(final long epochSecond) {
+        return new BarQuery(symbol, interval, outputSize, startEpochSecond, epochSecond, priority);
+    }
+
+    public BarQuery withPriority(final Priority newPriority) {
+        return new BarQuery(symbol, interval, outputSize, startEpochSecond, endEpochSecond, newPriority);
+    }
+
+    public String getSymbol() { return symbol; }
+    public String getInterval() { return interval; }
+    public int getOutputSize() { return outputSize; }
+    public long getStartEpochSecond() { return startEpochSecond; }
+    public long getEndEpochSecond() { return endEpochSecond; }
+    public Priority getPriority() { return priority; }
+    public boolean hasStart() { return startEpochSecond != UNBOUNDED_START; }
+    public boolean hasEnd() { return endEpochSecond != UNBOUNDED_END; }
+
+    @Override
+    public String toString() {
+        return symbol + " [" + interval + ", " + outputSize + " bars]";
+    }
+}
@@ -0,0 +1,60 @@
+package com.sdm.service;
+
+import com.sdm.model.BarSeries;
+
+import java.util.Arrays;
+
+/**
+ * Derives coarser bars (weekly, monthly or any custom period) from finer ones
+ * in a single pass, so other timeframes need no extra API calls.
+ */
+public final class BarResampler {
+
+    private BarResampler() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Aggregates bars into the periods of the given interval (see BarPeriods):
+     * first open, highest high, lowest low, last close and summed volume.
+     * Each result bar is dated at its period start; the newest one may cover a
+     * period still in progress, as the API's newest bar does.
+     *
+     * @param source   Bars oldest first, finer than the interval
+     * @param interval Target interval, e.g. "1week", "1month", "3month", "10min"
+     * @return the resampled bars, oldest first
+     * @throws IllegalArgumentException if the interval cannot be parsed
+     */
+    public static BarSeries resample(final BarSeries source, final String interval) {
+        final BarPeriods periods = BarPeriods.of(interval);
+        final int size = source.size();
+        final long[] timestamps = new long[size];
+        final double[] open = new double[size];
+        final double[] high = new double[size];
+        final double[] low = new double[size];
+        final double[] close = new double[size];
+        final double[] volume = new double[size];
+
+        int last = -1;
+        for (int i = 0; i < size; i++) {
+            final long start = periods.start(source.getTimestamp(i));
+            if (last < 0 || start != timestamps[last]) {
+                last++;
+                timestamps[last] = start;
+                open[last] = source.getOpen(i);
+                high[last] = source.getHigh(i);
+                low[last] = source.getLow(i);
+                close[last] = source.getClose(i);
+                volume[last] = source.getVolume(i);
+            } else {
+                high[last] = Math.max(high[last], source.getHigh(i));
+                low[last] = Math.min(low[last], source.getLow(i));
+                close[last] = source.getClose(i);
+                volume[last] += source.getVolume(i);
+            }
+        }
+        final int count = last + 1;
+        return new BarSeries(Arrays.copyOf(timestamps, count), Arrays.copyOf(open, count), Arrays.copyOf(high, count),
+                Arrays.copyOf(low, count), Arrays.copyOf(close, count), Arrays.copyOf(volume, count));
+    }
+}
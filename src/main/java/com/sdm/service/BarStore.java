@@ -0,0 +1,192 @@
+package com.sdm.service;
+
+import com.sdm.model.BarSeries;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.logging.Logger;
+
+/**
+ * Persistent on-disk store for OHLCV bars, one columnar file per symbol/interval.
+ *
+ * File layout (little endian):
+ *   header: magic (int), version (int), bar count (int), flags (int), written-at epoch millis (long)
+ *   body:   timestamps (long[count]) followed by open, high, low, close, volume (double[count] each)
+ *
+ * Flag bit 0 marks a series that holds the symbol's full available history,
+ * so callers know a short series cannot be extended by downloading it again.
+ *
+ * Files are read through a read-only MappedByteBuffer, so a repeat fetch of a
+ * stored symbol costs a page-cache read instead of an HTTP round trip.
+ */
+@SuppressWarnings({"PMD.GuardLogStatement", "PMD.ReturnEmptyCollectionRatherThanNull"})
+public final class BarStore {
+
+    private static final Logger LOGGER = Logger.getLogger(BarStore.class.getName());
+    private static final int MAGIC = 0x53444D42; // "SDMB"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 24;
+    private static final int COLUMN_COUNT = 6;
+    private static final String EXTENSION = ".bars";
+    private static final int FULL_HISTORY = 1;
+
+    private final Path directory;
+    private final Duration maxAge;
+
+    /**
+     * @param directory Directory holding the bar files (created on first write)
+     * @param maxAge    How long a stored series is served without re-fetching
+     */
+    public BarStore(final Path directory, final Duration maxAge) {
+        this.directory = directory;
+        this.maxAge = maxAge;
+    }
+
+    /**
+     * Reads the stored series if it was written within maxAge.
+     *
+     * @return the stored bars, or null if missing, stale or unreadable
+     */
+    public BarSeries readIfFresh(final String symbol, final String interval) {
+        return read(symbol, interval, System.currentTimeMillis() - maxAge.toMillis());
+    }
+
+    /**
+     * Reads the stored series regardless of its age.
+     *
+     * @return the stored bars, or null if missing or unreadable
+     */
+    public BarSeries read(final String symbol, final String interval) {
+        return read(symbol, interval, Long.MIN_VALUE);
+    }
+
+    private BarSeries read(final String symbol, final String interval, final long notWrittenBefore) {
+        final Path file = pathFor(symbol, interval);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final long fileSize = channel.size();
+            if (fileSize < HEADER_BYTES) {
+                LOGGER.warning("Ignoring truncated bar file: " + file);
+                return null;
+            }
+            final MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+            mapped.order(ByteOrder.LITTLE_ENDIAN);
+
+            final int magic = mapped.getInt();
+            final int version = mapped.getInt();
+            final int count = mapped.getInt();
+            mapped.getInt(); // flags, see hasFullHistory
+            final long writtenAt = mapped.getLong();
+
+            if (magic != MAGIC || version != VERSION || count < 0
+                    || fileSize != HEADER_BYTES + (long) count * Long.BYTES * COLUMN_COUNT) {
+                LOGGER.warning("Ignoring corrupt bar file: " + file);
+                return null;
+            }
+            if (writtenAt < notWrittenBefore) {
+                return null;
+            }
+            return readColumns(mapped, count);
+        } catch (IOException e) {
+            LOGGER.warning("Failed to read bar file " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private BarSeries readColumns(final ByteBuffer buffer, final int count) {
+        final long[] timestamps = new long[count];
+        buffer.asLongBuffer().get(timestamps);
+        buffer.position(buffer.position() + count * Long.BYTES);
+
+        final double[][] fields = new double[COLUMN_COUNT - 1][count];
+        for (final double[] field : fields) {
+            buffer.asDoubleBuffer().get(field);
+            buffer.position(buffer.position() + count * Double.BYTES);
+        }
+        return new BarSeries(timestamps, fields[0], fields[1], fields[2], fields[3], fields[4]);
+    }
+
+    /**
+     * Whether the stored series was written as the symbol's full available history.
+     *
+     * @return false if the flag is unset or the file is missing or unreadable
+     */
+    public boolean hasFullHistory(final String symbol, final String interval) {
+        final Path file = pathFor(symbol, interval);
+        if (!Files.isRegularFile(file)) {
+            return false;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES) {
+                return false;
+            }
+            final MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+            header.order(ByteOrder.LITTLE_ENDIAN);
+            return header.getInt() == MAGIC && header.getInt() == VERSION
+                    && (header.getInt(12) & FULL_HISTORY) != 0;
+        } catch (IOException e) {
+            LOGGER.warning("Failed to read bar file " + file + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Writes the series, atomically replacing any previous file for the same symbol/interval.
+     */
+    public void write(final String symbol, final String interval, final BarSeries series) throws IOException {
+        write(symbol, interval, series, false);
+    }
+
+    /**
+     * Writes the series, atomically replacing any previous file for the same symbol/interval.
+     *
+     * @param fullHistory true if the series holds every bar the source has for the symbol
+     */
+    public void write(final String symbol, final String interval, final BarSeries series,
+                      final boolean fullHistory) throws IOException {
+        Files.createDirectories(directory);
+        final int count = series.size();
+        final ByteBuffer buffer = ByteBuffer
+                .allocate(HEADER_BYTES + count * Long.BYTES * COLUMN_COUNT)
+                .order(ByteOrder.LITTLE_ENDIAN);
+
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(count).putInt(fullHistory ? FULL_HISTORY : 0)
+                .putLong(System.currentTimeMillis());
+        buffer.asLongBuffer().put(series.timestampColumn(), 0, count);
+        buffer.position(buffer.position() + count * Long.BYTES);
+        for (final double[] field : new double[][]{series.openColumn(), series.highColumn(),
+                series.lowColumn(), series.closeColumn(), series.volumeColumn()}) {
+            buffer.asDoubleBuffer().put(field, 0, count);
+            buffer.position(buffer.position() + count * Double.BYTES);
+        }
+        buffer.flip();
+
+        final Path target = pathFor(symbol, interval);
+        final Path temp = Files.createTempFile(directory, target.getFileName().toString(), ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Location of the bar file for a symbol/interval pair.
+     */
+    public Path pathFor(final String symbol, final String interval) {
+        final String safeSymbol = symbol.toUpperCase(Locale.ROOT).replaceAll("[^A-Z0-9.\\-]", "_");
+        return directory.resolve(safeSymbol + "_" + interval + EXTENSION);
+    }
+}
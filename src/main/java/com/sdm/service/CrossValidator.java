@@ -1,9 +1,13 @@
 package com.sdm.service;
 
+import java.util.Arrays;
 import java.util.List;
-import java.util.ArrayList;
+import com.sdm.utils.DenseMatrix;
 import com.sdm.utils.LinearAlgebraUtils;
+import com.sdm.utils.LinearSolvers;
+import com.sdm.utils.NormalEquations;
 import com.sdm.model.PredictionModel;
+import com.sdm.utils.PolynomialDesignMatrix;
 import com.sdm.utils.PolynomialFeatureExpander;
 
 
@@ -28,12 +32,70 @@ final public class CrossValidator {
      * @return Average R² score across k folds
      */
     public static double crossValidateR2(final List<double[]> features, final List<Double> targets, final int degree, final int kFolds) {
-       // List<double[]> expanded = PolynomialFeatureExpander.expand(features, degree);
-        final List<double[]> expanded = new PolynomialFeatureExpander(degree).expand(features);
+        return crossValidateR2(features.toArray(new double[0][]), toPrimitive(targets), degree, kFolds);
+    }
+
+    
+    /**
+     * Primitive variant of crossValidateR2(List, List, int, int).
+     * The expanded matrix is built once and shared by every fold.
+     */
+    public static double crossValidateR2(final double[][] features, final double[] targets, final int degree, final int kFolds) {
+        final double[][] expanded = new PolynomialFeatureExpander(degree).expand(features);
 
-        return crossValidateModel(new LinearRegressionOnExpandedFeatures(expanded), expanded, targets, kFolds);
+        return crossValidateModel(new LinearRegressionOnExpandedFeatures(), expanded, targets, kFolds);
     }
 
+
+
+    /**
+     * Cross-validates polynomial fits of every degree up to the design's maximum
+     * in one go. The features are expanded once (by the design matrix); each fold
+     * computes one Gram matrix at the maximum degree from row views of the
+     * training blocks. Every degree is solved on its leading block with the
+     * same Cholesky factor and predicted from a column-prefix view.
+     *
+     * @param design  Features expanded at the highest degree to try
+     * @param targets Output values
+     * @param kFolds  Number of folds for cross-validation
+     * @return Average R² score per degree (index = degree)
+     */
+    public static double[] crossValidateDegreesR2(final PolynomialDesignMatrix design, final double[] targets, final int kFolds) {
+        final int maxDegree = design.maxDegree();
+        final DenseMatrix full = design.prefix(maxDegree);
+        final int sampleCount = full.rows();
+        final int foldSize = sampleCount / kFolds;
+        final double[] totalRSquared = new double[maxDegree + 1];
+
+        for (int i = 0; i < kFolds; i++) {
+            final int start = i * foldSize;
+            final int end = (i + 1 == kFolds) ? sampleCount : (i + 1) * foldSize;
+
+            // Training rows are the views before and after [start, end)
+            final NormalEquations equations = new NormalEquations(full.cols(), false)
+                    .accumulate(full.sliceRows(0, start), targets, 0)
+                    .accumulate(full.sliceRows(end, sampleCount), targets, end);
+            final DenseMatrix xTx = equations.xTx();
+            final double[] xTy = equations.xTy();
+            final double[] testY = Arrays.copyOfRange(targets, start, end);
+            // Columns are graded, so the factor of the full Gram matrix solves every degree
+            final LinearSolvers.Cholesky cholesky = LinearSolvers.Cholesky.factor(xTx);
+            for (int degree = 0; degree <= maxDegree; degree++) {
+                final int columns = design.columns(degree);
+                final double[] weights = columns <= cholesky.size()
+                        ? cholesky.solve(xTy, columns)
+                        : LinearSolvers.solvePivoted(xTx.view(0, columns, 0, columns), Arrays.copyOf(xTy, columns));
+                final double[] predicted = LinearAlgebraUtils.multiply(
+                        full.view(start, end, 0, columns), weights);
+                totalRSquared[degree] += rSquared(testY, predicted);
+            }
+        }
+
+        for (int degree = 0; degree <= maxDegree; degree++) {
+            totalRSquared[degree] /= kFolds;
+        }
+        return totalRSquared;
+    }
     
     
     
@@ -47,27 +109,40 @@ final public class CrossValidator {
      * @return Average R² score over all folds
      */
     public static double crossValidateModel(final PredictionModel model, final List<double[]> features,final  List<Double> targets,final int kFolds) {
-        final int sampleCount = features.size();
+        return crossValidateModel(model, features.toArray(new double[0][]), toPrimitive(targets), kFolds);
+    }
+
+    
+    /**
+     * Primitive variant of crossValidateModel(PredictionModel, List, List, int).
+     * Fold matrices reference the caller's rows; only the row arrays and
+     * target values are copied, never the feature values themselves.
+     */
+    public static double crossValidateModel(final PredictionModel model, final double[][] features, final double[] targets, final int kFolds) {
+        final int sampleCount = features.length;
         final int foldSize = sampleCount / kFolds;
         double totalRSquared = 0;
 
         for (int i = 0; i < kFolds; i++) {
             final int start = i * foldSize;
             final int end = (i + 1 == kFolds) ? sampleCount : (i + 1) * foldSize;
-
-            final List<double[]> testX = features.subList(start, end);
-            final List<Double> testY = targets.subList(start, end);
-
-            final List<double[]> trainX = new ArrayList<>(features);
-            final List<Double> trainY = new ArrayList<>(targets);
-            trainX.subList(start, end).clear();
-            trainY.subList(start, end).clear();
-
-            model.train(trainX, trainY);
-
-            final List<Double> predicted = new ArrayList<>();
-            for (final double[] x : testX) {
-                predicted.add(model.predict(x));
+            final int testCount = end - start;
+
+            // Training rows are everything outside [start, end)
+            final double[][] trainX = new double[sampleCount - testCount][];
+            final double[] trainY = new double[sampleCount - testCount];
+            System.arraycopy(features, 0, trainX, 0, start);
+            System.arraycopy(features, end, trainX, start, sampleCount - end);
+            System.arraycopy(targets, 0, trainY, 0, start);
+            System.arraycopy(targets, end, trainY, start, sampleCount - end);
+
+            model.trainMultivariate(trainX, trainY);
+
+            final double[] testY = new double[testCount];
+            final double[] predicted = new double[testCount];
+            for (int row = 0; row < testCount; row++) {
+                testY[row] = targets[start + row];
+                predicted[row] = model.predict(features[start + row]);
             }
 
             totalRSquared += rSquared(testY, predicted);
@@ -87,30 +162,44 @@ final public class CrossValidator {
      * @return R² score
      */
     public static double rSquared(final List<Double> actual, final List<Double> predicted) {
-        final double mean = actual.stream().mapToDouble(Double::doubleValue).average().orElse(0);
+        return rSquared(toPrimitive(actual), toPrimitive(predicted));
+    }
+
+    
+    /**
+     * Primitive variant of rSquared(List, List).
+     */
+    public static double rSquared(final double[] actual, final double[] predicted) {
+        double mean = 0;
+        for (final double a : actual) {
+            mean += a;
+        }
+        mean = actual.length == 0 ? 0 : mean / actual.length;
         double ssTot = 0, ssRes = 0;
-        for (int i = 0; i < actual.size(); i++) {
-            final double a = actual.get(i);
-            final double p = predicted.get(i);
-            ssTot += Math.pow(a - mean, 2);
-            ssRes += Math.pow(a - p, 2);
+        for (int i = 0; i < actual.length; i++) {
+            final double a = actual[i];
+            final double p = predicted[i];
+            ssTot += (a - mean) * (a - mean);
+            ssRes += (a - p) * (a - p);
         }
         return 1 - (ssRes / ssTot);
     }
 
+    private static double[] toPrimitive(final List<Double> values) {
+        final double[] result = new double[values.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = values.get(i);
+        }
+        return result;
+    }
+
     // Helper model for internal CROSS VALIDATION
     /**
      * Internal helper model used only for cross-validation of expanded features.
      */
-    @SuppressWarnings("PMD.UnusedPrivateField")
     private static class LinearRegressionOnExpandedFeatures implements PredictionModel {
-        private final List<double[]> preparedFeatures;
         private double[] weights;
 
-        public LinearRegressionOnExpandedFeatures(final List<double[]> preparedFeatures) {
-            this.preparedFeatures = preparedFeatures;
-        }
-
         @Override
         public String getName() {
             return "InternalCVLinearRegression";
@@ -127,10 +216,9 @@ final public class CrossValidator {
         }
 
         @Override
-        public void train(final List<double[]> features,final List<Double> targets) {
-            //weights = LinearAlgebraUtils.fitLeastSquares(features, targets);
-            weights = LinearAlgebraUtils.fitLeastSquares(features.toArray(new double[0][]),targets);
-             }
+        public void trainMultivariate(final double[][] features, final double[] targets) {
+            weights = LinearAlgebraUtils.fitLeastSquares(features, targets);
+        }
 
         @Override
         public double predict(final double[] features) {
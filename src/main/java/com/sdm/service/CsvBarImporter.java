@@ -0,0 +1,385 @@
+package com.sdm.service;
+
+import com.sdm.model.BarSeries;
+import com.sdm.utils.DateTimeUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Imports large OHLCV CSV files (vendor dumps, "Save to CSV" output) into a BarSeries.
+ *
+ * The file is memory-mapped and split into chunks on line boundaries; chunks
+ * are parsed concurrently, byte by byte, straight into primitive columns and
+ * concatenated in file order. Columns are located by header name (Date or
+ * Datetime, Open, High, Low, Close, Volume, any order, extra columns ignored).
+ * Rows may be in either date order; the result is oldest first.
+ */
+public final class CsvBarImporter {
+
+    private static final long MAX_CHUNK_BYTES = 64L * 1024 * 1024;
+    private static final long MIN_CHUNK_BYTES = 1024L * 1024;
+    private static final int HEADER_PROBE_BYTES = 64 * 1024;
+    private static final int FIELDS = 5;
+    private static final int DATE = -2;
+    private static final int IGNORED = -1;
+
+    private CsvBarImporter() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Imports a file using all available cores.
+     */
+    public static BarSeries importFile(final Path file) throws IOException {
+        return importFile(file, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param parallelism Maximum number of chunks parsed at once
+     * @throws IOException if the file cannot be read or a row is malformed
+     */
+    public static BarSeries importFile(final Path file, final int parallelism) throws IOException {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be at least 1");
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            final ByteBuffer probe = ByteBuffer.allocate((int) Math.min(size, HEADER_PROBE_BYTES));
+            channel.read(probe, 0);
+            final int headerEnd = lineEnd(probe, 0, probe.position());
+            if (headerEnd == 0) {
+                return BarSeries.empty();
+            }
+            final int[] fieldOfColumn = columnFields(
+                    new String(probe.array(), 0, headerEnd, StandardCharsets.UTF_8).trim(), file);
+            final long dataStart = Math.min(size, headerEnd + 1L);
+
+            final List<long[]> ranges = chunkRanges(channel, dataStart, size, parallelism);
+            final List<Columns> parsed = new ArrayList<>(ranges.size());
+            if (ranges.size() == 1) {
+                parsed.add(parseChunk(channel, ranges.get(0), fieldOfColumn, file));
+            } else {
+                parsed.addAll(parseConcurrently(channel, ranges, fieldOfColumn, file, parallelism));
+            }
+            return toOldestFirst(concat(parsed));
+        }
+    }
+
+    private static List<Columns> parseConcurrently(final FileChannel channel, final List<long[]> ranges,
+                                                   final int[] fieldOfColumn, final Path file,
+                                                   final int parallelism) throws IOException {
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, ranges.size()), runnable -> {
+            final Thread thread = new Thread(runnable, "csv-import");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            final List<Future<Columns>> futures = new ArrayList<>(ranges.size());
+            for (final long[] range : ranges) {
+                futures.add(executor.submit(() -> parseChunk(channel, range, fieldOfColumn, file)));
+            }
+            final List<Columns> parsed = new ArrayList<>(ranges.size());
+            for (final Future<Columns> future : futures) {
+                parsed.add(future.get());
+            }
+            return parsed;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Import of " + file + " interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException("Import of " + file + " failed: " + e.getCause(), e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Splits [start, end) into byte ranges that begin right after a line break.
+     */
+    private static List<long[]> chunkRanges(final FileChannel channel, final long start, final long end,
+                                            final int parallelism) throws IOException {
+        final long length = end - start;
+        final long chunkCount = Math.max(1, Math.max(Math.min(parallelism, length / MIN_CHUNK_BYTES),
+                (length + MAX_CHUNK_BYTES - 1) / MAX_CHUNK_BYTES));
+        final long target = Math.max(1, length / chunkCount);
+        final List<long[]> ranges = new ArrayList<>();
+        final ByteBuffer scan = ByteBuffer.allocate(4096);
+        long from = start;
+        while (from < end) {
+            long to = Math.min(end, from + target);
+            while (to < end) {
+                scan.clear();
+                final int read = channel.read(scan, to);
+                final int newline = read <= 0 ? -1 : indexOf(scan, read, (byte) '\n');
+                if (newline >= 0) {
+                    to += newline + 1;
+                    break;
+                }
+                to += Math.max(read, 1);
+            }
+            ranges.add(new long[]{from, Math.min(to, end)});
+            from = to;
+        }
+        return ranges;
+    }
+
+    private static Columns parseChunk(final FileChannel channel, final long[] range,
+                                      final int[] fieldOfColumn, final Path file) throws IOException {
+        final MappedByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, range[0], range[1] - range[0]);
+        final Columns columns = new Columns((int) Math.max(16, (range[1] - range[0]) / 48));
+        final ByteChars chars = new ByteChars(bytes);
+        final int limit = bytes.limit();
+        int lineStart = 0;
+        while (lineStart < limit) {
+            final int end = lineEnd(bytes, lineStart, limit);
+            if (!isBlank(bytes, lineStart, end)) {
+                try {
+                    parseLine(chars, lineStart, end, fieldOfColumn, columns);
+                } catch (RuntimeException e) {
+                    throw new IOException("Malformed CSV file " + file + " at byte " + (range[0] + lineStart)
+                            + ": " + e.getMessage(), e);
+                }
+            }
+            lineStart = end + 1;
+        }
+        return columns;
+    }
+
+    private static void parseLine(final ByteChars chars, final int start, final int end,
+                                  final int[] fieldOfColumn, final Columns columns) {
+        final ByteBuffer bytes = chars.bytes;
+        final int row = columns.nextRow();
+        int found = 0;
+        int cellStart = start;
+        for (int column = 0; column < fieldOfColumn.length && cellStart <= end; column++) {
+            int cellEnd = cellStart;
+            while (cellEnd < end && bytes.get(cellEnd) != ',') {
+                cellEnd++;
+            }
+            final int field = fieldOfColumn[column];
+            if (field == DATE) {
+                columns.timestamps[row] = parseTimestamp(chars, cellStart, cellEnd);
+                found++;
+            } else if (field >= 0) {
+                columns.fields[field][row] = parseDouble(chars, cellStart, cellEnd);
+                found++;
+            }
+            cellStart = cellEnd + 1;
+        }
+        if (found != FIELDS + 1) {
+            throw new IllegalArgumentException("expected " + (FIELDS + 1) + " values, found " + found);
+        }
+        columns.count++;
+    }
+
+    /**
+     * Parses "yyyy-MM-dd" or "yyyy-MM-dd HH:mm:ss" without allocating; other layouts go through DateTimeUtils.
+     */
+    private static long parseTimestamp(final ByteChars chars, final int from, final int to) {
+        final int start = skipQuoteAndSpace(chars.bytes, from, to);
+        final int end = trimQuoteAndSpace(chars.bytes, start, to);
+        if (ParsingUtils.isDateTime(chars, start, end)) {
+            return ParsingUtils.parseDateTime(chars, start, end);
+        }
+        return DateTimeUtils.toEpochSecond(text(chars.bytes, start, end));
+    }
+
+    private static double parseDouble(final ByteChars chars, final int from, final int to) {
+        final int start = skipQuoteAndSpace(chars.bytes, from, to);
+        return ParsingUtils.parseDecimal(chars, start, trimQuoteAndSpace(chars.bytes, start, to));
+    }
+
+    private static int skipQuoteAndSpace(final ByteBuffer bytes, final int from, final int to) {
+        int start = from;
+        while (start < to && (bytes.get(start) == '"' || bytes.get(start) == ' ')) {
+            start++;
+        }
+        return start;
+    }
+
+    private static int trimQuoteAndSpace(final ByteBuffer bytes, final int from, final int to) {
+        int end = to;
+        while (end > from && (bytes.get(end - 1) == '"' || bytes.get(end - 1) == ' ' || bytes.get(end - 1) == '\r')) {
+            end--;
+        }
+        return end;
+    }
+
+    private static String text(final ByteBuffer bytes, final int from, final int to) {
+        final byte[] copy = new byte[to - from];
+        for (int i = 0; i < copy.length; i++) {
+            copy[i] = bytes.get(from + i);
+        }
+        return new String(copy, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Index of the line break ending the line that starts at from, or the buffer limit.
+     */
+    private static int lineEnd(final ByteBuffer bytes, final int from, final int limit) {
+        int end = from;
+        while (end < limit && bytes.get(end) != '\n') {
+            end++;
+        }
+        return end;
+    }
+
+    private static int indexOf(final ByteBuffer bytes, final int length, final byte target) {
+        for (int i = 0; i < length; i++) {
+            if (bytes.get(i) == target) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isBlank(final ByteBuffer bytes, final int from, final int to) {
+        for (int i = from; i < to; i++) {
+            final byte b = bytes.get(i);
+            if (b != ' ' && b != '\r' && b != '\t') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Maps each header column to DATE, a field index (open, high, low, close, volume) or IGNORED.
+     */
+    private static int[] columnFields(final String header, final Path file) throws IOException {
+        final String[] names = header.split(",");
+        final String[] fields = {"open", "high", "low", "close", "volume"};
+        final int[] fieldOfColumn = new int[names.length];
+        final boolean[] seen = new boolean[FIELDS + 1];
+        for (int column = 0; column < names.length; column++) {
+            final String name = names[column].replace("\"", "").trim().toLowerCase(Locale.ROOT);
+            fieldOfColumn[column] = IGNORED;
+            if ("date".equals(name) || "datetime".equals(name)) {
+                fieldOfColumn[column] = DATE;
+                seen[FIELDS] = true;
+            }
+            for (int f = 0; f < FIELDS; f++) {
+                if (fields[f].equals(name)) {
+                    fieldOfColumn[column] = f;
+                    seen[f] = true;
+                }
+            }
+        }
+        for (int f = 0; f <= FIELDS; f++) {
+            if (!seen[f]) {
+                throw new IOException("CSV file " + file + " has no " + (f == FIELDS ? "date" : fields[f]) + " column");
+            }
+        }
+        return fieldOfColumn;
+    }
+
+    private static Columns concat(final List<Columns> parts) {
+        if (parts.size() == 1) {
+            return parts.get(0);
+        }
+        int total = 0;
+        for (final Columns part : parts) {
+            total += part.count;
+        }
+        final Columns all = new Columns(total);
+        for (final Columns part : parts) {
+            System.arraycopy(part.timestamps, 0, all.timestamps, all.count, part.count);
+            for (int f = 0; f < FIELDS; f++) {
+                System.arraycopy(part.fields[f], 0, all.fields[f], all.count, part.count);
+            }
+            all.count += part.count;
+        }
+        return all;
+    }
+
+    /**
+     * Returns the rows oldest first: ascending files as is, descending files
+     * reversed in place, anything else sorted by timestamp.
+     */
+    private static BarSeries toOldestFirst(final Columns columns) {
+        final int count = columns.count;
+        final boolean exact = columns.timestamps.length == count;
+        final long[] timestamps = exact ? columns.timestamps : Arrays.copyOf(columns.timestamps, count);
+        final double[][] fields = new double[FIELDS][];
+        for (int f = 0; f < FIELDS; f++) {
+            fields[f] = exact ? columns.fields[f] : Arrays.copyOf(columns.fields[f], count);
+        }
+        return BarSeries.ofUnordered(timestamps, fields[0], fields[1], fields[2], fields[3], fields[4]);
+    }
+
+    /**
+     * Single-byte character view of a mapped chunk, so cells are decoded in
+     * place by ParsingUtils; only subSequence copies.
+     */
+    private static final class ByteChars implements CharSequence {
+        final ByteBuffer bytes;
+
+        ByteChars(final ByteBuffer bytes) {
+            this.bytes = bytes;
+        }
+
+        @Override
+        public int length() {
+            return bytes.limit();
+        }
+
+        @Override
+        public char charAt(final int index) {
+            return (char) (bytes.get(index) & 0xFF);
+        }
+
+        @Override
+        public CharSequence subSequence(final int start, final int end) {
+            return text(bytes, start, end);
+        }
+
+        @Override
+        public String toString() {
+            return text(bytes, 0, bytes.limit());
+        }
+    }
+
+    /**
+     * Growable primitive columns of one chunk.
+     */
+    private static final class Columns {
+        long[] timestamps;
+        final double[][] fields = new double[FIELDS][];
+        int count;
+
+        Columns(final int capacity) {
+            timestamps = new long[capacity];
+            for (int f = 0; f < FIELDS; f++) {
+                fields[f] = new double[capacity];
+            }
+        }
+
+        int nextRow() {
+            if (count == timestamps.length) {
+                final int capacity = Math.max(16, count * 2);
+                timestamps = Arrays.copyOf(timestamps, capacity);
+                for (int f = 0; f < FIELDS; f++) {
+                    fields[f] = Arrays.copyOf(fields[f], capacity);
+                }
+            }
+            return count;
+        }
+    }
+}
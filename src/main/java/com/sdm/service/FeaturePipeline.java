@@ -0,0 +1,471 @@
+package com.sdm.service;
+
+import com.sdm.model.BarSeries;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Turns bars into model feature rows: open, high, low and log volume followed
+ * by the configured technical indicators.
+ *
+ * Every indicator keeps O(1) state and is updated once per bar, so computing a
+ * series is a single O(n) pass and appending a bar computes only its row.
+ * Rows are written into preallocated primitive columns holding the newest
+ * maxRows to 2 * maxRows bars; older rows are dropped in bulk.
+ *
+ * Indicators are specified as a comma separated list of name:parameters, e.g.
+ * "sma:10,ema:10,rsi:14,macd:12:26:9,bbwidth:20:2,atr:14,return:1,return:5".
+ * During warm-up they use the bars available so far, so no row holds NaN.
+ *
+ * Not thread-safe; callers sharing a pipeline synchronize on it.
+ */
+public final class FeaturePipeline {
+
+    private static final int BASE_FEATURES = 4;
+
+    private final Indicator[] indicators;
+    private final int maxRows;
+    private final double[][] columns;
+    private int size;
+    private long lastTimestamp = Long.MIN_VALUE;
+
+    /**
+     * @param spec    Indicator list as described above; blank for the base features only
+     * @param maxRows Number of newest rows that must stay readable
+     * @throws IllegalArgumentException if the spec names an unknown indicator or bad parameters
+     */
+    public FeaturePipeline(final String spec, final int maxRows) {
+        if (maxRows < 1) {
+            throw new IllegalArgumentException("maxRows must be positive");
+        }
+        this.indicators = parse(spec);
+        this.maxRows = maxRows;
+        this.columns = new double[BASE_FEATURES + indicators.length][2 * maxRows];
+    }
+
+    /**
+     * @return number of values in each row
+     */
+    public int width() {
+        return columns.length;
+    }
+
+    /**
+     * @return number of readable rows
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return timestamp of the last appended bar
+     * @throws IllegalStateException if no bar has been appended
+     */
+    public long getLastTimestamp() {
+        if (size == 0) {
+            throw new IllegalStateException("Pipeline is empty");
+        }
+        return lastTimestamp;
+    }
+
+    /**
+     * Resets all indicator state and computes the rows of the whole series in one pass.
+     */
+    public FeaturePipeline compute(final BarSeries series) {
+        size = 0;
+        lastTimestamp = Long.MIN_VALUE;
+        for (final Indicator indicator : indicators) {
+            indicator.reset();
+        }
+        for (int i = 0; i < series.size(); i++) {
+            write(series.getTimestamp(i), series.getOpen(i), series.getHigh(i), series.getLow(i),
+                    series.getClose(i), series.getVolume(i));
+        }
+        return this;
+    }
+
+    /**
+     * Computes the row of one new bar from the indicators' current state.
+     *
+     * @return a copy of the new row
+     * @throws IllegalArgumentException if the bar is not newer than the last one
+     */
+    public double[] append(final long timestamp, final double open, final double high, final double low,
+                           final double close, final double volume) {
+        if (size > 0 && timestamp <= lastTimestamp) {
+            throw new IllegalArgumentException("Bar at " + timestamp + " is not newer than " + lastTimestamp);
+        }
+        write(timestamp, open, high, low, close, volume);
+        return row(size - 1);
+    }
+
+    /**
+     * Copies the newest count rows, oldest first.
+     */
+    public double[][] rows(final int count) {
+        if (count < 0 || count > size) {
+            throw new IndexOutOfBoundsException("Cannot read " + count + " rows of " + size);
+        }
+        final double[][] rows = new double[count][];
+        for (int i = 0; i < count; i++) {
+            rows[i] = row(size - count + i);
+        }
+        return rows;
+    }
+
+    private double[] row(final int index) {
+        final double[] row = new double[columns.length];
+        for (int f = 0; f < columns.length; f++) {
+            row[f] = columns[f][index];
+        }
+        return row;
+    }
+
+    private void write(final long timestamp, final double open, final double high, final double low,
+                       final double close, final double volume) {
+        if (size == columns[0].length) {
+            // Keep the newest maxRows rows; amortized O(1) per bar
+            for (final double[] column : columns) {
+                System.arraycopy(column, size - maxRows, column, 0, maxRows);
+            }
+            size = maxRows;
+        }
+        columns[0][size] = open;
+        columns[1][size] = high;
+        columns[2][size] = low;
+        columns[3][size] = Math.log(Math.max(volume, 1));
+        for (int k = 0; k < indicators.length; k++) {
+            columns[BASE_FEATURES + k][size] = indicators[k].update(high, low, close);
+        }
+        size++;
+        lastTimestamp = timestamp;
+    }
+
+    private static Indicator[] parse(final String spec) {
+        final List<Indicator> parsed = new ArrayList<>();
+        if (spec != null) {
+            for (final String entry : spec.split(",")) {
+                if (!entry.isBlank()) {
+                    parsed.add(indicator(entry.trim().toLowerCase(Locale.ROOT)));
+                }
+            }
+        }
+        return parsed.toArray(new Indicator[0]);
+    }
+
+    private static Indicator indicator(final String entry) {
+        final String[] parts = entry.split(":");
+        final int[] args = new int[parts.length - 1];
+        try {
+            for (int i = 1; i < parts.length; i++) {
+                args[i - 1] = Integer.parseInt(parts[i].trim());
+                if (args[i - 1] < 1) {
+                    throw new IllegalArgumentException("Indicator parameters must be positive: " + entry);
+                }
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid indicator parameters: " + entry, e);
+        }
+        return switch (parts[0].trim()) {
+            case "sma" -> new Sma(arg(args, 0, 10));
+            case "ema" -> new Ema(arg(args, 0, 10));
+            case "rsi" -> new Rsi(arg(args, 0, 14));
+            case "macd" -> new Macd(arg(args, 0, 12), arg(args, 1, 26), arg(args, 2, 9));
+            case "bbwidth" -> new BollingerWidth(arg(args, 0, 20), arg(args, 1, 2));
+            case "atr" -> new Atr(arg(args, 0, 14));
+            case "return" -> new LaggedReturn(arg(args, 0, 1));
+            default -> throw new IllegalArgumentException("Unknown indicator: " + entry);
+        };
+    }
+
+    private static int arg(final int[] args, final int index, final int fallback) {
+        return index < args.length ? args[index] : fallback;
+    }
+
+    /**
+     * One indicator column, updated bar by bar in O(1).
+     */
+    private interface Indicator {
+        double update(double high, double low, double close);
+
+        void reset();
+    }
+
+    /**
+     * Fixed-size window of recent values with a running sum and sum of squares.
+     */
+    private static final class Window {
+        private final double[] values;
+        private int filled;
+        private int next;
+        private double sum;
+        private double sumSquares;
+
+        Window(final int length) {
+            values = new double[length];
+        }
+
+        void add(final double value) {
+            if (filled == values.length) {
+                final double old = values[next];
+                sum -= old;
+                sumSquares -= old * old;
+            } else {
+                filled++;
+            }
+            values[next] = value;
+            next = (next + 1) % values.length;
+            sum += value;
+            sumSquares += value * value;
+        }
+
+        /**
+         * @param lag 0 for the newest value
+         */
+        double get(final int lag) {
+            return values[(next - 1 - lag + 2 * values.length) % values.length];
+        }
+
+        double mean() {
+            return sum / filled;
+        }
+
+        double variance() {
+            final double mean = mean();
+            return Math.max(0, sumSquares / filled - mean * mean);
+        }
+
+        void reset() {
+            Arrays.fill(values, 0);
+            filled = 0;
+            next = 0;
+            sum = 0;
+            sumSquares = 0;
+        }
+    }
+
+    /**
+     * Exponential moving average seeded with the first value.
+     */
+    private static final class Ema implements Indicator {
+        private final double alpha;
+        private double value;
+        private boolean started;
+
+        Ema(final int period) {
+            alpha = 2.0 / (period + 1);
+        }
+
+        @Override
+        public double update(final double high, final double low, final double close) {
+            return next(close);
+        }
+
+        double next(final double input) {
+            value = started ? value + alpha * (input - value) : input;
+            started = true;
+            return value;
+        }
+
+        @Override
+        public void reset() {
+            value = 0;
+            started = false;
+        }
+    }
+
+    /**
+     * Mean of the values so far for the first period-1 bars, Wilder's smoothing after that.
+     */
+    private static final class WilderAverage {
+        private final int period;
+        private double value;
+        private int count;
+
+        WilderAverage(final int period) {
+            this.period = period;
+        }
+
+        double next(final double input) {
+            count = Math.min(count + 1, period);
+            value += (input - value) / count;
+            return value;
+        }
+
+        void reset() {
+            value = 0;
+            count = 0;
+        }
+    }
+
+    private static final class Sma implements Indicator {
+        private final Window window;
+
+        Sma(final int period) {
+            window = new Window(period);
+        }
+
+        @Override
+        public double update(final double high, final double low, final double close) {
+            window.add(close);
+            return window.mean();
+        }
+
+        @Override
+        public void reset() {
+            window.reset();
+        }
+    }
+
+    /**
+     * Wilder's relative strength index, 50 until the price has moved.
+     */
+    private static final class Rsi implements Indicator {
+        private final WilderAverage gains;
+        private final WilderAverage losses;
+        private double previousClose = Double.NaN;
+
+        Rsi(final int period) {
+            gains = new WilderAverage(period);
+            losses = new WilderAverage(period);
+        }
+
+        @Override
+        public double update(final double high, final double low, final double close) {
+            if (Double.isNaN(previousClose)) {
+                previousClose = close;
+                return 50;
+            }
+            final double change = close - previousClose;
+            previousClose = close;
+            final double gain = gains.next(Math.max(change, 0));
+            final double loss = losses.next(Math.max(-change, 0));
+            if (loss == 0) {
+                return gain == 0 ? 50 : 100;
+            }
+            return 100 - 100 / (1 + gain / loss);
+        }
+
+        @Override
+        public void reset() {
+            gains.reset();
+            losses.reset();
+            previousClose = Double.NaN;
+        }
+    }
+
+    /**
+     * MACD histogram: fast EMA minus slow EMA, minus its signal EMA.
+     */
+    private static final class Macd implements Indicator {
+        private final Ema fast;
+        private final Ema slow;
+        private final Ema signal;
+
+        Macd(final int fast, final int slow, final int signal) {
+            this.fast = new Ema(fast);
+            this.slow = new Ema(slow);
+            this.signal = new Ema(signal);
+        }
+
+        @Override
+        public double update(final double high, final double low, final double close) {
+            final double macd = fast.next(close) - slow.next(close);
+            return macd - signal.next(macd);
+        }
+
+        @Override
+        public void reset() {
+            fast.reset();
+            slow.reset();
+            signal.reset();
+        }
+    }
+
+    /**
+     * Bollinger band width relative to the middle band: 2 * k * std / sma.
+     */
+    private static final class BollingerWidth implements Indicator {
+        private final Window window;
+        private final int deviations;
+
+        BollingerWidth(final int period, final int deviations) {
+            this.window = new Window(period);
+            this.deviations = deviations;
+        }
+
+        @Override
+        public double update(final double high, final double low, final double close) {
+            window.add(close);
+            final double mean = window.mean();
+            return mean == 0 ? 0 : 2 * deviations * Math.sqrt(window.variance()) / mean;
+        }
+
+        @Override
+        public void reset() {
+            window.reset();
+        }
+    }
+
+    /**
+     * Average true range with Wilder's smoothing.
+     */
+    private static final class Atr implements Indicator {
+        private final WilderAverage average;
+        private double previousClose = Double.NaN;
+
+        Atr(final int period) {
+            average = new WilderAverage(period);
+        }
+
+        @Override
+        public double update(final double high, final double low, final double close) {
+            double trueRange = high - low;
+            if (!Double.isNaN(previousClose)) {
+                trueRange = Math.max(trueRange, Math.max(Math.abs(high - previousClose), Math.abs(low - previousClose)));
+            }
+            previousClose = close;
+            return average.next(trueRange);
+        }
+
+        @Override
+        public void reset() {
+            average.reset();
+            previousClose = Double.NaN;
+        }
+    }
+
+    /**
+     * Relative change of the close over lag bars, 0 until lag bars are available.
+     */
+    private static final class LaggedReturn implements Indicator {
+        private final Window closes;
+        private final int lag;
+        private int seen;
+
+        LaggedReturn(final int lag) {
+            this.closes = new Window(lag + 1);
+            this.lag = lag;
+        }
+
+        @Override
+        public double update(final double high, final double low, final double close) {
+            closes.add(close);
+            seen++;
+            if (seen <= lag) {
+                return 0;
+            }
+            final double past = closes.get(lag);
+            return past == 0 ? 0 : close / past - 1;
+        }
+
+        @Override
+        public void reset() {
+            closes.reset();
+            seen = 0;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.sdm.service;
+
+import java.util.Objects;
+
+/**
+ * Identifies one (symbol, timeframe) pair to be fetched as part of a batch.
+ * Used as the key of the result map returned by StockDataFetcher#fetchBatch.
+ */
+public final class FetchRequest {
+    private final String symbol;
+    private final String timeframe;
+
+    /**
+     * @param symbol    Stock ticker (e.g. "AAPL")
+     * @param timeframe UI timeframe label (e.g. "Daily", "Weekly", "Monthly")
+     */
+    public FetchRequest(final String symbol, final String timeframe) {
+        this.symbol = Objects.requireNonNull(symbol, "symbol");
+        this.timeframe = Objects.requireNonNull(timeframe, "timeframe");
+    }
+
+    public String getSymbol() { return symbol; }
+    public String getTimeframe() { return timeframe; }
+
+    @Override
+    public boolean equals(final Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof FetchRequest)) {
+            return false;
+        }
+        final FetchRequest that = (FetchRequest) other;
+        return symbol.equals(that.symbol) && timeframe.equals(that.timeframe);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(symbol, timeframe);
+    }
+
+    @Override
+    public String toString() {
+        return symbol + " [" + timeframe + "]";
+    }
+}
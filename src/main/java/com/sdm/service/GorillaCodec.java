@@ -0,0 +1,241 @@
+package com.sdm.service;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * Gorilla-style column compression (Pelkonen et al., "Gorilla: A Fast,
+ * Scalable, In-Memory Time Series Database").
+ *
+ * Timestamps are stored as delta-of-deltas in units of the series' common
+ * step (e.g. 60 s for minute bars, 86400 s for daily bars), so a regular
+ * series costs one bit per bar and a weekend gap a few bits. Values are
+ * XORed with their predecessor and only the meaningful bits are written,
+ * reusing the previous leading/trailing-zero window when it fits.
+ */
+final class GorillaCodec {
+
+    private static final VarHandle LONG_BE = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+    private GorillaCodec() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Largest step dividing every gap between consecutive timestamps (1 if none).
+     */
+    static long timeUnit(final long[] timestamps, final int count) {
+        long unit = 0;
+        for (int i = 1; i < count; i++) {
+            unit = gcd(unit, Math.abs(timestamps[i] - timestamps[i - 1]));
+        }
+        return unit == 0 ? 1 : unit;
+    }
+
+    static byte[] encodeTimestamps(final long[] timestamps, final int count, final long unit) {
+        final BitWriter out = new BitWriter(count / 4 + 16);
+        if (count == 0) {
+            return out.toByteArray();
+        }
+        out.write(timestamps[0], 64);
+        long previousDelta = 0;
+        for (int i = 1; i < count; i++) {
+            final long delta = (timestamps[i] - timestamps[i - 1]) / unit;
+            final long deltaOfDelta = delta - previousDelta;
+            previousDelta = delta;
+            if (deltaOfDelta == 0) {
+                out.write(0, 1);
+            } else if (deltaOfDelta >= -64 && deltaOfDelta <= 63) {
+                out.write(0b10, 2);
+                out.write(deltaOfDelta, 7);
+            } else if (deltaOfDelta >= -256 && deltaOfDelta <= 255) {
+                out.write(0b110, 3);
+                out.write(deltaOfDelta, 9);
+            } else if (deltaOfDelta >= -2048 && deltaOfDelta <= 2047) {
+                out.write(0b1110, 4);
+                out.write(deltaOfDelta, 12);
+            } else {
+                out.write(0b1111, 4);
+                out.write(deltaOfDelta, 64);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    static long[] decodeTimestamps(final byte[] encoded, final int count, final long unit) {
+        final long[] timestamps = new long[count];
+        if (count == 0) {
+            return timestamps;
+        }
+        final BitReader in = new BitReader(encoded);
+        timestamps[0] = in.read(64);
+        long delta = 0;
+        for (int i = 1; i < count; i++) {
+            if (in.read(1) != 0) {
+                if (in.read(1) == 0) {
+                    delta += signed(in.read(7), 7);
+                } else if (in.read(1) == 0) {
+                    delta += signed(in.read(9), 9);
+                } else if (in.read(1) == 0) {
+                    delta += signed(in.read(12), 12);
+                } else {
+                    delta += in.read(64);
+                }
+            }
+            timestamps[i] = timestamps[i - 1] + delta * unit;
+        }
+        return timestamps;
+    }
+
+    static byte[] encodeValues(final double[] values, final int count) {
+        final BitWriter out = new BitWriter(count * 2 + 16);
+        if (count == 0) {
+            return out.toByteArray();
+        }
+        long previous = Double.doubleToRawLongBits(values[0]);
+        out.write(previous, 64);
+        int previousLeading = Integer.MAX_VALUE;
+        int previousTrailing = 0;
+        for (int i = 1; i < count; i++) {
+            final long bits = Double.doubleToRawLongBits(values[i]);
+            final long xor = bits ^ previous;
+            previous = bits;
+            if (xor == 0) {
+                out.write(0, 1);
+                continue;
+            }
+            final int leading = Math.min(Long.numberOfLeadingZeros(xor), 31);
+            final int trailing = Long.numberOfTrailingZeros(xor);
+            if (leading >= previousLeading && trailing >= previousTrailing) {
+                out.write(0b10, 2);
+                out.write(xor >>> previousTrailing, 64 - previousLeading - previousTrailing);
+            } else {
+                final int meaningful = 64 - leading - trailing;
+                out.write(0b11, 2);
+                out.write(leading, 5);
+                out.write(meaningful & 63, 6); // 64 meaningful bits are stored as 0
+                out.write(xor >>> trailing, meaningful);
+                previousLeading = leading;
+                previousTrailing = trailing;
+            }
+        }
+        return out.toByteArray();
+    }
+
+    static double[] decodeValues(final byte[] encoded, final int count) {
+        final double[] values = new double[count];
+        if (count == 0) {
+            return values;
+        }
+        final BitReader in = new BitReader(encoded);
+        long previous = in.read(64);
+        values[0] = Double.longBitsToDouble(previous);
+        int leading = 0;
+        int trailing = 0;
+        for (int i = 1; i < count; i++) {
+            if (in.read(1) != 0) {
+                if (in.read(1) != 0) {
+                    leading = (int) in.read(5);
+                    final int meaningful = (int) in.read(6);
+                    trailing = 64 - leading - (meaningful == 0 ? 64 : meaningful);
+                }
+                previous ^= in.read(64 - leading - trailing) << trailing;
+            }
+            values[i] = Double.longBitsToDouble(previous);
+        }
+        return values;
+    }
+
+    private static long signed(final long value, final int bits) {
+        return value << (64 - bits) >> (64 - bits);
+    }
+
+    private static long gcd(final long a, final long b) {
+        long x = a;
+        long y = b;
+        while (y != 0) {
+            final long t = x % y;
+            x = y;
+            y = t;
+        }
+        return x;
+    }
+
+    /**
+     * Appends bit fields (most significant bit first) to a growable byte array.
+     */
+    private static final class BitWriter {
+        private byte[] bytes;
+        private int size;
+        private long pending;
+        private int pendingBits;
+
+        BitWriter(final int initialCapacity) {
+            bytes = new byte[Math.max(16, initialCapacity)];
+        }
+
+        /**
+         * Writes the low bits of value.
+         */
+        void write(final long value, final int bits) {
+            if (bits > 32) {
+                write(value >>> 32, bits - 32);
+                write(value & 0xFFFF_FFFFL, 32);
+                return;
+            }
+            if (bits == 0) {
+                return;
+            }
+            pending = (pending << bits) | (value & ((1L << bits) - 1));
+            pendingBits += bits;
+            while (pendingBits >= 8) {
+                pendingBits -= 8;
+                append((byte) (pending >>> pendingBits));
+            }
+        }
+
+        private void append(final byte value) {
+            if (size == bytes.length) {
+                bytes = Arrays.copyOf(bytes, size * 2);
+            }
+            bytes[size++] = value;
+        }
+
+        byte[] toByteArray() {
+            if (pendingBits > 0) {
+                append((byte) (pending << (8 - pendingBits)));
+                pendingBits = 0;
+            }
+            return Arrays.copyOf(bytes, size);
+        }
+    }
+
+    /**
+     * Reads bit fields by loading the 8 bytes around the position as one long.
+     */
+    private static final class BitReader {
+        private final byte[] bytes;
+        private long position;
+
+        BitReader(final byte[] encoded) {
+            // Padding lets every read load a full long
+            this.bytes = Arrays.copyOf(encoded, encoded.length + Long.BYTES);
+        }
+
+        long read(final int bits) {
+            if (bits > 56) {
+                final long high = read(bits - 32);
+                return (high << 32) | read(32);
+            }
+            if (bits == 0) {
+                return 0;
+            }
+            final long word = (long) LONG_BE.get(bytes, (int) (position >>> 3));
+            final int offset = (int) (position & 7);
+            position += bits;
+            return (word << offset) >>> (64 - bits);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.sdm.service;
+
+import okhttp3.Interceptor;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Locale;
+
+/**
+ * Freshness rules for cached API responses.
+ *
+ * Twelve Data does not send useful caching headers, so a network interceptor
+ * stamps each successful response with a max-age derived from its interval:
+ * a bar series cannot change before the bar in progress closes.
+ *   daily   - fresh until the next market close (16:00 New York, weekdays)
+ *   weekly  - until the close of the week's last trading day
+ *   monthly - until the close of the month's last trading day
+ *   intraday - one interval
+ * Responses without an interval (the symbol catalog) are fresh for a day.
+ * Error bodies are marked no-store so a failure is never replayed.
+ * Exchange holidays are ignored; they only shorten freshness.
+ */
+public final class HttpCachePolicy {
+
+    private static final ZoneId MARKET_ZONE = ZoneId.of("America/New_York");
+    private static final LocalTime MARKET_CLOSE = LocalTime.of(16, 0);
+    private static final long CATALOG_MAX_AGE_SECONDS = Duration.ofDays(1).toSeconds();
+    private static final long PEEK_BYTES = 512;
+
+    private HttpCachePolicy() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Network interceptor applying the freshness rules to every response.
+     */
+    public static Interceptor freshnessInterceptor() {
+        return chain -> {
+            final Response response = chain.proceed(chain.request());
+            if (!response.isSuccessful()) {
+                return response;
+            }
+            final String cacheControl = isErrorBody(response) ? "no-store"
+                    : "public, max-age=" + freshnessSeconds(chain.request().url().queryParameter("interval"),
+                            ZonedDateTime.now(MARKET_ZONE));
+            return response.newBuilder()
+                    .header("Cache-Control", cacheControl)
+                    .removeHeader("Pragma")
+                    .removeHeader("Expires")
+                    .build();
+        };
+    }
+
+    /**
+     * Seconds a response for the given interval stays fresh when fetched at now.
+     *
+     * @param interval API interval (e.g. "1day", "15min"), or null for non-series endpoints
+     */
+    public static long freshnessSeconds(final String interval, final ZonedDateTime now) {
+        if (interval == null) {
+            return CATALOG_MAX_AGE_SECONDS;
+        }
+        final ZonedDateTime marketNow = now.withZoneSameInstant(MARKET_ZONE);
+        final ZonedDateTime until = switch (interval) {
+            case "1day" -> nextClose(marketNow, marketNow.toLocalDate());
+            case "1week" -> {
+                final LocalDate friday = marketNow.toLocalDate().with(TemporalAdjusters.nextOrSame(DayOfWeek.FRIDAY));
+                yield periodEndClose(marketNow, friday, friday.plusWeeks(1));
+            }
+            case "1month" -> periodEndClose(marketNow, lastWeekday(marketNow.toLocalDate()),
+                    lastWeekday(marketNow.toLocalDate().withDayOfMonth(1).plusMonths(1)));
+            default -> marketNow.plusSeconds(intervalSeconds(interval));
+        };
+        return Math.max(1, Duration.between(marketNow, until).getSeconds());
+    }
+
+    /**
+     * First market close at or after the candidate day that is still in the future.
+     */
+    private static ZonedDateTime nextClose(final ZonedDateTime now, final LocalDate candidate) {
+        LocalDate day = candidate;
+        while (true) {
+            day = skipWeekend(day);
+            final ZonedDateTime close = ZonedDateTime.of(day, MARKET_CLOSE, MARKET_ZONE);
+            if (close.isAfter(now)) {
+                return close;
+            }
+            day = day.plusDays(1);
+        }
+    }
+
+    /**
+     * Close of the current period's last trading day, or of the next period's once it has passed.
+     */
+    private static ZonedDateTime periodEndClose(final ZonedDateTime now, final LocalDate thisPeriodEnd,
+                                                final LocalDate nextPeriodEnd) {
+        final ZonedDateTime close = ZonedDateTime.of(thisPeriodEnd, MARKET_CLOSE, MARKET_ZONE);
+        return close.isAfter(now) ? close : ZonedDateTime.of(nextPeriodEnd, MARKET_CLOSE, MARKET_ZONE);
+    }
+
+    private static LocalDate skipWeekend(final LocalDate day) {
+        return switch (day.getDayOfWeek()) {
+            case SATURDAY -> day.plusDays(2);
+            case SUNDAY -> day.plusDays(1);
+            default -> day;
+        };
+    }
+
+    private static LocalDate lastWeekday(final LocalDate dayInMonth) {
+        LocalDate day = dayInMonth.with(TemporalAdjusters.lastDayOfMonth());
+        while (day.getDayOfWeek() == DayOfWeek.SATURDAY || day.getDayOfWeek() == DayOfWeek.SUNDAY) {
+            day = day.minusDays(1);
+        }
+        return day;
+    }
+
+    /**
+     * Length of an intraday interval such as "5min" or "1h"; one minute if unrecognised.
+     */
+    static long intervalSeconds(final String interval) {
+        final String lower = interval.toLowerCase(Locale.ROOT);
+        int digits = 0;
+        while (digits < lower.length() && Character.isDigit(lower.charAt(digits))) {
+            digits++;
+        }
+        if (digits == 0) {
+            return 60;
+        }
+        final long amount = Long.parseLong(lower.substring(0, digits));
+        return switch (lower.substring(digits)) {
+            case "min" -> amount * 60;
+            case "h" -> amount * 3600;
+            default -> 60;
+        };
+    }
+
+    private static boolean isErrorBody(final Response response) throws IOException {
+        final String head = response.peekBody(PEEK_BYTES).string().replace(" ", "");
+        return head.contains("\"status\":\"error\"");
+    }
+}
@@ -0,0 +1,117 @@
+package com.sdm.service;
+
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.BufferedSource;
+import okio.ForwardingSource;
+import okio.Okio;
+
+import java.io.IOException;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counters describing how well the HTTP response cache is doing.
+ *
+ * A hit is served from disk without touching the network; a revalidation is
+ * a conditional request answered with 304 Not Modified; a miss downloads the
+ * full body. Bytes saved counts the body bytes read from cached responses as
+ * the caller consumes them. Content-Length cannot be used: OkHttp drops it
+ * when it decompresses a gzip body, and chunked responses never have it.
+ */
+public final class HttpCacheStats {
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong revalidations = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong bytesSaved = new AtomicLong();
+
+    /**
+     * Application interceptor that classifies every completed call.
+     */
+    public Interceptor interceptor() {
+        return chain -> record(chain.proceed(chain.request()));
+    }
+
+    /**
+     * Counts the call and, for a response served from the cache, returns it
+     * with a body that adds every byte read to bytes saved.
+     */
+    Response record(final Response response) {
+        final Response cached = response.cacheResponse();
+        final Response network = response.networkResponse();
+        if (cached != null && network == null) {
+            hits.incrementAndGet();
+        } else if (cached != null) {
+            revalidations.incrementAndGet();
+        } else {
+            if (network != null) {
+                misses.incrementAndGet();
+            }
+            // Neither: an unsatisfied only-if-cached probe; the network call that follows is counted
+            return response;
+        }
+        final ResponseBody body = response.body();
+        return body == null ? response : response.newBuilder().body(new CountingBody(body, bytesSaved)).build();
+    }
+
+    public long getHits() { return hits.get(); }
+    public long getRevalidations() { return revalidations.get(); }
+    public long getMisses() { return misses.get(); }
+    public long getBytesSaved() { return bytesSaved.get(); }
+
+    /**
+     * @return share of calls answered without downloading a body, 0 if none yet
+     */
+    public double getHitRatio() {
+        final long served = hits.get() + revalidations.get();
+        final long total = served + misses.get();
+        return total == 0 ? 0 : (double) served / total;
+    }
+
+    /**
+     * Delegating body that counts the bytes read through it.
+     */
+    private static final class CountingBody extends ResponseBody {
+        private final ResponseBody delegate;
+        private final BufferedSource source;
+
+        CountingBody(final ResponseBody delegate, final AtomicLong counter) {
+            this.delegate = delegate;
+            this.source = Okio.buffer(new ForwardingSource(delegate.source()) {
+                @Override
+                public long read(final Buffer sink, final long byteCount) throws IOException {
+                    final long read = super.read(sink, byteCount);
+                    if (read > 0) {
+                        counter.addAndGet(read);
+                    }
+                    return read;
+                }
+            });
+        }
+
+        @Override
+        public MediaType contentType() {
+            return delegate.contentType();
+        }
+
+        @Override
+        public long contentLength() {
+            return delegate.contentLength();
+        }
+
+        @Override
+        public BufferedSource source() {
+            return source;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("HTTP cache: %d hits, %d revalidated, %d misses, %d bytes saved (%.1f%% hit ratio)",
+                getHits(), getRevalidations(), getMisses(), getBytesSaved(), getHitRatio() * 100);
+    }
+}
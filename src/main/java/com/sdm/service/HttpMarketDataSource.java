@@ -0,0 +1,96 @@
+package com.sdm.service;
+
+import com.sdm.model.BarSeries;
+import com.sdm.utils.DateTimeUtils;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * Reads bars and the symbol catalog from a Twelve Data compatible HTTP API.
+ * All calls go through the shared RequestScheduler so they respect the credit limit.
+ */
+@SuppressWarnings("PMD.GuardLogStatement")
+public final class HttpMarketDataSource implements MarketDataSource {
+
+    private static final Logger LOGGER = Logger.getLogger(HttpMarketDataSource.class.getName());
+
+    private final RequestScheduler scheduler;
+    private final String baseUrl;
+    private final String tickerUrl;
+    private final String apiKey;
+
+    /**
+     * @param scheduler Rate limiter used for every call
+     * @param baseUrl   time_series endpoint
+     * @param tickerUrl Symbol catalog endpoint
+     * @param apiKey    API key appended to every request
+     */
+    public HttpMarketDataSource(final RequestScheduler scheduler, final String baseUrl,
+                                final String tickerUrl, final String apiKey) {
+        this.scheduler = scheduler;
+        this.baseUrl = baseUrl;
+        this.tickerUrl = tickerUrl;
+        this.apiKey = apiKey;
+    }
+
+    @Override
+    public BarSeries fetchBars(final BarQuery query) throws IOException {
+        final StringBuilder url = new StringBuilder(baseUrl)
+                .append("?symbol=").append(URLEncoder.encode(query.getSymbol(), StandardCharsets.UTF_8))
+                .append("&interval=").append(query.getInterval())
+                .append("&apikey=").append(apiKey)
+                .append("&outputsize=").append(query.getOutputSize());
+        if (query.hasStart()) {
+            url.append("&start_date=").append(encodeDate(query.getStartEpochSecond()));
+        }
+        if (query.hasEnd()) {
+            url.append("&end_date=").append(encodeDate(query.getEndEpochSecond()));
+        }
+        // The key is left out of the log
+        LOGGER.fine("Fetching bars: " + url.toString().replace("apikey=" + apiKey, "apikey=***"));
+
+        final Request request = new Request.Builder().url(url.toString()).build();
+        try (Response response = scheduler.execute(request, query.getPriority())) {
+            requireBody(response);
+            return TimeSeriesJsonParser.parse(response.body().charStream());
+        }
+    }
+
+    @Override
+    public Map<String, String> fetchSymbolCatalog() throws IOException {
+        if (tickerUrl == null || tickerUrl.isEmpty()) {
+            throw new IOException("Ticker API URL is not set");
+        }
+        final String url = tickerUrl + (tickerUrl.contains("?") ? "&" : "?") + "apikey=" + apiKey;
+        final Request request = new Request.Builder().url(url).build();
+        try (Response response = scheduler.execute(request, RequestScheduler.Priority.INTERACTIVE)) {
+            requireBody(response);
+            final JSONArray symbolsArray = new JSONObject(response.body().string()).getJSONArray("data");
+            final Map<String, String> names = new LinkedHashMap<>();
+            for (int i = 0; i < symbolsArray.length(); i++) {
+                final JSONObject stock = symbolsArray.getJSONObject(i);
+                names.putIfAbsent(stock.getString("symbol"), stock.getString("name"));
+            }
+            return names;
+        }
+    }
+
+    private static String encodeDate(final long epochSecond) {
+        return URLEncoder.encode(DateTimeUtils.format(epochSecond), StandardCharsets.UTF_8);
+    }
+
+    private static void requireBody(final Response response) throws IOException {
+        if (!response.isSuccessful() || response.body() == null) {
+            throw new IOException("API call failed with HTTP " + response.code());
+        }
+    }
+}
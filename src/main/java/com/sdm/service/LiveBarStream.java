@@ -0,0 +1,43 @@
+package com.sdm.service;
+
+import java.io.IOException;
+import java.util.Collection;
+
+/**
+ * A running quote feed together with the aggregator turning its ticks into bars.
+ * Register listeners before calling start; closing the stream stops the feed.
+ */
+public final class LiveBarStream implements AutoCloseable {
+
+    private final QuoteFeed feed;
+    private final TickAggregator aggregator;
+
+    /**
+     * @param feed      Source of ticks
+     * @param intervals API interval names to aggregate into
+     */
+    public LiveBarStream(final QuoteFeed feed, final Collection<String> intervals) {
+        this.feed = feed;
+        this.aggregator = new TickAggregator(intervals);
+    }
+
+    public void addListener(final TickAggregator.BarListener listener) {
+        aggregator.addListener(listener);
+    }
+
+    public void removeListener(final TickAggregator.BarListener listener) {
+        aggregator.removeListener(listener);
+    }
+
+    /**
+     * Subscribes to the symbols; completed bars are pushed from the feed's threads.
+     */
+    public void start(final Collection<String> symbols) throws IOException {
+        feed.start(symbols, aggregator);
+    }
+
+    @Override
+    public void close() {
+        feed.close();
+    }
+}
@@ -0,0 +1,93 @@
+package com.sdm.service;
+
+import com.sdm.model.BarSeries;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads bars from files in a local directory, for offline runs and benchmarks.
+ *
+ * For a symbol/interval the source looks for SYMBOL_interval.bars (the BarStore
+ * format) and then SYMBOL_interval.csv with a Date,Open,High,Low,Close,Volume
+ * header, as written by "Save to CSV" and parsed by CsvBarImporter. The catalog
+ * is read from symbols.csv (symbol,name per line) or, if absent, derived from
+ * the data file names.
+ */
+public final class LocalDirectoryMarketDataSource implements MarketDataSource {
+
+    private static final String CSV = ".csv";
+    private static final String CATALOG_FILE = "symbols.csv";
+
+    private final Path directory;
+    private final BarStore binaryFiles;
+
+    public LocalDirectoryMarketDataSource(final Path directory) {
+        this.directory = directory;
+        this.binaryFiles = new BarStore(directory, Duration.ZERO);
+    }
+
+    @Override
+    public BarSeries fetchBars(final BarQuery query) throws IOException {
+        BarSeries series = binaryFiles.read(query.getSymbol(), query.getInterval());
+        if (series == null) {
+            final Path csv = directory.resolve(fileStem(query.getSymbol(), query.getInterval()) + CSV);
+            if (!Files.isRegularFile(csv)) {
+                return BarSeries.empty();
+            }
+            series = CsvBarImporter.importFile(csv);
+        }
+        return applyRange(series, query);
+    }
+
+    @Override
+    public Map<String, String> fetchSymbolCatalog() throws IOException {
+        final Map<String, String> names = new LinkedHashMap<>();
+        final Path catalog = directory.resolve(CATALOG_FILE);
+        if (Files.isRegularFile(catalog)) {
+            try (BufferedReader reader = Files.newBufferedReader(catalog, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    final int comma = line.indexOf(',');
+                    if (comma > 0) {
+                        names.putIfAbsent(line.substring(0, comma).trim(), line.substring(comma + 1).trim());
+                    }
+                }
+            }
+            return names;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*_*.{csv,bars}")) {
+            for (final Path file : files) {
+                final String name = file.getFileName().toString();
+                final String symbol = name.substring(0, name.lastIndexOf('_'));
+                names.putIfAbsent(symbol, symbol);
+            }
+        }
+        return names;
+    }
+
+    @Override
+    public boolean isCacheable() {
+        return false;
+    }
+
+    private static String fileStem(final String symbol, final String interval) {
+        return symbol.toUpperCase(Locale.ROOT).replaceAll("[^A-Z0-9.\\-]", "_") + "_" + interval;
+    }
+
+    /**
+     * Keeps the bars inside the query's time range (two binary searches), then
+     * the newest outputSize of them.
+     */
+    private static BarSeries applyRange(final BarSeries series, final BarQuery query) {
+        return series.between(query.getStartEpochSecond(), query.getEndEpochSecond()).tail(query.getOutputSize());
+    }
+}
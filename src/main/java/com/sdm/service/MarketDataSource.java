@@ -0,0 +1,36 @@
+package com.sdm.service;
+
+import com.sdm.model.BarSeries;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Where StockDataFetcher gets its bars and symbol catalog from.
+ *
+ * Implementations: HttpMarketDataSource (Twelve Data or any server speaking its
+ * API, such as MockMarketDataServer) and LocalDirectoryMarketDataSource (CSV or
+ * binary files on disk). The source is chosen with data.source in config.properties.
+ */
+public interface MarketDataSource {
+
+    /**
+     * @return bars matching the query, oldest first; empty if the source has none
+     * @throws IOException if the source could not be read
+     */
+    BarSeries fetchBars(BarQuery query) throws IOException;
+
+    /**
+     * @return symbol to company name, in display order
+     * @throws IOException if the catalog could not be read
+     */
+    Map<String, String> fetchSymbolCatalog() throws IOException;
+
+    /**
+     * Whether fetched bars should be kept in the local bar store. Sources that
+     * already read local files return false so every fetch exercises the source.
+     */
+    default boolean isCacheable() {
+        return true;
+    }
+}
@@ -0,0 +1,132 @@
+package com.sdm.service;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * In-process HTTP server that replays recorded Twelve Data responses, so the
+ * full HTTP path (scheduler, OkHttp, streaming parser) can be exercised and
+ * load-tested without API credits.
+ *
+ * Recordings are read from a directory:
+ *   time_series/SYMBOL_interval.json  served for /time_series?symbol=SYMBOL&amp;interval=interval
+ *   stocks.json                       served for /stocks
+ * Unknown symbols get Twelve Data's "symbol not found" error body. Every
+ * response is delayed by the configured latency to mimic a real network.
+ */
+@SuppressWarnings("PMD.GuardLogStatement")
+public final class MockMarketDataServer implements AutoCloseable {
+
+    private static final Logger LOGGER = Logger.getLogger(MockMarketDataServer.class.getName());
+    private static final String NOT_FOUND_BODY =
+            "{\"code\":400,\"message\":\"**symbol** not found\",\"status\":\"error\"}";
+
+    private final Path recordings;
+    private final Duration latency;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final AtomicLong requestCount = new AtomicLong();
+
+    /**
+     * Starts the server on a free loopback port.
+     *
+     * @param recordings Directory holding the recorded responses
+     * @param latency    Delay added before every response
+     * @param threads    Number of requests served concurrently
+     */
+    public MockMarketDataServer(final Path recordings, final Duration latency, final int threads) throws IOException {
+        this.recordings = recordings;
+        this.latency = latency;
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            final Thread thread = new Thread(runnable, "mock-market-data");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.createContext("/time_series", this::serveTimeSeries);
+        server.createContext("/stocks", exchange -> serveFile(exchange, recordings.resolve("stocks.json")));
+        server.setExecutor(executor);
+        server.start();
+        LOGGER.info("Mock market data server listening on " + getBaseUrl());
+    }
+
+    /**
+     * @return root URL, e.g. http://127.0.0.1:54321
+     */
+    public String getBaseUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    public String getTimeSeriesUrl() { return getBaseUrl() + "/time_series"; }
+    public String getTickerUrl() { return getBaseUrl() + "/stocks"; }
+
+    /**
+     * @return number of requests served since start
+     */
+    public long getRequestCount() {
+        return requestCount.get();
+    }
+
+    private void serveTimeSeries(final HttpExchange exchange) throws IOException {
+        final Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+        final String symbol = query.getOrDefault("symbol", "").toUpperCase(Locale.ROOT);
+        final String interval = query.getOrDefault("interval", "1day");
+        serveFile(exchange, recordings.resolve("time_series").resolve(symbol + "_" + interval + ".json"));
+    }
+
+    private void serveFile(final HttpExchange exchange, final Path file) throws IOException {
+        requestCount.incrementAndGet();
+        try {
+            Thread.sleep(latency.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Twelve Data answers unknown symbols with HTTP 200 and an error body
+        final byte[] body = Files.isRegularFile(file)
+                ? Files.readAllBytes(file)
+                : NOT_FOUND_BODY.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(body);
+        }
+    }
+
+    private static Map<String, String> parseQuery(final String rawQuery) {
+        final Map<String, String> params = new HashMap<>();
+        if (rawQuery == null) {
+            return params;
+        }
+        for (final String pair : rawQuery.split("&")) {
+            final int equals = pair.indexOf('=');
+            if (equals > 0) {
+                params.put(URLDecoder.decode(pair.substring(0, equals), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(equals + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return params;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -4,7 +4,6 @@ import com.sdm.model.ModelScore;
 import javax.swing.*;
 import org.knowm.xchart.*;
 import java.util.List;
-import java.util.OptionalDouble;
 import java.util.stream.IntStream;
 import java.awt.Font; // For setting font on axis labels
 import java.awt.Color; // For custom bar colors
@@ -65,26 +64,56 @@ public class ModelEvaluation {
     
 
     public double calculateMSE(final List<Double> actual, final List<Double> predicted) {
-        return IntStream.range(0, actual.size())
-                .mapToDouble(i -> Math.pow(actual.get(i) - predicted.get(i), 2))
-                .average().orElse(Double.NaN); //  Returns NaN if empty
+        return calculateMSE(toPrimitive(actual), toPrimitive(predicted));
+    }
+
+    /**
+     * Primitive variant of calculateMSE(List, List).
+     */
+    public double calculateMSE(final double[] actual, final double[] predicted) {
+        if (actual.length == 0) return Double.NaN; //  Returns NaN if empty
+        double sum = 0;
+        for (int i = 0; i < actual.length; i++) {
+            sum += (actual[i] - predicted[i]) * (actual[i] - predicted[i]);
+        }
+        return sum / actual.length;
     }
 
     public double calculateRSquared(final List<Double> actual, final List<Double> predicted) {
-       final OptionalDouble meanActualOpt = actual.stream().mapToDouble(a -> a).average();
-        if (meanActualOpt.isEmpty()) return 1; //  Perfect fit if no variance
+        return calculateRSquared(toPrimitive(actual), toPrimitive(predicted));
+    }
 
-        final double meanActual = meanActualOpt.getAsDouble();
-        final double totalVariance = actual.stream().mapToDouble(a -> Math.pow(a - meanActual, 2)).sum();
-        if (totalVariance == 0) return 1; //  Avoid division by zero (perfect correlation)
+    /**
+     * Primitive variant of calculateRSquared(List, List).
+     */
+    public double calculateRSquared(final double[] actual, final double[] predicted) {
+        if (actual.length == 0) return 1; //  Perfect fit if no variance
 
-        final double explainedVariance = IntStream.range(0, actual.size())
-                .mapToDouble(i -> Math.pow(actual.get(i) - predicted.get(i), 2))
-                .sum();
+        double meanActual = 0;
+        for (final double a : actual) {
+            meanActual += a;
+        }
+        meanActual /= actual.length;
+        double totalVariance = 0;
+        double explainedVariance = 0;
+        for (int i = 0; i < actual.length; i++) {
+            totalVariance += (actual[i] - meanActual) * (actual[i] - meanActual);
+            explainedVariance += (actual[i] - predicted[i]) * (actual[i] - predicted[i]);
+        }
+        if (totalVariance == 0) return 1; //  Avoid division by zero (perfect correlation)
 
         return 1 - (explainedVariance / totalVariance);
     }
 
+    // Unboxes a list once for the primitive overloads
+    private static double[] toPrimitive(final List<Double> values) {
+        final double[] result = new double[values.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = values.get(i);
+        }
+        return result;
+    }
+
     //  Extracted Helper Method for Showing Messages
     private void showMessage(final String message, final String title) {
         JOptionPane.showMessageDialog(null, message, title, JOptionPane.INFORMATION_MESSAGE);
@@ -129,17 +158,33 @@ public class ModelEvaluation {
         if (actual.size() != predicted.size()) {
             throw new IllegalArgumentException("Actual and predicted sizes do not match.");
             }
-        final int n = actual.size();
+        return evaluateAndReturn(modelName, timeframe, toPrimitive(actual), toPrimitive(predicted));
+        }
+
+
+    /**
+     * Primitive variant of evaluateAndReturn used by ModelManager, which keeps
+     * its targets and predictions in double arrays.
+     */
+    public ModelScore evaluateAndReturn(final String modelName, final String timeframe, final double[] actual, final double[] predicted) {
+        if (actual.length != predicted.length) {
+            throw new IllegalArgumentException("Actual and predicted sizes do not match.");
+            }
+        final int n = actual.length;
         double sumSqTotal = 0;
         double sumSqResidual = 0;
         double sumAbsoluteError = 0;
-        final double mean = actual.stream().mapToDouble(Double::doubleValue).average().orElse(0);
+        double mean = 0;
+        for (final double a : actual) {
+            mean += a;
+            }
+        mean = n == 0 ? 0 : mean / n;
 
         for (int i = 0; i < n; i++) {
-            final double a = actual.get(i);
-            final double p = predicted.get(i);
-            sumSqTotal += Math.pow(a - mean, 2);
-            sumSqResidual += Math.pow(a - p, 2);
+            final double a = actual[i];
+            final double p = predicted[i];
+            sumSqTotal += (a - mean) * (a - mean);
+            sumSqResidual += (a - p) * (a - p);
             sumAbsoluteError += Math.abs(a - p);
             }
 
@@ -147,7 +192,7 @@ public class ModelEvaluation {
         final double rmse = Math.sqrt(mse);
         final double mae = sumAbsoluteError / n;
         final double rSquared = 1 - (sumSqResidual / sumSqTotal);
-        final double predictedPrice = predicted.get(predicted.size() - 1); // Latest predicted value
+        final double predictedPrice = predicted[n - 1]; // Latest predicted value
 
 
         return new ModelScore(modelName, timeframe, rSquared, mse, rmse, mae,predictedPrice);
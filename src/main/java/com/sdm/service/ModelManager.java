@@ -1,5 +1,6 @@
 package com.sdm.service;
 import java.util.ArrayList;
+import java.util.Arrays;
 //import java.util.Comparator;
 import java.util.List;
 
@@ -46,16 +47,17 @@ public class ModelManager {
     double result;
     
     if (hasSufficientData(fetcher)) {
-        final List<double[]> trainX = fetcher.getScaledTrainFeatures();
-        final List<double[]> testX = fetcher.getScaledTestFeatures();
-        final List<Double> trainY = fetcher.getTrainTargets();
-        final List<Double> testY = fetcher.getTestTargets();
+        // Primitive views of the split, shared by every model below
+        final double[][] trainX = fetcher.getScaledTrainMatrix();
+        final double[][] testX = fetcher.getScaledTestMatrix();
+        final double[] trainY = fetcher.getTrainSeries().closeColumn();
+        final double[] testY = fetcher.getTestSeries().closeColumn();
         final double[] latestX = fetcher.getLatestScaledFeatureVector();
-        final List<Double> univariate = fetcher.getTrainingPrices();
+        final BarSeries trainSeries = fetcher.getTrainSeries();
     
         for (final PredictionModel model : models) {
             try {
-                evaluateModel(model, timeframe, evaluator, trainX, trainY, testX, testY, latestX, univariate);
+                evaluateModel(model, timeframe, evaluator, trainX, trainY, testX, testY, latestX, trainSeries);
             } catch (Exception e) {
                 LOGGER.severe(String.format("Model failed: %s | Reason: %s%n", model.getName(), e.getMessage()));
             }
@@ -114,31 +116,29 @@ public class ModelManager {
         final PredictionModel model,
         final String timeframe,
         final ModelEvaluation evaluator,
-        final List<double[]> trainX,
-        final List<Double> trainY,
-        final List<double[]> testX,
-        final List<Double> testY,
+        final double[][] trainX,
+        final double[] trainY,
+        final double[][] testX,
+        final double[] testY,
         final double[] latestX,
-        final List<Double> univariate
+        final BarSeries trainSeries
 ) {
     double prediction;
-    final List<Double> predictedSeries = new ArrayList<>();
+    final double[] predictedSeries = new double[testY.length];
 
     if (model.supportsMultivariate()) {
-        model.train(trainX, trainY);
+        model.trainMultivariate(trainX, trainY);
         prediction = model.predict(latestX);
 
-        for (final double[] testRow : testX) {
-            predictedSeries.add(model.predict(testRow));
+        for (int i = 0; i < testX.length; i++) {
+            predictedSeries[i] = model.predict(testX[i]);
         }
 
     } else if (model.supportsUnivariate()) {
-        model.train(univariate);
+        model.trainOnCloses(trainSeries);
         prediction = model.predictNext();
         
-        for (final Double ignored : testY) {
-            predictedSeries.add(prediction);
-        }
+        Arrays.fill(predictedSeries, prediction);
         
 
     } else {
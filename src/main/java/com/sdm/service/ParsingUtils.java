@@ -0,0 +1,114 @@
+package com.sdm.service;
+
+/**
+ * Allocation-free decoding of the decimals and datetimes found in bar data,
+ * shared by TimeSeriesJsonParser and CsvBarImporter. Both read straight from
+ * a CharSequence range so callers can pass a reused token or byte view.
+ */
+final class ParsingUtils {
+
+    private static final long SECONDS_PER_DAY = 86_400L;
+    // Largest digit count whose mantissa is an exact double (below 2^53)
+    private static final int MAX_EXACT_DIGITS = 15;
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private ParsingUtils() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Parses text[start, end) as a double. Plain decimals with at most 15
+     * significant digits take a fast path: the mantissa stays below 2^53 and
+     * powers of ten up to 1e22 are exact doubles, so one division is correctly
+     * rounded. Anything else falls back to Double.parseDouble.
+     *
+     * @throws NumberFormatException if the text is not a number
+     */
+    static double parseDecimal(final CharSequence text, final int start, final int end) {
+        int position = start;
+        final boolean negative = position < end && text.charAt(position) == '-';
+        if (negative || position < end && text.charAt(position) == '+') {
+            position++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int significant = 0;
+        int fractionDigits = 0;
+        boolean seenDot = false;
+        for (; position < end; position++) {
+            final char c = text.charAt(position);
+            if (c >= '0' && c <= '9') {
+                if (mantissa != 0 || c != '0') {
+                    significant++;
+                }
+                mantissa = mantissa * 10 + (c - '0');
+                digits++;
+                if (seenDot) {
+                    fractionDigits++;
+                }
+            } else if (c == '.' && !seenDot) {
+                seenDot = true;
+            } else {
+                break;
+            }
+        }
+        if (position == end && digits > 0 && significant <= MAX_EXACT_DIGITS && fractionDigits < POWERS_OF_TEN.length) {
+            final double value = mantissa / POWERS_OF_TEN[fractionDigits];
+            return negative ? -value : value;
+        }
+        return Double.parseDouble(text.subSequence(start, end).toString());
+    }
+
+    /**
+     * @return true if text[start, end) has the "yyyy-MM-dd" or "yyyy-MM-dd HH:mm:ss" layout
+     */
+    static boolean isDateTime(final CharSequence text, final int start, final int end) {
+        final int length = end - start;
+        return (length == 10 || length == 19) && text.charAt(start + 4) == '-' && text.charAt(start + 7) == '-';
+    }
+
+    /**
+     * Converts "yyyy-MM-dd" or "yyyy-MM-dd HH:mm:ss" in text[start, end) to epoch seconds (UTC).
+     *
+     * @throws IllegalArgumentException if the text has another layout or a non-digit field
+     */
+    static long parseDateTime(final CharSequence text, final int start, final int end) {
+        if (!isDateTime(text, start, end)) {
+            throw new IllegalArgumentException("Unsupported datetime: " + text.subSequence(start, end));
+        }
+        long seconds = daysFromCivil(digits(text, start, 4), digits(text, start + 5, 2), digits(text, start + 8, 2))
+                * SECONDS_PER_DAY;
+        if (end - start == 19) {
+            seconds += digits(text, start + 11, 2) * 3600L + digits(text, start + 14, 2) * 60L
+                    + digits(text, start + 17, 2);
+        }
+        return seconds;
+    }
+
+    /**
+     * Days since 1970-01-01 for a proleptic Gregorian date (H. Hinnant's algorithm).
+     */
+    private static long daysFromCivil(final int year, final int month, final int day) {
+        final int y = month <= 2 ? year - 1 : year;
+        final int era = Math.floorDiv(y, 400);
+        final int yearOfEra = y - era * 400;
+        final int dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        final int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146_097L + dayOfEra - 719_468L;
+    }
+
+    private static int digits(final CharSequence text, final int from, final int count) {
+        int value = 0;
+        for (int i = from; i < from + count; i++) {
+            final char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                throw new IllegalArgumentException("Unsupported datetime: " + text.subSequence(from, from + count));
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+}
@@ -0,0 +1,34 @@
+package com.sdm.service;
+
+import java.io.IOException;
+import java.util.Collection;
+
+/**
+ * Source of live trades/quotes for a set of symbols.
+ * Ticks carry bar timestamps (exchange local time as epoch seconds, see BarPeriods).
+ */
+public interface QuoteFeed extends AutoCloseable {
+
+    /**
+     * Receives ticks from a feed. Calls may arrive from the feed's reader and clock threads.
+     */
+    interface TickListener {
+        /**
+         * @param volume Volume traded since the symbol's previous tick
+         */
+        void onTick(String symbol, long timestamp, double price, double volume);
+
+        /**
+         * Reports the feed's current time, so periods can close while a symbol is not trading.
+         */
+        void onClock(long timestamp);
+    }
+
+    /**
+     * Starts delivering ticks for the symbols to the listener. Returns immediately.
+     */
+    void start(Collection<String> symbols, TickListener listener) throws IOException;
+
+    @Override
+    void close();
+}
@@ -0,0 +1,103 @@
+package com.sdm.service;
+
+import com.sdm.utils.DateTimeUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.logging.Logger;
+
+/**
+ * Replays recorded ticks from a CSV file as a stand-in for the live feed.
+ *
+ * Each line is datetime,symbol,price,volume (New York time, oldest first; a
+ * header line is skipped). Ticks are paced by their recorded gaps divided by
+ * the speed factor; a speed of 0 replays as fast as possible. The feed's
+ * clock follows the recorded timestamps.
+ */
+@SuppressWarnings("PMD.GuardLogStatement")
+public final class ReplayQuoteFeed implements QuoteFeed {
+
+    private static final Logger LOGGER = Logger.getLogger(ReplayQuoteFeed.class.getName());
+
+    private final Path ticks;
+    private final double speed;
+    private volatile Thread replay;
+
+    /**
+     * @param ticks Recorded ticks
+     * @param speed Replay speed relative to real time, or 0 for no pacing
+     */
+    public ReplayQuoteFeed(final Path ticks, final double speed) {
+        if (speed < 0) {
+            throw new IllegalArgumentException("speed must not be negative");
+        }
+        this.ticks = ticks;
+        this.speed = speed;
+    }
+
+    @Override
+    public void start(final Collection<String> symbols, final TickListener listener) throws IOException {
+        if (!Files.isRegularFile(ticks)) {
+            throw new IOException("Tick recording not found: " + ticks);
+        }
+        final Set<String> wanted = new HashSet<>();
+        symbols.forEach(symbol -> wanted.add(symbol.toUpperCase(Locale.ROOT)));
+        final Thread thread = new Thread(() -> replay(wanted, listener), "quote-replay");
+        thread.setDaemon(true);
+        replay = thread;
+        thread.start();
+    }
+
+    /**
+     * Blocks until the whole recording has been replayed or the feed is closed.
+     */
+    public void awaitCompletion() throws InterruptedException {
+        final Thread thread = replay;
+        if (thread != null) {
+            thread.join();
+        }
+    }
+
+    private void replay(final Set<String> symbols, final TickListener listener) {
+        try (BufferedReader reader = Files.newBufferedReader(ticks, StandardCharsets.UTF_8)) {
+            long previous = Long.MIN_VALUE;
+            String line;
+            while ((line = reader.readLine()) != null && !Thread.currentThread().isInterrupted()) {
+                final String[] cells = line.split(",");
+                if (cells.length < 4 || !Character.isDigit(cells[0].trim().charAt(0))) {
+                    continue;
+                }
+                final long timestamp = DateTimeUtils.toEpochSecond(cells[0].trim());
+                if (speed > 0 && previous != Long.MIN_VALUE && timestamp > previous) {
+                    Thread.sleep((long) ((timestamp - previous) * 1000 / speed));
+                }
+                previous = timestamp;
+                final String symbol = cells[1].trim().toUpperCase(Locale.ROOT);
+                if (symbols.contains(symbol)) {
+                    listener.onTick(symbol, timestamp, Double.parseDouble(cells[2].trim()), Double.parseDouble(cells[3].trim()));
+                } else {
+                    listener.onClock(timestamp);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | RuntimeException e) {
+            LOGGER.severe("Tick replay of " + ticks + " failed: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() {
+        final Thread thread = replay;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+}
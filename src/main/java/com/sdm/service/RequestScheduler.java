@@ -0,0 +1,189 @@
+package com.sdm.service;
+
+import okhttp3.CacheControl;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Logger;
+
+/**
+ * Sends API requests through a token bucket sized to the provider's
+ * per-minute credit limit.
+ *
+ * Each call costs one credit. Callers waiting for a credit are served strictly
+ * by priority (interactive before background), then in arrival order.
+ * A throttled response (HTTP 429, or Twelve Data's 200 response carrying
+ * "code":429) drains the bucket and the call is queued again, up to maxRetries times.
+ * When the client has a response cache, a fresh cached response is returned
+ * first without spending a credit.
+ */
+@SuppressWarnings("PMD.GuardLogStatement")
+public final class RequestScheduler {
+
+    /**
+     * Scheduling class of a request; lower ordinal is served first.
+     */
+    public enum Priority {
+        /** Triggered by the user and awaited by the UI. */
+        INTERACTIVE,
+        /** Refreshes and validation that may wait for spare credits. */
+        BACKGROUND
+    }
+
+    private static final Logger LOGGER = Logger.getLogger(RequestScheduler.class.getName());
+    private static final int HTTP_TOO_MANY_REQUESTS = 429;
+    private static final long PEEK_BYTES = 256;
+    private static final long NANOS_PER_MINUTE = TimeUnit.MINUTES.toNanos(1);
+    private static final int HTTP_GATEWAY_TIMEOUT = 504;
+    private static final CacheControl ONLY_IF_CACHED = new CacheControl.Builder().onlyIfCached().build();
+
+    private final OkHttpClient client;
+    private final int capacity;
+    private final double nanosPerCredit;
+    private final int maxRetries;
+
+    private final ReentrantLock lock = new ReentrantLock(true);
+    private final Condition changed = lock.newCondition();
+    private final PriorityQueue<Ticket> waiting = new PriorityQueue<>();
+    private double credits;
+    private long lastRefill;
+    private long sequence;
+
+    /**
+     * @param client            Client used to execute the calls
+     * @param creditsPerMinute  Bucket capacity and refill rate
+     * @param maxRetries        How often a throttled call is re-queued before its response is returned
+     */
+    public RequestScheduler(final OkHttpClient client, final int creditsPerMinute, final int maxRetries) {
+        if (creditsPerMinute < 1) {
+            throw new IllegalArgumentException("creditsPerMinute must be at least 1");
+        }
+        this.client = client;
+        this.capacity = creditsPerMinute;
+        this.nanosPerCredit = (double) NANOS_PER_MINUTE / creditsPerMinute;
+        this.maxRetries = maxRetries;
+        this.credits = creditsPerMinute;
+        this.lastRefill = System.nanoTime();
+    }
+
+    /**
+     * Executes the request once a credit is available, retrying throttled responses.
+     * The caller must close the returned response.
+     *
+     * @throws InterruptedIOException if interrupted while waiting for a credit
+     */
+    public Response execute(final Request request, final Priority priority) throws IOException {
+        if (client.cache() != null) {
+            // OkHttp answers 504 when nothing fresh is cached
+            final Response cached = client.newCall(request.newBuilder().cacheControl(ONLY_IF_CACHED).build()).execute();
+            if (cached.code() != HTTP_GATEWAY_TIMEOUT) {
+                return cached;
+            }
+            cached.close();
+        }
+        int attempt = 0;
+        while (true) {
+            try {
+                acquire(priority);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for an API credit");
+            }
+            final Response response = client.newCall(request).execute();
+            if (!isThrottled(response) || attempt >= maxRetries) {
+                return response;
+            }
+            response.close();
+            attempt++;
+            LOGGER.warning("API rate limit hit; re-queueing request (attempt " + attempt + " of " + maxRetries + ")");
+            drain();
+        }
+    }
+
+    /**
+     * Blocks until this caller is first in line and a credit is available, then takes it.
+     */
+    void acquire(final Priority priority) throws InterruptedException {
+        lock.lock();
+        try {
+            final Ticket ticket = new Ticket(priority, sequence++);
+            waiting.add(ticket);
+            try {
+                refill();
+                while (waiting.peek() != ticket || credits < 1) {
+                    if (waiting.peek() == ticket) {
+                        // Head of the line: sleep until the next credit accrues
+                        changed.awaitNanos((long) Math.ceil((1 - credits) * nanosPerCredit));
+                    } else {
+                        changed.await();
+                    }
+                    refill();
+                }
+                credits -= 1;
+            } finally {
+                waiting.remove(ticket);
+                changed.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Empties the bucket after the server reported throttling, so queued calls
+     * wait for the next credit instead of hitting the limit again.
+     */
+    private void drain() {
+        lock.lock();
+        try {
+            refill();
+            credits = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void refill() {
+        final long now = System.nanoTime();
+        credits = Math.min(capacity, credits + (now - lastRefill) / nanosPerCredit);
+        lastRefill = now;
+    }
+
+    private static boolean isThrottled(final Response response) throws IOException {
+        if (response.code() == HTTP_TOO_MANY_REQUESTS) {
+            return true;
+        }
+        if (!response.isSuccessful() || response.body() == null) {
+            return false;
+        }
+        // Twelve Data reports exhausted credits as a 200 response with an error body
+        final String head = response.peekBody(PEEK_BYTES).string();
+        return head.startsWith("{") && head.replace(" ", "").contains("\"code\":429");
+    }
+
+    /**
+     * Place in the waiting line: priority class first, then arrival order.
+     */
+    private static final class Ticket implements Comparable<Ticket> {
+        private final Priority priority;
+        private final long order;
+
+        Ticket(final Priority priority, final long order) {
+            this.priority = priority;
+            this.order = order;
+        }
+
+        @Override
+        public int compareTo(final Ticket other) {
+            final int byPriority = priority.compareTo(other.priority);
+            return byPriority != 0 ? byPriority : Long.compare(order, other.order);
+        }
+    }
+}
@@ -1,274 +1,776 @@
 package com.sdm.service;
 
+import com.sdm.model.Bar;
+import com.sdm.model.BarRingBuffer;
+import com.sdm.model.BarSeries;
+import com.sdm.service.RequestScheduler.Priority;
 import com.sdm.utils.ConfigLoader;
 import com.sdm.utils.CSVUtils;
+import com.sdm.utils.DateTimeUtils;
+import com.sdm.utils.FeatureScaler;
+import okhttp3.Cache;
 import okhttp3.OkHttpClient;
-import okhttp3.Request;
-import okhttp3.Response;
-import org.json.JSONArray;
-import org.json.JSONObject;
 
 import javax.swing.*;
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Logger;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 /**
  * Fetches stock data, normalizes features, manages stock symbol list.
  */
-@SuppressWarnings({"PMD.GuardLogStatement", "PMD.LongVariable"})
+@SuppressWarnings({"PMD.GuardLogStatement", "PMD.LongVariable", "PMD.MethodReturnsInternalArray"})
 public class StockDataFetcher {
 
-    private static final String BASE_URL = ConfigLoader.getBaseUrl();
-    private static final String TICKER_API_URL = ConfigLoader.getTickerApiUrl();
     private static final boolean VALIDATE_TICKERS = Boolean.parseBoolean(ConfigLoader.getProperty("validate.tickers"));
     private static final Logger LOGGER = Logger.getLogger(StockDataFetcher.class.getName());
     private static final OkHttpClient CLIENT = new OkHttpClient();
-
-    private static final Map<String, String> STOCK_SYMBOL_MAP = new LinkedHashMap<>();
-    private static boolean symbolsFetched = false;
-
-    private final String apiKey;
+    private static final HttpCacheStats HTTP_CACHE_STATS = new HttpCacheStats();
+    private static final boolean INCREMENTAL_FETCH = Boolean.parseBoolean(ConfigLoader.getProperty("fetch.incremental", "true"));
+    private static final BarStore BAR_STORE = new BarStore(ConfigLoader.getDataDirectory().resolve("bars"),
+            Duration.ofMinutes(Long.parseLong(ConfigLoader.getProperty("bar.store.max.age.minutes", "60"))));
+    private static final int HISTORY_DEPTH = Integer.parseInt(ConfigLoader.getProperty("output.size", "120"));
+    private static final int PAGE_SIZE = Integer.parseInt(ConfigLoader.getProperty("fetch.page.size", "5000"));
+    private static final boolean RESAMPLE = Boolean.parseBoolean(ConfigLoader.getProperty("fetch.resample", "true"));
+    private static final String DAILY = "1day";
+    private static final Set<String> API_INTERVALS = Set.of(DAILY, "1week", "1month");
+    private static final List<String> API_INTRADAY_INTERVALS =
+            List.of("1min", "5min", "15min", "30min", "45min", "1h", "2h", "4h");
+    private static final Pattern CUSTOM_INTERVAL = Pattern.compile("\\d+(min|h|day|week|month)");
+    // Share of a page's date range expected to hold bars (holidays leave gaps)
+    private static final double PAGE_FILL = 0.95;
+    private static final long SECONDS_PER_DAY = 86_400L;
+    // Regular US session, 09:30-16:00
+    private static final long SESSION_SECONDS = 23_400L;
+    private static final int INTRADAY_CAPACITY = Math.max(HISTORY_DEPTH,
+            Integer.parseInt(ConfigLoader.getProperty("intraday.buffer.capacity", "5000")));
+    // Newest intraday bars per SYMBOL_interval, kept in memory for the whole session
+    private static final Map<String, BarRingBuffer> INTRADAY_BUFFERS = new ConcurrentHashMap<>();
+    private static final Map<String, Object> STORE_LOCKS = new ConcurrentHashMap<>();
+    private static final String INDICATORS = ConfigLoader.getProperty("feature.indicators", "");
+    // Feature rows and scaling stats per intraday buffer, updated as bars are streamed in
+    private static final Map<String, FeaturePipeline> INTRADAY_PIPELINES = new ConcurrentHashMap<>();
+    private static final Map<String, FeatureScaler> INTRADAY_SCALERS = new ConcurrentHashMap<>();
+    private static final int MAX_CONCURRENCY = Integer.parseInt(ConfigLoader.getProperty("fetch.max.concurrency", "8"));
+    private static final ThreadFactory BATCH_THREAD_FACTORY = runnable -> {
+        final Thread thread = new Thread(runnable, "stock-batch-fetch");
+        thread.setDaemon(true);
+        return thread;
+    };
+
+    private static final int VALIDATE_MAX_VALID = 1000;
+    private static final TickerValidator TICKER_VALIDATOR = new TickerValidator(
+            ConfigLoader.getDataDirectory().resolve("ticker-validation.properties"),
+            Duration.ofHours(Long.parseLong(ConfigLoader.getProperty("validate.max.age.hours", "24"))),
+            Integer.parseInt(ConfigLoader.getProperty("validate.parallelism", "8")));
+    private static final int VALIDATE_MAX_CHECKS = Integer.parseInt(ConfigLoader.getProperty("validate.max.checks", "1000"));
+
+    private static final SymbolCatalogStore CATALOG_STORE =
+            new SymbolCatalogStore(ConfigLoader.getDataDirectory().resolve("symbols.catalog"));
+    private static final Duration CATALOG_TTL =
+            Duration.ofHours(Long.parseLong(ConfigLoader.getProperty("symbol.catalog.ttl.hours", "24")));
+    private static final AtomicBoolean CATALOG_REFRESH_STARTED = new AtomicBoolean(false);
+
+    // Filled concurrently while tickers are validated; iterate only while holding its lock
+    private static final Map<String, String> STOCK_SYMBOL_MAP = Collections.synchronizedMap(new LinkedHashMap<>());
+    private static volatile boolean symbolsFetched = false;
+
+    private final MarketDataSource source;
 
     private final List<List<String>> stockData = new ArrayList<>();
-    private final List<Double> trainingPrices = new ArrayList<>();
-    private final List<Double> gridPrices = new ArrayList<>();
+    // Boxed copies of the split closes for callers that predate BarSeries; built on first use
+    private List<Double> trainingPrices;
+    private List<Double> gridPrices;
     private List<double[]> scaledTrainFeatures = new ArrayList<>();
     private List<double[]> scaledTestFeatures = new ArrayList<>();
     private List<Double> trainTargets = new ArrayList<>();
     private List<Double> testTargets = new ArrayList<>();
     private double[] scaledLatestFeature;
+    private BarSeries trainSeries = BarSeries.empty();
+    private BarSeries testSeries = BarSeries.empty();
+    private double[][] scaledTrainMatrix = new double[0][];
+    private double[][] scaledTestMatrix = new double[0][];
+    private SymbolFetchResult currentResult;
 
+    /**
+     * Creates a fetcher reading from the source configured by data.source
+     * (http, local or mock; see ConfiguredSource).
+     */
     public StockDataFetcher() {
-        this.apiKey = ConfigLoader.getApiKey();
+        this(ConfiguredSource.INSTANCE);
+    }
+
+    /**
+     * Creates a fetcher reading from the given source, e.g. a local directory for offline runs.
+     */
+    public StockDataFetcher(final MarketDataSource source) {
+        this.source = source;
         if (!symbolsFetched) {
             fetchStockSymbols();
         }
     }
 
+    /**
+     * Loads the symbol catalog from the local store when present, so startup
+     * needs no network call. An expired catalog is served as-is and refreshed in
+     * the background (see symbol.catalog.ttl.hours); only a first run without a
+     * stored catalog downloads it synchronously.
+     */
     private void fetchStockSymbols() {
-        if (TICKER_API_URL == null || TICKER_API_URL.isEmpty()) {
-            logError("Cannot fetch stock symbols. API URL is not set.");
+        final SymbolCatalogStore.Catalog cached = CATALOG_STORE.read();
+        if (cached != null) {
+            applyCatalog(cached.getNames());
+            symbolsFetched = true;
+            LOGGER.info("Stock symbols loaded from local catalog. Total: " + cached.getNames().size());
+            if (cached.isExpired(CATALOG_TTL) && CATALOG_REFRESH_STARTED.compareAndSet(false, true)) {
+                final Thread refresh = new Thread(this::refreshStockSymbols, "symbol-catalog-refresh");
+                refresh.setDaemon(true);
+                refresh.start();
+            }
             return;
         }
+        CATALOG_REFRESH_STARTED.set(true);
+        refreshStockSymbols();
+    }
+
+    /**
+     * Downloads the catalog, stores it locally and swaps it into the symbol map.
+     */
+    private void refreshStockSymbols() {
+        final Map<String, String> names;
         try {
-            JSONArray symbolsArray = getSymbolsArrayFromApi();
-            if (VALIDATE_TICKERS) {
-                symbolsArray = validateTickers(symbolsArray);
-            }
-            populateStockSymbolMap(symbolsArray);
-            symbolsFetched = true;
-            LOGGER.info("Stock symbols fetched successfully. Total: " + STOCK_SYMBOL_MAP.size());
+            names = source.fetchSymbolCatalog();
         } catch (IOException e) {
             logError("Failed to fetch stock symbols: " + e.getMessage());
+            return;
+        }
+        if (names.isEmpty()) {
+            logError("Failed to fetch stock symbols: catalog is empty");
+            return;
+        }
+        try {
+            CATALOG_STORE.write(names);
+        } catch (IOException e) {
+            LOGGER.warning("Could not store symbol catalog: " + e.getMessage());
         }
+        applyCatalog(names);
+        symbolsFetched = true;
+        LOGGER.info("Stock symbols fetched successfully. Total: " + names.size());
     }
 
-    private JSONArray getSymbolsArrayFromApi() throws IOException {
-        final String url = TICKER_API_URL + (TICKER_API_URL.contains("?") ? "&" : "?") + "apikey=" + apiKey;
-        final Request request = new Request.Builder().url(url).build();
-        return safeApiCall(request, response -> new JSONObject(response.body().string()).getJSONArray("data"));
+    private void applyCatalog(final Map<String, String> names) {
+        if (VALIDATE_TICKERS) {
+            validateTickers(names);
+        } else {
+            populateStockSymbolMap(names);
+        }
     }
 
-    private JSONArray validateTickers(final JSONArray symbolsArray) {
-        final JSONArray validTickers = new JSONArray();
-        int validatedCount = 0;
-        for (int i = 0; i < symbolsArray.length() && validatedCount < 1000; i++) {
-            final JSONObject stock = symbolsArray.getJSONObject(i);
-            final String symbol = stock.getString("symbol");
-            final String testUrl = BASE_URL + "?symbol=" + symbol + "&interval=1day&apikey=" + apiKey + "&outputsize=5";
+    /**
+     * Starts concurrent validation of the listed tickers. Symbols validated recently
+     * (see validate.max.age.hours) are added to the symbol map straight away; the
+     * rest are checked in the background and added as each check succeeds.
+     */
+    private void validateTickers(final Map<String, String> names) {
+        STOCK_SYMBOL_MAP.clear();
+        TICKER_VALIDATOR.validate(new ArrayList<>(names.keySet()), this::hasTimeSeries, VALIDATE_MAX_VALID, VALIDATE_MAX_CHECKS,
+                symbol -> STOCK_SYMBOL_MAP.put(symbol, symbol + " - " + names.get(symbol)))
+            .thenRun(() -> LOGGER.info("Ticker validation finished. Valid symbols: " + STOCK_SYMBOL_MAP.size()));
+    }
 
-            final Request request = new Request.Builder().url(testUrl).build();
-            try (Response response = CLIENT.newCall(request).execute()) {
-                if (response.isSuccessful() && response.body() != null && new JSONObject(response.body().string()).has("values")) {
-                    validTickers.put(stock);
-                    validatedCount++;
-                }
-            } catch (IOException ignored) {
+    /**
+     * @return false only if the source has no bars for the symbol
+     * @throws IOException if the check failed (network, quota or server error), so it is retried later
+     */
+    private boolean hasTimeSeries(final String symbol) throws IOException {
+        try {
+            return !source.fetchBars(new BarQuery(symbol, "1day", 5).withPriority(Priority.BACKGROUND)).isEmpty();
+        } catch (ApiErrorException e) {
+            if (e.isBadRequest()) {
+                return false;
             }
+            throw e;
         }
-        return validTickers;
     }
 
-    private void populateStockSymbolMap(final JSONArray symbolsArray) {
-        STOCK_SYMBOL_MAP.clear();
-        for (int i = 0; i < symbolsArray.length(); i++) {
-            final JSONObject stock = symbolsArray.getJSONObject(i);
-            STOCK_SYMBOL_MAP.put(stock.getString("symbol"), stock.getString("symbol") + " - " + stock.getString("name"));
+    private void populateStockSymbolMap(final Map<String, String> names) {
+        final Map<String, String> entries = new LinkedHashMap<>(names.size() * 4 / 3 + 1);
+        names.forEach((symbol, name) -> entries.put(symbol, symbol + " - " + name));
+        synchronized (STOCK_SYMBOL_MAP) {
+            STOCK_SYMBOL_MAP.clear();
+            STOCK_SYMBOL_MAP.putAll(entries);
         }
     }
 
     public static List<String> getStockSymbolList() {
-        return symbolsFetched ? new ArrayList<>(STOCK_SYMBOL_MAP.values()) : Collections.emptyList();
+        if (!symbolsFetched) {
+            return Collections.emptyList();
+        }
+        synchronized (STOCK_SYMBOL_MAP) {
+            return new ArrayList<>(STOCK_SYMBOL_MAP.values());
+        }
     }
 
     public static String getSymbolFromSelection(final String selection) {
-        return STOCK_SYMBOL_MAP.entrySet().stream()
-                .filter(entry -> selection.equals(entry.getValue()))
-                .map(Map.Entry::getKey)
-                .findFirst()
-                .orElse(null);
+        synchronized (STOCK_SYMBOL_MAP) {
+            return STOCK_SYMBOL_MAP.entrySet().stream()
+                    .filter(entry -> selection.equals(entry.getValue()))
+                    .map(Map.Entry::getKey)
+                    .findFirst()
+                    .orElse(null);
+        }
     }
 
     public List<List<String>> fetchStockData(final String symbol, final String timeframe) {
-        final String interval = switch (timeframe) {
-            case "Weekly" -> "1week";
-            case "Monthly" -> "1month";
-            default -> "1day";
-        };
-        final String url = BASE_URL + "?symbol=" + symbol + "&interval=" + interval + "&apikey=" + apiKey + "&outputsize=120";
-        System.out.println("🔍 Fetching Stock Data URL: " + url);
         System.out.println("🔍 Symbol passed: " + symbol);
         System.out.println("🔍 Timeframe passed: " + timeframe);
-        final Request request = new Request.Builder().url(url).build();
-        return safeApiCall(request, response -> parseJson(response.body().string()));
+        final BarSeries series = loadSeries(symbol, timeframe, Priority.INTERACTIVE);
+        if (series == null) {
+            return null;
+        }
+        final FeaturePipeline pipeline = newPipeline(series);
+        final SymbolFetchResult result = buildResult(symbol, timeframe, series,
+                pipeline.rows(Math.min(HISTORY_DEPTH, pipeline.size())), null);
+        final String key = bufferKey(symbol, toInterval(timeframe));
+        final BarRingBuffer buffer = INTRADAY_BUFFERS.get(key);
+        if (!result.isEmpty() && buffer != null) {
+            synchronized (buffer) {
+                // Bars streamed in meanwhile are picked up by refreshFromBuffer instead
+                if (!buffer.isEmpty() && buffer.getLastTimestamp() == pipeline.getLastTimestamp()) {
+                    INTRADAY_PIPELINES.put(key, pipeline);
+                    INTRADAY_SCALERS.put(key, result.getScaler());
+                }
+            }
+        }
+        applyResult(result);
+        return stockData.subList(0, Math.min(60, stockData.size()));
     }
 
-   /**
- * Parses the API JSON response and prepares training/test datasets.
- * Applies Z-score normalization to extracted features.
- *
- * @param jsonData Raw JSON string from stock API
- * @return Parsed and processed stock data rows
- */
-private List<List<String>> parseJson(final String jsonData) {
-    stockData.clear();
-    trainingPrices.clear();
-    gridPrices.clear();
+    /**
+     * Fetches many (symbol, timeframe) pairs concurrently using the configured
+     * fetch.max.concurrency limit.
+     *
+     * @param requests Pairs to fetch
+     * @return Immutable results keyed by request, in request order
+     */
+    public Map<FetchRequest, SymbolFetchResult> fetchBatch(final Collection<FetchRequest> requests) {
+        return fetchBatch(requests, MAX_CONCURRENCY);
+    }
 
-    final JSONObject root = new JSONObject(jsonData);
+    /**
+     * Fetches many (symbol, timeframe) pairs concurrently with at most
+     * maxConcurrency requests in flight. Unlike fetchStockData this does not
+     * touch the fetcher's own state, so a watchlist refresh is bounded by
+     * network parallelism rather than the sum of round-trip latencies.
+     * Calls are scheduled as background work, behind interactive fetches.
+     * Failed or empty responses are reported as empty results.
+     *
+     * @param requests       Pairs to fetch (duplicates are fetched once)
+     * @param maxConcurrency Maximum number of simultaneous HTTP calls
+     * @return Immutable results keyed by request, in request order
+     */
+    public Map<FetchRequest, SymbolFetchResult> fetchBatch(final Collection<FetchRequest> requests, final int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("maxConcurrency must be at least 1");
+        }
+        final List<FetchRequest> unique = new ArrayList<>(new LinkedHashSet<>(requests));
+        if (unique.isEmpty()) {
+            return Collections.emptyMap();
+        }
 
-    if (!root.has("values")) {
-        LOGGER.severe("Invalid API response: missing 'values' field.\n" + root.toString(2));
-        return Collections.emptyList();
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.min(maxConcurrency, unique.size()), BATCH_THREAD_FACTORY);
+        try {
+            final List<Future<SymbolFetchResult>> futures = new ArrayList<>(unique.size());
+            for (final FetchRequest fetchRequest : unique) {
+                futures.add(executor.submit(() -> fetchResult(fetchRequest.getSymbol(), fetchRequest.getTimeframe())));
+            }
+
+            final Map<FetchRequest, SymbolFetchResult> results = new LinkedHashMap<>();
+            for (int i = 0; i < unique.size(); i++) {
+                final FetchRequest fetchRequest = unique.get(i);
+                results.put(fetchRequest, awaitResult(fetchRequest, futures.get(i)));
+            }
+            return Collections.unmodifiableMap(results);
+        } finally {
+            executor.shutdownNow();
+        }
     }
 
-    final JSONArray values = root.getJSONArray("values");
-    if (values.isEmpty()) {
-        LOGGER.warning("API returned empty 'values' array.");
-        return Collections.emptyList();
+    private SymbolFetchResult fetchResult(final String symbol, final String timeframe) {
+        final BarSeries series = loadSeries(symbol, timeframe, Priority.BACKGROUND);
+        return series == null ? SymbolFetchResult.empty(symbol, timeframe) : buildResult(symbol, timeframe, series, null, null);
     }
 
-    // Sort latest first
-    final List<JSONObject> records = values.toList().stream()
-            .map(obj -> new JSONObject((Map<?, ?>) obj))
-            .sorted(Comparator.comparing(o -> o.getString("datetime"), Comparator.reverseOrder()))
-            .toList();
+    /**
+     * Returns the bars for a symbol/timeframe. Intraday intervals come from the
+     * in-memory ring buffers. With fetch.resample on, weekly, monthly and custom
+     * periods are derived from the stored daily bars, so every timeframe of a
+     * symbol shares one daily download; otherwise each interval is fetched and
+     * stored on its own. Intervals the API does not offer are always derived.
+     *
+     * @return the bars, or null if the API call failed and nothing is stored
+     */
+    private BarSeries loadSeries(final String symbol, final String timeframe, final Priority priority) {
+        final String interval = toInterval(timeframe);
+        if (BarPeriods.isIntraday(interval)) {
+            if (API_INTRADAY_INTERVALS.contains(interval)) {
+                return loadIntraday(symbol, interval, priority);
+            }
+            final BarSeries base = loadIntraday(symbol, intradayBase(interval), priority);
+            return base == null ? null : BarResampler.resample(base, interval);
+        }
+        if (!RESAMPLE && API_INTERVALS.contains(interval)) {
+            return loadStored(symbol, interval, HISTORY_DEPTH, priority);
+        }
+        // Always keep enough daily bars for a full monthly window, so switching timeframe never refetches
+        final int depth = HISTORY_DEPTH * Math.max(BarPeriods.of("1month").tradingDays(), BarPeriods.of(interval).tradingDays());
+        final BarSeries daily = loadStored(symbol, DAILY, depth, priority);
+        return daily == null || DAILY.equals(interval) ? daily : BarResampler.resample(daily, interval);
+    }
 
-    return parseStockRecords(records);
-}
+    /**
+     * Returns at least depth bars for a symbol/interval (fewer only if the
+     * symbol has no more), serving them from the local bar store when a fresh
+     * copy exists. A stale copy is topped up with only the bars newer than its
+     * last stored datetime (when fetch.incremental is on); otherwise, or if the
+     * stored copy is too short, the full window is downloaded. The result is
+     * written back to the store, flagged when it is the symbol's full history
+     * so a symbol with fewer than depth bars is not downloaded again.
+     *
+     * @return the bars, or null if the API call failed and nothing is stored
+     */
+    private BarSeries loadStored(final String symbol, final String interval, final int depth, final Priority priority) {
+        // Timeframes derived from the same bars (e.g. a batch of Daily/Weekly/Monthly) wait for one download
+        synchronized (STORE_LOCKS.computeIfAbsent(bufferKey(symbol, interval), key -> new Object())) {
+            return loadStoredLocked(symbol, interval, depth, priority);
+        }
+    }
+
+    private BarSeries loadStoredLocked(final String symbol, final String interval, final int depth, final Priority priority) {
+        if (!source.isCacheable()) {
+            return downloadHistory(symbol, interval, depth, priority).bars;
+        }
+        final boolean storedFullHistory = BAR_STORE.hasFullHistory(symbol, interval);
+        final BarSeries fresh = BAR_STORE.readIfFresh(symbol, interval);
+        if (fresh != null && (storedFullHistory || fresh.size() >= depth)) {
+            LOGGER.info("Serving " + symbol + " [" + interval + "] from local bar store");
+            return fresh;
+        }
+
+        final BarSeries stale = INCREMENTAL_FETCH ? BAR_STORE.read(symbol, interval) : null;
+        final BarSeries series;
+        final boolean fullHistory;
+        if (stale == null || !storedFullHistory && stale.size() < depth) {
+            final History history = downloadHistory(symbol, interval, depth, priority);
+            series = history.bars;
+            fullHistory = history.fullHistory;
+        } else {
+            // A full history topped up with newer bars is still the full history
+            fullHistory = storedFullHistory;
+            final String since = DateTimeUtils.format(stale.getLastTimestamp());
+            final BarSeries delta = fetch(new BarQuery(symbol, interval, PAGE_SIZE)
+                    .since(stale.getLastTimestamp()).withPriority(priority));
+            if (delta == null) {
+                // Error bodies (429, 401, 5xx) throw in the source, so a failed delta never
+                // rewrites the stale copy as fresh; the next call tries again
+                LOGGER.warning("Delta fetch failed for " + symbol + "; serving stored bars");
+                return stale;
+            }
+            LOGGER.info("Fetched " + delta.size() + " bar(s) for " + symbol + " [" + interval + "] since " + since);
+            series = stale.mergeNewer(delta);
+        }
+
+        if (series != null && !series.isEmpty()) {
+            try {
+                BAR_STORE.write(symbol, interval, series, fullHistory);
+            } catch (IOException e) {
+                LOGGER.warning("Could not store bars for " + symbol + ": " + e.getMessage());
+            }
+        }
+        return series;
+    }
 
+    /**
+     * Largest API intraday interval whose bars tile the given interval, e.g. 5min for 10min.
+     */
+    private static String intradayBase(final String interval) {
+        final long length = BarPeriods.of(interval).lengthSeconds();
+        String base = "1min";
+        long baseLength = 0;
+        for (final String candidate : API_INTRADAY_INTERVALS) {
+            final long candidateLength = BarPeriods.of(candidate).lengthSeconds();
+            if (length % candidateLength == 0 && candidateLength > baseLength) {
+                base = candidate;
+                baseLength = candidateLength;
+            }
+        }
+        return base;
+    }
 
     /**
-    * Parses stock OHLCV records and splits into training/testing sets.
-    * Also extracts feature vectors for modeling.
-    *
-    * @param records List of stock data points (each as JSONObject)
-    * @return Sublist of stock rows for UI table
-    */
-    private List<List<String>> parseStockRecords(final List<JSONObject> records) {
-        final List<Double> allClosePrices = new ArrayList<>();
-        final List<double[]> allFeatures = new ArrayList<>();
-
-        for (final JSONObject record : records.stream().limit(120).toList()) {
-            final double open = record.getDouble("open");
-            final double high = record.getDouble("high");
-            final double low = record.getDouble("low");
-            final double close = record.getDouble("close");
-            final double volume = Math.max(record.getDouble("volume"), 1);
-
-            stockData.add(Arrays.asList(
-                record.getString("datetime"),
-                format(open),
-                format(high),
-                format(low),
-                format(close),
-                String.valueOf(volume)
-        ));
-
-        allClosePrices.add(close);
-        allFeatures.add(new double[]{open, high, low, Math.log(volume)});
-    }
-
-    if (allClosePrices.size() < 5) {
-        LOGGER.severe("Insufficient stock records received: " + allClosePrices.size());
-        return Collections.emptyList();
-    }
-
-    // Split data
-    final int split = (int) (allClosePrices.size() * 0.8);
-    trainTargets = allClosePrices.subList(0, split);
-    testTargets = allClosePrices.subList(split, allClosePrices.size());
-
-    final double[][][] scaled = normalizeTogether(
-            allFeatures.subList(0, split),
-            allFeatures.subList(split, allFeatures.size())
-    );
-
-    scaledTrainFeatures = Arrays.asList(scaled[0]);
-    scaledTestFeatures = Arrays.asList(scaled[1]);
-
-    scaledLatestFeature = scaledTestFeatures.isEmpty() ? new double[]{0, 0, 0, 0}
-            : scaledTestFeatures.get(scaledTestFeatures.size() - 1);
-
-    trainingPrices.addAll(trainTargets);
-    gridPrices.addAll(testTargets);
-
-    LOGGER.info("Records parsed: " + records.size());
-    LOGGER.info("Training samples: " + trainTargets.size());
-    LOGGER.info("Testing samples: " + testTargets.size());
-    return stockData.subList(0, Math.min(60, stockData.size()));
-}
+     * Returns the intraday bars for a symbol/interval from its ring buffer. An
+     * empty buffer is filled with the newest output.size bars; afterwards only
+     * the bars since the newest buffered one are fetched and appended, the last
+     * (still forming) bar being replaced. Intraday bars bypass the disk store so
+     * memory stays bounded by intraday.buffer.capacity however long the session runs.
+     *
+     * @return the buffered bars, or null if the first download failed
+     */
+    private BarSeries loadIntraday(final String symbol, final String interval, final Priority priority) {
+        final BarRingBuffer buffer = INTRADAY_BUFFERS.computeIfAbsent(bufferKey(symbol, interval),
+                key -> new BarRingBuffer(INTRADAY_CAPACITY));
+        // One download per buffer at a time; concurrent callers reuse its result
+        synchronized (buffer) {
+            final BarSeries bars = buffer.isEmpty()
+                    ? downloadHistory(symbol, interval, HISTORY_DEPTH, priority).bars
+                    : fetch(new BarQuery(symbol, interval, PAGE_SIZE).since(buffer.getLastTimestamp()).withPriority(priority));
+            if (bars != null) {
+                buffer.appendAll(bars);
+            } else if (buffer.isEmpty()) {
+                return null;
+            } else {
+                LOGGER.warning("Intraday update failed for " + symbol + "; serving buffered bars");
+            }
+            return buffer.toSeries();
+        }
+    }
 
+    /**
+     * Downloads the newest depth bars. Depths above fetch.page.size (the
+     * API's per-request maximum) are split into consecutive date ranges, each
+     * sized to hold at most one page, fetched concurrently and stitched together.
+     *
+     * @return the bars oldest first (null if the newest page failed), and
+     *         whether they are all the source has
+     */
+    private History downloadHistory(final String symbol, final String interval, final int depth, final Priority priority) {
+        final BarQuery latest = new BarQuery(symbol, interval, Math.min(depth, PAGE_SIZE)).withPriority(priority);
+        if (depth <= PAGE_SIZE) {
+            final BarSeries bars = fetch(latest);
+            return new History(bars, bars != null && bars.size() < depth);
+        }
+
+        final int pageCount = (int) Math.ceil(depth / (PAGE_SIZE * PAGE_FILL));
+        final long pageSeconds = calendarSecondsPerPage(interval);
+        final long end = System.currentTimeMillis() / 1000;
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.min(MAX_CONCURRENCY, pageCount), BATCH_THREAD_FACTORY);
+        try {
+            final List<Future<BarSeries>> futures = new ArrayList<>(pageCount);
+            for (int page = 0; page < pageCount; page++) {
+                final BarQuery range = latest.since(end - (page + 1) * pageSeconds).until(end - page * pageSeconds);
+                futures.add(executor.submit(() -> fetch(range)));
+            }
 
-    private double[][][] normalizeTogether(final List<double[]> train, final List<double[]> test) {
-        final int numFeatures = train.get(0).length;
-        final double[] mean = new double[numFeatures];
-        final double[] std = new double[numFeatures];
-    
-        for (int i = 0; i < numFeatures; i++) {
-            final int idx = i; // capture loop variable into effectively final
-            mean[i] = train.stream().mapToDouble(x -> x[idx]).average().orElse(0);
-            std[i] = Math.sqrt(train.stream().mapToDouble(x -> Math.pow(x[idx] - mean[idx], 2)).average().orElse(1));
+            // Keep pages newest first up to the first gap, so the result stays contiguous
+            final List<BarSeries> pages = new ArrayList<>(pageCount);
+            for (final Future<BarSeries> future : futures) {
+                final BarSeries page = awaitPage(future);
+                if (page == null) {
+                    break;
+                }
+                pages.add(page);
+            }
+            if (pages.isEmpty()) {
+                return new History(null, false);
+            }
+            final boolean truncated = pages.size() < pageCount;
+            if (truncated) {
+                LOGGER.warning("History for " + symbol + " truncated after " + pages.size() + " of " + pageCount + " pages");
+            }
+            final BarSeries bars = BarSeries.stitch(pages).tail(depth);
+            return new History(bars, !truncated && bars.size() < depth);
+        } finally {
+            executor.shutdownNow();
         }
-    
-        final double[][] trainScaled = train.stream().map(x -> scaleRow(x, mean, std)).toArray(double[][]::new);
-        final double[][] testScaled = test.stream().map(x -> scaleRow(x, mean, std)).toArray(double[][]::new);
-    
-        return new double[][][]{trainScaled, testScaled};
     }
-    
 
-   
+    /**
+     * Calendar span that cannot contain more than one page of bars.
+     */
+    private static long calendarSecondsPerPage(final String interval) {
+        if (BarPeriods.isIntraday(interval)) {
+            // A trailing partial bar (e.g. 13:30-16:00 for 4h) still counts as a bar
+            final long barSeconds = HttpCachePolicy.intervalSeconds(interval);
+            final long barsPerDay = (SESSION_SECONDS + barSeconds - 1) / barSeconds;
+            return Math.max(1, PAGE_SIZE / barsPerDay) * 7 * SECONDS_PER_DAY / 5;
+        }
+        return switch (interval) {
+            case "1week" -> PAGE_SIZE * 7 * SECONDS_PER_DAY;
+            case "1month" -> PAGE_SIZE * 28 * SECONDS_PER_DAY;
+            default -> PAGE_SIZE * 7 * SECONDS_PER_DAY / 5; // five trading days per week
+        };
+    }
 
-    private double[] scaleRow(final double[] row, final double[] mean, final double[] std) {
-        final double[] result = new double[row.length];
-        for (int i = 0; i < row.length; i++) {
-            result[i] = (row[i] - mean[i]) / std[i];
+    private BarSeries awaitPage(final Future<BarSeries> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logError("History fetch interrupted");
+        } catch (ExecutionException e) {
+            logError("History page failed: " + e.getCause());
         }
-        return result;
+        return null;
     }
-    
 
-    private String format(final double value) {
-        return String.format("%.2f", Math.round(value / 0.05) * 0.05);
+    /**
+     * @return the bars, or null if the source failed
+     */
+    private BarSeries fetch(final BarQuery query) {
+        try {
+            return source.fetchBars(query);
+        } catch (IOException e) {
+            logError("Fetching " + query + " failed: " + e.getMessage());
+            return null;
+        }
     }
 
-    private void logError(final String message) {
-        LOGGER.severe(message);
+    private SymbolFetchResult awaitResult(final FetchRequest fetchRequest, final Future<SymbolFetchResult> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logError("Batch fetch interrupted at " + fetchRequest);
+        } catch (ExecutionException e) {
+            logError("Batch fetch failed for " + fetchRequest + ": " + e.getCause());
+        }
+        return SymbolFetchResult.empty(fetchRequest.getSymbol(), fetchRequest.getTimeframe());
     }
 
-    private <T> T safeApiCall(final Request request, final ApiResponseHandler<T> handler) {
-        try (Response response = CLIENT.newCall(request).execute()) {
-            if (response.isSuccessful() && response.body() != null) {
-                return handler.handle(response);
+    /**
+     * Rebuilds this fetcher's data for an intraday timeframe from the bars
+     * already buffered in memory (including streamed ones), without an API call.
+     * Feature rows and scaling stats are those of the last fetch, updated with
+     * every bar streamed in since, instead of being recomputed over the whole buffer.
+     *
+     * @return false if nothing is buffered for the symbol/timeframe
+     */
+    public boolean refreshFromBuffer(final String symbol, final String timeframe) {
+        final String key = bufferKey(symbol, toInterval(timeframe));
+        final BarRingBuffer buffer = INTRADAY_BUFFERS.get(key);
+        if (buffer == null) {
+            return false;
+        }
+        final BarSeries series;
+        final double[][] features;
+        final FeatureScaler scaler;
+        synchronized (buffer) {
+            if (buffer.isEmpty()) {
+                return false;
             }
-        } catch (IOException e) {
-            logError("API call failed: " + e.getMessage());
+            series = buffer.toSeries();
+            FeaturePipeline pipeline = INTRADAY_PIPELINES.get(key);
+            if (pipeline == null || pipeline.getLastTimestamp() != series.getLastTimestamp()) {
+                pipeline = newPipeline(series);
+                INTRADAY_PIPELINES.put(key, pipeline);
+            }
+            features = pipeline.rows(Math.min(HISTORY_DEPTH, series.size()));
+            final FeatureScaler stored = INTRADAY_SCALERS.get(key);
+            scaler = stored == null ? null : stored.copy();
         }
-        return null;
+        applyResult(buildResult(symbol, timeframe, series, features, scaler));
+        return true;
+    }
+
+    /**
+     * Opens the live feed selected by stream.source (websocket, replay or off),
+     * aggregating its ticks into the stream.intervals bars. Completed intraday
+     * bars are appended to the buffers fetchStockData and refreshFromBuffer read.
+     * The caller registers its own listeners, starts and eventually closes the stream.
+     *
+     * @return the stream, or null when streaming is off
+     */
+    public static LiveBarStream openLiveStream() {
+        final String kind = ConfigLoader.getProperty("stream.source", "off");
+        final QuoteFeed feed = switch (kind) {
+            case "off" -> null;
+            case "websocket" -> new WebSocketQuoteFeed(CLIENT, ConfigLoader.getProperty("stream.url"), ConfigLoader.getApiKey());
+            case "replay" -> new ReplayQuoteFeed(Paths.get(ConfigLoader.getProperty("stream.replay.file")),
+                    Double.parseDouble(ConfigLoader.getProperty("stream.replay.speed", "1")));
+            default -> throw new IllegalStateException("Unknown stream.source: " + kind);
+        };
+        if (feed == null) {
+            return null;
+        }
+        final List<String> intervals = new ArrayList<>();
+        for (final String interval : ConfigLoader.getProperty("stream.intervals", "1min").split(",")) {
+            if (!interval.isBlank()) {
+                intervals.add(interval.trim());
+            }
+        }
+        return newLiveStream(feed, intervals);
+    }
+
+    /**
+     * Wraps the feed in a stream whose completed bars go to the intraday buffers.
+     */
+    static LiveBarStream newLiveStream(final QuoteFeed feed, final Collection<String> intervals) {
+        final LiveBarStream stream = new LiveBarStream(feed, intervals);
+        stream.addListener(StockDataFetcher::appendStreamedBar);
+        return stream;
+    }
+
+    private static void appendStreamedBar(final String symbol, final String interval, final Bar bar) {
+        final String key = bufferKey(symbol, interval);
+        final BarRingBuffer buffer = INTRADAY_BUFFERS.get(key);
+        if (buffer != null) {
+            synchronized (buffer) {
+                final long previous = buffer.isEmpty() ? Long.MIN_VALUE : buffer.getLastTimestamp();
+                buffer.append(bar.getTimestamp(), bar.getOpen(), bar.getHigh(), bar.getLow(), bar.getClose(), bar.getVolume());
+                final FeaturePipeline pipeline = INTRADAY_PIPELINES.get(key);
+                if (pipeline == null) {
+                    return;
+                }
+                if (bar.getTimestamp() > previous && pipeline.getLastTimestamp() == previous) {
+                    // Only the new bar's features are computed
+                    final double[] row = pipeline.append(bar.getTimestamp(), bar.getOpen(), bar.getHigh(),
+                            bar.getLow(), bar.getClose(), bar.getVolume());
+                    final FeatureScaler scaler = INTRADAY_SCALERS.get(key);
+                    if (scaler != null) {
+                        scaler.partialFit(row);
+                    }
+                } else {
+                    // A re-sent or skipped bar; refreshFromBuffer recomputes the rows
+                    INTRADAY_PIPELINES.remove(key);
+                }
+            }
+        }
+    }
+
+    /**
+     * Downloaded bars, and whether the source returned fewer than requested
+     * without a failed page, i.e. the symbol has no older bars.
+     */
+    private static final class History {
+        private final BarSeries bars;
+        private final boolean fullHistory;
+
+        private History(final BarSeries bars, final boolean fullHistory) {
+            this.bars = bars;
+            this.fullHistory = fullHistory;
+        }
+    }
+
+    private static String bufferKey(final String symbol, final String interval) {
+        return symbol + "_" + interval;
+    }
+
+    /**
+     * Maps a timeframe label (as offered by the UI) to the API's interval name.
+     * Custom periods such as "2week" or "10min" are passed through and resampled locally.
+     */
+    public static String toInterval(final String timeframe) {
+        return switch (timeframe) {
+            case "1min", "5min", "15min", "30min" -> timeframe;
+            case "1hour" -> "1h";
+            case "4hour" -> "4h";
+            case "Weekly" -> "1week";
+            case "Monthly" -> "1month";
+            default -> CUSTOM_INTERVAL.matcher(timeframe).matches() ? timeframe : DAILY;
+        };
+    }
+
+
+    /**
+     * Copies an immutable result into this fetcher's state so the existing
+     * getters used by ModelManager keep working.
+     */
+    private void applyResult(final SymbolFetchResult result) {
+        stockData.clear();
+        trainingPrices = null;
+        gridPrices = null;
+
+        currentResult = result;
+        stockData.addAll(result.getTableRows());
+        trainTargets = result.getTrainTargets();
+        testTargets = result.getTestTargets();
+        scaledTrainFeatures = result.getScaledTrainFeatures();
+        scaledTestFeatures = result.getScaledTestFeatures();
+        scaledLatestFeature = result.getLatestScaledFeatureVector();
+        trainSeries = result.getTrainSeries();
+        testSeries = result.getTestSeries();
+        scaledTrainMatrix = result.getScaledTrainMatrix();
+        scaledTestMatrix = result.getScaledTestMatrix();
+    }
+
+    /**
+    * Builds table rows from the latest bars and splits them chronologically into
+    * training (oldest 80%) and testing (newest 20%) sets. The split sets are
+    * zero-copy slices of the series; only the scaled feature matrix is allocated.
+    *
+    * @param series   Bars ordered oldest first
+    * @param features Unscaled feature rows of the newest bars, or null to compute them from series
+    * @param fitted   Scaler to reuse, or null to fit a new one on the training split
+    * @return Immutable result holding stock rows and the scaled split
+    */
+    private SymbolFetchResult buildResult(final String symbol, final String timeframe, final BarSeries series,
+                                          final double[][] features, final FeatureScaler fitted) {
+        final BarSeries window = series.tail(HISTORY_DEPTH);
+        final int count = window.size();
+        if (count < 5) {
+            LOGGER.severe("Insufficient stock records received: " + count);
+            return SymbolFetchResult.empty(symbol, timeframe);
+        }
+
+        // Table rows are shown latest first
+        final List<List<String>> rows = new ArrayList<>(count);
+        for (int i = count - 1; i >= 0; i--) {
+            rows.add(Arrays.asList(
+                DateTimeUtils.format(window.getTimestamp(i)),
+                format(window.getOpen(i)),
+                format(window.getHigh(i)),
+                format(window.getLow(i)),
+                format(window.getClose(i)),
+                String.valueOf(Math.max(window.getVolume(i), 1))
+            ));
+        }
+
+        // Feature rows in chronological order; indicators are warmed up on the bars before the window
+        final double[][] featureRows = features != null ? features : newPipeline(series).rows(count);
+        final int width = featureRows[0].length;
+
+        // Split data and scale every row with the training stats
+        final int split = (int) (count * 0.8);
+        final FeatureScaler scaler = fitted != null && fitted.getFeatureCount() == width
+                ? fitted : new FeatureScaler(width).fit(featureRows, split);
+        scaler.transformAll(featureRows);
+        final double[][] train = Arrays.copyOfRange(featureRows, 0, split);
+        final double[][] test = Arrays.copyOfRange(featureRows, split, count);
+
+        // The newest bar is the input for the next-step prediction
+        final double[] latest = test.length == 0 ? new double[width] : test[test.length - 1];
+
+        LOGGER.info("Records parsed: " + series.size());
+        LOGGER.info("Training samples: " + split);
+        LOGGER.info("Testing samples: " + (count - split));
+        return new SymbolFetchResult(symbol, timeframe, rows, series, window, split, train, test, latest, scaler);
+    }
+
+    /**
+     * Computes the feature rows (base features plus feature.indicators) of the series in one pass.
+     */
+    private static FeaturePipeline newPipeline(final BarSeries series) {
+        return new FeaturePipeline(INDICATORS, HISTORY_DEPTH).compute(series);
+    }
+
+    private String format(final double value) {
+        return String.format("%.2f", Math.round(value / 0.05) * 0.05);
+    }
+
+    private void logError(final String message) {
+        LOGGER.severe(message);
     }
 
     public void saveToCSV() {
@@ -296,16 +798,105 @@ private List<List<String>> parseJson(final String jsonData) {
         }
     }
 
-    public List<Double> getTrainingPrices() { return trainingPrices; }
-    public List<Double> getGridPrices() { return gridPrices; }
+    /**
+     * Packs every bar of the last fetch (not just the model window) and the
+     * feature scaling stats fitted on it into a compact archive,
+     * e.g. to write them with SeriesArchive.writeAll and load them on another machine.
+     *
+     * @throws IllegalStateException if no data has been fetched yet
+     */
+    public SeriesArchive toArchive() {
+        if (currentResult == null || currentResult.getSeries().isEmpty()) {
+            throw new IllegalStateException("No stock data fetched yet");
+        }
+        return SeriesArchive.of(currentResult);
+    }
+
+    /**
+     * @return hit/miss/bytes-saved counters of the HTTP response cache
+     */
+    public static HttpCacheStats getHttpCacheStats() {
+        return HTTP_CACHE_STATS;
+    }
+
+    /**
+     * Training closes as a boxed, modifiable list for older callers. Models
+     * read getTrainSeries() instead, so the list is only built when asked for.
+     */
+    public List<Double> getTrainingPrices() {
+        if (trainingPrices == null) {
+            trainingPrices = new ArrayList<>(trainSeries.closeList());
+        }
+        return trainingPrices;
+    }
+
+    /**
+     * Test closes as a boxed, modifiable list for older callers (see getTrainingPrices).
+     */
+    public List<Double> getGridPrices() {
+        if (gridPrices == null) {
+            gridPrices = new ArrayList<>(testSeries.closeList());
+        }
+        return gridPrices;
+    }
+
     public List<double[]> getScaledTrainFeatures() { return scaledTrainFeatures; }
     public List<double[]> getScaledTestFeatures() { return scaledTestFeatures; }
     public List<Double> getTrainTargets() { return trainTargets; }
     public List<Double> getTestTargets() { return testTargets; }
+    public BarSeries getTrainSeries() { return trainSeries; }
+    public BarSeries getTestSeries() { return testSeries; }
+    public double[][] getScaledTrainMatrix() { return scaledTrainMatrix; }
+    public double[][] getScaledTestMatrix() { return scaledTestMatrix; }
     public double[] getLatestScaledFeatureVector() { return scaledLatestFeature != null ? Arrays.copyOf(scaledLatestFeature, scaledLatestFeature.length) : new double[0]; }
 
-    @FunctionalInterface
-    private interface ApiResponseHandler<T> {
-        T handle(Response response) throws IOException;
+    /**
+     * Lazily created source selected by data.source:
+     *   http  - Twelve Data (default), rate limited by api.credits.per.minute
+     *   local - LocalDirectoryMarketDataSource over data.source.dir
+     *   mock  - MockMarketDataServer replaying recordings from data.source.dir
+     *           with mock.latency.ms delay, reached over HTTP
+     */
+    private static final class ConfiguredSource {
+        private static final MarketDataSource INSTANCE = create();
+
+        private static MarketDataSource create() {
+            final String kind = ConfigLoader.getProperty("data.source", "http");
+            try {
+                return switch (kind) {
+                    case "local" -> new LocalDirectoryMarketDataSource(Paths.get(ConfigLoader.getProperty("data.source.dir")));
+                    case "mock" -> {
+                        final MockMarketDataServer server = new MockMarketDataServer(
+                                Paths.get(ConfigLoader.getProperty("data.source.dir")),
+                                Duration.ofMillis(Long.parseLong(ConfigLoader.getProperty("mock.latency.ms", "50"))),
+                                MAX_CONCURRENCY);
+                        // Offline runs are not bound by the provider's credit limit
+                        yield new HttpMarketDataSource(new RequestScheduler(CLIENT, Integer.MAX_VALUE, 0),
+                                server.getTimeSeriesUrl(), server.getTickerUrl(), "mock");
+                    }
+                    case "http" -> new HttpMarketDataSource(
+                            new RequestScheduler(cachingClient(),
+                                    Integer.parseInt(ConfigLoader.getProperty("api.credits.per.minute", "8")),
+                                    Integer.parseInt(ConfigLoader.getProperty("api.max.retries", "3"))),
+                            ConfigLoader.getBaseUrl(), ConfigLoader.getTickerApiUrl(), ConfigLoader.getApiKey());
+                    default -> throw new IllegalStateException("Unknown data.source: " + kind);
+                };
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not start mock market data server", e);
+            }
+        }
+
+        /**
+         * Client with a disk cache of http.cache.max.mb under data.dir/http-cache,
+         * using the per-interval freshness rules of HttpCachePolicy.
+         */
+        private static OkHttpClient cachingClient() {
+            final long maxBytes = Long.parseLong(ConfigLoader.getProperty("http.cache.max.mb", "50")) * 1024 * 1024;
+            return CLIENT.newBuilder()
+                    .cache(new Cache(ConfigLoader.getDataDirectory().resolve("http-cache").toFile(), maxBytes))
+                    .addInterceptor(HTTP_CACHE_STATS.interceptor())
+                    .addNetworkInterceptor(HttpCachePolicy.freshnessInterceptor())
+                    .build();
+        }
     }
 }
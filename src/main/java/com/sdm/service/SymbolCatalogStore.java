@@ -0,0 +1,109 @@
+package com.sdm.service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * Local copy of the exchange's symbol catalog (symbol to company name).
+ *
+ * File layout (DataOutputStream, big endian):
+ *   magic (int), version (int), written-at epoch millis (long), entry count (int),
+ *   then per entry: symbol (modified UTF-8), name (modified UTF-8)
+ *
+ * Loading a few thousand entries this way takes milliseconds, compared with a
+ * network round trip and a full JSON parse of the API's catalog response.
+ */
+@SuppressWarnings({"PMD.GuardLogStatement", "PMD.ReturnEmptyCollectionRatherThanNull"})
+public final class SymbolCatalogStore {
+
+    private static final Logger LOGGER = Logger.getLogger(SymbolCatalogStore.class.getName());
+    private static final int MAGIC = 0x53444D43; // "SDMC"
+    private static final int VERSION = 1;
+
+    private final Path file;
+
+    public SymbolCatalogStore(final Path file) {
+        this.file = file;
+    }
+
+    /**
+     * @return the stored catalog, or null if missing or unreadable
+     */
+    public Catalog read() {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (input.readInt() != MAGIC || input.readInt() != VERSION) {
+                LOGGER.warning("Ignoring unrecognised symbol catalog: " + file);
+                return null;
+            }
+            final long writtenAt = input.readLong();
+            final int count = input.readInt();
+            final Map<String, String> names = new LinkedHashMap<>(count * 4 / 3 + 1);
+            for (int i = 0; i < count; i++) {
+                names.put(input.readUTF(), input.readUTF());
+            }
+            return new Catalog(names, writtenAt);
+        } catch (IOException e) {
+            LOGGER.warning("Failed to read symbol catalog " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Writes the catalog, atomically replacing the previous file.
+     *
+     * @param names Symbol to company name, in display order
+     */
+    public void write(final Map<String, String> names) throws IOException {
+        final Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        final Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.writeLong(System.currentTimeMillis());
+            output.writeInt(names.size());
+            for (final Map.Entry<String, String> entry : names.entrySet()) {
+                output.writeUTF(entry.getKey());
+                output.writeUTF(entry.getValue());
+            }
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * A loaded catalog and the time it was downloaded.
+     */
+    public static final class Catalog {
+        private final Map<String, String> names;
+        private final long writtenAt;
+
+        Catalog(final Map<String, String> names, final long writtenAt) {
+            this.names = Collections.unmodifiableMap(names);
+            this.writtenAt = writtenAt;
+        }
+
+        public Map<String, String> getNames() { return names; }
+        public long getWrittenAt() { return writtenAt; }
+
+        /**
+         * @return true if the catalog was downloaded more than ttl ago
+         */
+        public boolean isExpired(final Duration ttl) {
+            return System.currentTimeMillis() - writtenAt > ttl.toMillis();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.sdm.service;
+
+import com.sdm.model.BarSeries;
+import com.sdm.utils.FeatureScaler;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable snapshot of one parsed time series: the table rows shown in the UI
+ * plus the scaled train/test split used by the models.
+ *
+ * The train and test sets are zero-copy slices of the fetched BarSeries
+ * (oldest bar first), so targets are read straight from its close column.
+ *
+ * Instances are safe to share between threads, which is what allows
+ * StockDataFetcher#fetchBatch to build many of them concurrently.
+ */
+@SuppressWarnings({"PMD.LongVariable", "PMD.MethodReturnsInternalArray"})
+public final class SymbolFetchResult {
+    private final String symbol;
+    private final String timeframe;
+    private final List<List<String>> tableRows;
+    private final BarSeries history;
+    private final BarSeries series;
+    private final BarSeries trainSeries;
+    private final BarSeries testSeries;
+    private final double[][] scaledTrainMatrix;
+    private final double[][] scaledTestMatrix;
+    private final double[] latestScaledFeature;
+    private final FeatureScaler scaler;
+
+    /**
+     * @param history    Every bar the result was built from, oldest first
+     * @param series     Newest bars of history used for the table and the split
+     * @param trainCount Number of oldest bars in the training split
+     * @param scaler     Statistics the matrices were scaled with; kept as a private copy
+     */
+    @SuppressWarnings("PMD.ExcessiveParameterList")
+    SymbolFetchResult(final String symbol, final String timeframe, final List<List<String>> tableRows,
+                      final BarSeries history, final BarSeries series, final int trainCount,
+                      final double[][] scaledTrainMatrix, final double[][] scaledTestMatrix,
+                      final double[] latestScaledFeature, final FeatureScaler scaler) {
+        this.symbol = symbol;
+        this.timeframe = timeframe;
+        this.tableRows = Collections.unmodifiableList(tableRows);
+        this.history = history;
+        this.series = series;
+        this.trainSeries = series.slice(0, trainCount);
+        this.testSeries = series.slice(trainCount, series.size());
+        this.scaledTrainMatrix = scaledTrainMatrix;
+        this.scaledTestMatrix = scaledTestMatrix;
+        this.latestScaledFeature = latestScaledFeature;
+        this.scaler = scaler.copy();
+    }
+
+    /**
+     * Result used when the API response was missing, empty or too short to split.
+     */
+    static SymbolFetchResult empty(final String symbol, final String timeframe) {
+        return new SymbolFetchResult(symbol, timeframe, List.of(), BarSeries.empty(), BarSeries.empty(), 0,
+                new double[0][], new double[0][], new double[0], new FeatureScaler(0));
+    }
+
+    public String getSymbol() { return symbol; }
+    public String getTimeframe() { return timeframe; }
+    public List<List<String>> getTableRows() { return tableRows; }
+    public List<double[]> getScaledTrainFeatures() { return Collections.unmodifiableList(Arrays.asList(scaledTrainMatrix)); }
+    public List<double[]> getScaledTestFeatures() { return Collections.unmodifiableList(Arrays.asList(scaledTestMatrix)); }
+    public List<Double> getTrainTargets() { return trainSeries.closeList(); }
+    public List<Double> getTestTargets() { return testSeries.closeList(); }
+    public double[] getLatestScaledFeatureVector() { return Arrays.copyOf(latestScaledFeature, latestScaledFeature.length); }
+
+    // Primitive views for model training; callers must not modify the arrays.
+    public BarSeries getSeries() { return series; }
+    public BarSeries getHistory() { return history; }
+    public BarSeries getTrainSeries() { return trainSeries; }
+    public BarSeries getTestSeries() { return testSeries; }
+    public double[][] getScaledTrainMatrix() { return scaledTrainMatrix; }
+    public double[][] getScaledTestMatrix() { return scaledTestMatrix; }
+    // Per-feature training mean/std used to scale the matrices
+    public double[] getFeatureMean() { return scaler.getMean(); }
+    public double[] getFeatureStd() { return scaler.getStd(); }
+
+    /**
+     * @return a copy of the fitted scaler, e.g. to keep updating it with partialFit
+     */
+    public FeatureScaler getScaler() { return scaler.copy(); }
+
+    /**
+     * @return true if the response contained enough records for training
+     */
+    public boolean isEmpty() {
+        return tableRows.isEmpty();
+    }
+}
@@ -0,0 +1,157 @@
+package com.sdm.service;
+
+import com.sdm.model.Bar;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Aggregates ticks into OHLCV bars for several intervals at once and pushes
+ * every completed bar to the registered listeners.
+ *
+ * Each tick updates one forming bar per interval in O(intervals). A bar is
+ * completed when the feed's clock passes its period close (see BarPeriods),
+ * so bars close on time even for symbols that stop trading. Ticks outside
+ * the regular session and late ticks for an already completed period are
+ * dropped, matching the API's regular-hours bars. Listeners run on the
+ * feed's thread while the aggregator is locked and should return quickly.
+ */
+public final class TickAggregator implements QuoteFeed.TickListener {
+
+    /**
+     * Receives completed bars.
+     */
+    @FunctionalInterface
+    public interface BarListener {
+        void onBar(String symbol, String interval, Bar bar);
+    }
+
+    private final String[] intervals;
+    private final BarPeriods[] periods;
+    private final Map<String, FormingBars> symbols = new HashMap<>();
+    private final List<BarListener> listeners = new CopyOnWriteArrayList<>();
+    private long nextClose = Long.MAX_VALUE;
+
+    /**
+     * @param intervals API interval names to build, e.g. "1min", "1h", "1day"
+     */
+    public TickAggregator(final Collection<String> intervals) {
+        if (intervals.isEmpty()) {
+            throw new IllegalArgumentException("At least one interval is required");
+        }
+        this.intervals = intervals.toArray(new String[0]);
+        this.periods = new BarPeriods[this.intervals.length];
+        for (int i = 0; i < periods.length; i++) {
+            periods[i] = BarPeriods.of(this.intervals[i]);
+        }
+    }
+
+    public void addListener(final BarListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(final BarListener listener) {
+        listeners.remove(listener);
+    }
+
+    @Override
+    public synchronized void onTick(final String symbol, final long timestamp, final double price, final double volume) {
+        onClock(timestamp);
+        if (!BarPeriods.isInSession(timestamp)) {
+            return;
+        }
+        final FormingBars bars = symbols.computeIfAbsent(symbol, key -> new FormingBars(intervals.length));
+        for (int i = 0; i < intervals.length; i++) {
+            final long start = periods[i].start(timestamp);
+            if (start <= bars.lastCompleted[i]) {
+                continue;
+            }
+            if (bars.active[i] && start > bars.start[i]) {
+                complete(symbol, bars, i);
+            }
+            if (bars.active[i]) {
+                bars.high[i] = Math.max(bars.high[i], price);
+                bars.low[i] = Math.min(bars.low[i], price);
+                bars.close[i] = price;
+                bars.volume[i] += volume;
+            } else {
+                bars.active[i] = true;
+                bars.start[i] = start;
+                bars.closeAt[i] = periods[i].close(start);
+                bars.open[i] = price;
+                bars.high[i] = price;
+                bars.low[i] = price;
+                bars.close[i] = price;
+                bars.volume[i] = volume;
+                nextClose = Math.min(nextClose, bars.closeAt[i]);
+            }
+        }
+    }
+
+    /**
+     * Completes every forming bar whose period closed at or before the timestamp.
+     */
+    @Override
+    public synchronized void onClock(final long timestamp) {
+        if (timestamp < nextClose) {
+            return;
+        }
+        long next = Long.MAX_VALUE;
+        for (final Map.Entry<String, FormingBars> entry : symbols.entrySet()) {
+            final FormingBars bars = entry.getValue();
+            for (int i = 0; i < intervals.length; i++) {
+                if (!bars.active[i]) {
+                    continue;
+                }
+                if (bars.closeAt[i] <= timestamp) {
+                    complete(entry.getKey(), bars, i);
+                } else {
+                    next = Math.min(next, bars.closeAt[i]);
+                }
+            }
+        }
+        nextClose = next;
+    }
+
+    private void complete(final String symbol, final FormingBars bars, final int slot) {
+        bars.active[slot] = false;
+        bars.lastCompleted[slot] = bars.start[slot];
+        final Bar bar = new Bar(bars.start[slot], bars.open[slot], bars.high[slot],
+                bars.low[slot], bars.close[slot], bars.volume[slot]);
+        for (final BarListener listener : listeners) {
+            listener.onBar(symbol, intervals[slot], bar);
+        }
+    }
+
+    /**
+     * Forming bar of one symbol for every interval, one array slot per interval.
+     */
+    private static final class FormingBars {
+        final boolean[] active;
+        final long[] start;
+        final long[] closeAt;
+        final long[] lastCompleted;
+        final double[] open;
+        final double[] high;
+        final double[] low;
+        final double[] close;
+        final double[] volume;
+
+        FormingBars(final int intervalCount) {
+            active = new boolean[intervalCount];
+            start = new long[intervalCount];
+            closeAt = new long[intervalCount];
+            lastCompleted = new long[intervalCount];
+            Arrays.fill(lastCompleted, Long.MIN_VALUE);
+            open = new double[intervalCount];
+            high = new double[intervalCount];
+            low = new double[intervalCount];
+            close = new double[intervalCount];
+            volume = new double[intervalCount];
+        }
+    }
+}
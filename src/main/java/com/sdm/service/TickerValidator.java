@@ -0,0 +1,198 @@
+package com.sdm.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+/**
+ * Validates ticker symbols concurrently and remembers the outcome on disk.
+ *
+ * Each symbol's result is stored with the time it was checked. Symbols checked
+ * within maxAge are answered from the store; only stale or unknown symbols hit
+ * the network, with at most parallelism checks in flight and at most maxChecks
+ * checks per run (a credit budget on top of the shared rate limit). Valid symbols are
+ * handed to the caller as soon as they are known rather than after the whole run.
+ * A check that fails (network error, exhausted quota) records nothing, so the
+ * symbol is checked again on the next run instead of being hidden as invalid.
+ *
+ * Store format (java.util.Properties): SYMBOL=valid|invalid,checked-at epoch millis
+ */
+@SuppressWarnings("PMD.GuardLogStatement")
+public final class TickerValidator {
+
+    private static final Logger LOGGER = Logger.getLogger(TickerValidator.class.getName());
+    private static final String VALID = "valid";
+    private static final String INVALID = "invalid";
+    private static final ThreadFactory THREAD_FACTORY = runnable -> {
+        final Thread thread = new Thread(runnable, "ticker-validation");
+        thread.setDaemon(true);
+        return thread;
+    };
+
+    private final Path storeFile;
+    private final Duration maxAge;
+    private final int parallelism;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * @param storeFile   File holding previous validation results
+     * @param maxAge      How long a stored result is trusted
+     * @param parallelism Maximum number of concurrent checks
+     */
+    public TickerValidator(final Path storeFile, final Duration maxAge, final int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be at least 1");
+        }
+        this.storeFile = storeFile;
+        this.maxAge = maxAge;
+        this.parallelism = parallelism;
+        load();
+    }
+
+    /**
+     * Validates symbols in the given order, passing each valid one to onValid as it is confirmed.
+     * Fresh stored results are reported immediately on the calling thread; the remaining
+     * symbols are checked in the background and the store is saved when they finish.
+     *
+     * @param symbols  Candidate symbols, in priority order
+     * @param check    Network check telling whether the symbol has data (called concurrently)
+     * @param maxValid Stop once this many valid symbols have been reported
+     * @param maxChecks Network checks allowed in this run; further stale symbols wait for a later run
+     * @param onValid  Receives valid symbols (called concurrently)
+     * @return completes once the background checks have finished and been saved
+     */
+    public CompletableFuture<Void> validate(final List<String> symbols, final Check check,
+                                    final int maxValid, final int maxChecks, final Consumer<String> onValid) {
+        final long freshAfter = System.currentTimeMillis() - maxAge.toMillis();
+        final AtomicInteger validCount = new AtomicInteger();
+        final List<String> stale = new ArrayList<>();
+
+        for (final String symbol : symbols) {
+            final Entry entry = entries.get(symbol);
+            if (entry == null || entry.checkedAt <= freshAfter) {
+                if (stale.size() < maxChecks) {
+                    stale.add(symbol);
+                }
+            } else if (entry.valid && validCount.incrementAndGet() <= maxValid) {
+                onValid.accept(symbol);
+            }
+        }
+        LOGGER.info("Ticker validation: " + validCount.get() + " valid from cache, " + stale.size() + " to check");
+
+        final CompletableFuture<Void> done = new CompletableFuture<>();
+        if (stale.isEmpty()) {
+            done.complete(null);
+            return done;
+        }
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, stale.size()), THREAD_FACTORY);
+        final AtomicInteger remaining = new AtomicInteger(stale.size());
+        final AtomicInteger failed = new AtomicInteger();
+        for (final String symbol : stale) {
+            executor.execute(() -> {
+                try {
+                    if (validCount.get() < maxValid) {
+                        final boolean valid = check.hasData(symbol);
+                        entries.put(symbol, new Entry(valid, System.currentTimeMillis()));
+                        if (valid && validCount.incrementAndGet() <= maxValid) {
+                            onValid.accept(symbol);
+                        }
+                    }
+                } catch (IOException e) {
+                    failed.incrementAndGet();
+                    LOGGER.fine("Could not check " + symbol + ": " + e.getMessage());
+                } finally {
+                    if (remaining.decrementAndGet() == 0) {
+                        if (failed.get() > 0) {
+                            LOGGER.warning("Ticker validation: " + failed.get() + " check(s) failed; retrying next run");
+                        }
+                        save();
+                        done.complete(null);
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        return done;
+    }
+
+    private void load() {
+        if (!Files.isRegularFile(storeFile)) {
+            return;
+        }
+        final Properties properties = new Properties();
+        try (InputStream input = Files.newInputStream(storeFile)) {
+            properties.load(input);
+        } catch (IOException e) {
+            LOGGER.warning("Could not read ticker validation store " + storeFile + ": " + e.getMessage());
+            return;
+        }
+        for (final String symbol : properties.stringPropertyNames()) {
+            final String[] parts = properties.getProperty(symbol).split(",", 2);
+            try {
+                entries.put(symbol, new Entry(VALID.equals(parts[0]), Long.parseLong(parts[1])));
+            } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                LOGGER.warning("Ignoring malformed validation entry for " + symbol);
+            }
+        }
+    }
+
+    /**
+     * Writes all known results, atomically replacing the previous store.
+     */
+    synchronized void save() {
+        final Properties properties = new Properties();
+        entries.forEach((symbol, entry) ->
+                properties.setProperty(symbol, (entry.valid ? VALID : INVALID) + "," + entry.checkedAt));
+        try {
+            Files.createDirectories(storeFile.toAbsolutePath().getParent());
+            final Path temp = Files.createTempFile(storeFile.toAbsolutePath().getParent(), storeFile.getFileName().toString(), ".tmp");
+            try (OutputStream output = Files.newOutputStream(temp)) {
+                properties.store(output, "Ticker validation results");
+            }
+            Files.move(temp, storeFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOGGER.warning("Could not save ticker validation store " + storeFile + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Network check for one symbol.
+     */
+    @FunctionalInterface
+    public interface Check {
+        /**
+         * @return true if the symbol has data, false if the source has none for it
+         * @throws IOException if the check itself failed; nothing is recorded for the symbol
+         */
+        boolean hasData(String symbol) throws IOException;
+    }
+
+    /**
+     * Outcome of one check.
+     */
+    private static final class Entry {
+        private final boolean valid;
+        private final long checkedAt;
+
+        Entry(final boolean valid, final long checkedAt) {
+            this.valid = valid;
+            this.checkedAt = checkedAt;
+        }
+    }
+}
@@ -0,0 +1,408 @@
+package com.sdm.service;
+
+import com.sdm.model.BarSeries;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.logging.Logger;
+
+/**
+ * Single-pass pull parser for Twelve Data time_series responses.
+ *
+ * Reads the response through a small fixed buffer and decodes each record of
+ * the "values" array straight into primitive OHLCV columns, without building a
+ * JSON tree, per-record maps or intermediate strings for numbers. Parse cost and
+ * garbage grow linearly with the number of bars.
+ *
+ * Other top-level members ("meta", ...) are skipped. An error response
+ * ("status":"error") throws ApiErrorException with the API's code and
+ * message, except "No data is available", which is an empty series.
+ */
+@SuppressWarnings({"PMD.GuardLogStatement", "PMD.AvoidLiteralsInIfCondition", "PMD.CyclomaticComplexity"})
+public final class TimeSeriesJsonParser {
+
+    private static final Logger LOGGER = Logger.getLogger(TimeSeriesJsonParser.class.getName());
+    private static final int BUFFER_SIZE = 8192;
+    private static final int INITIAL_CAPACITY = 128;
+    // The API reports an empty date range as an error; it is the only one that means "no bars"
+    private static final String NO_DATA_MESSAGE = "No data is available";
+
+    private final Reader reader;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private final StringBuilder token = new StringBuilder(32);
+    private int position;
+    private int limit;
+    private long consumed;
+
+    // Growable output columns
+    private long[] timestamps = new long[INITIAL_CAPACITY];
+    private double[] open = new double[INITIAL_CAPACITY];
+    private double[] high = new double[INITIAL_CAPACITY];
+    private double[] low = new double[INITIAL_CAPACITY];
+    private double[] close = new double[INITIAL_CAPACITY];
+    private double[] volume = new double[INITIAL_CAPACITY];
+    private int count;
+
+    private TimeSeriesJsonParser(final Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Parses a time_series response.
+     *
+     * @param json Response reader (e.g. an OkHttp body char stream); not closed by this method
+     * @return Bars ordered oldest first; empty if the API has no bars for the query
+     * @throws ApiErrorException if the response is an API error
+     * @throws IOException if the input cannot be read, is not valid JSON or has no "values"
+     */
+    public static BarSeries parse(final Reader json) throws IOException {
+        return new TimeSeriesJsonParser(json).parseRoot();
+    }
+
+    /**
+     * Convenience overload for an in-memory response.
+     */
+    public static BarSeries parse(final String json) throws IOException {
+        return parse(new StringReader(json));
+    }
+
+    private BarSeries parseRoot() throws IOException {
+        expect('{');
+        boolean hasValues = false;
+        boolean error = false;
+        int code = 0;
+        String message = null;
+        if (peekSignificant() == '}') {
+            next();
+        } else {
+            do {
+                readString();
+                expect(':');
+                if (contentEquals("values")) {
+                    hasValues = true;
+                    parseValues();
+                } else if (contentEquals("message") && peekSignificant() == '"') {
+                    readString();
+                    message = token.toString();
+                } else if (contentEquals("status") && peekSignificant() == '"') {
+                    readString();
+                    error = contentEquals("error");
+                } else if (contentEquals("code")) {
+                    code = (int) readNumber();
+                } else {
+                    skipValue();
+                }
+            } while (nextMemberOrEnd('}'));
+        }
+
+        if (error) {
+            if (message != null && message.startsWith(NO_DATA_MESSAGE)) {
+                return BarSeries.empty();
+            }
+            throw new ApiErrorException(code, message == null ? "no message" : message);
+        }
+        if (!hasValues) {
+            throw new IOException("Invalid API response: missing 'values' field");
+        }
+        if (count == 0) {
+            LOGGER.warning("API returned empty 'values' array.");
+        }
+        return toOldestFirst();
+    }
+
+    private void parseValues() throws IOException {
+        expect('[');
+        if (peekSignificant() == ']') {
+            next();
+            return;
+        }
+        do {
+            parseRecord();
+        } while (nextMemberOrEnd(']'));
+    }
+
+    private void parseRecord() throws IOException {
+        ensureCapacity();
+        final int index = count;
+        timestamps[index] = Long.MIN_VALUE;
+        open[index] = Double.NaN;
+        high[index] = Double.NaN;
+        low[index] = Double.NaN;
+        close[index] = Double.NaN;
+        volume[index] = 0;
+
+        expect('{');
+        if (peekSignificant() == '}') {
+            next();
+        } else {
+            do {
+                readString();
+                expect(':');
+                readField(index);
+            } while (nextMemberOrEnd('}'));
+        }
+
+        if (timestamps[index] == Long.MIN_VALUE) {
+            throw new IOException("Record " + index + " has no datetime");
+        }
+        count++;
+    }
+
+    private void readField(final int index) throws IOException {
+        if (contentEquals("datetime")) {
+            readString();
+            timestamps[index] = parseDateTime();
+        } else if (contentEquals("open")) {
+            open[index] = readNumber();
+        } else if (contentEquals("high")) {
+            high[index] = readNumber();
+        } else if (contentEquals("low")) {
+            low[index] = readNumber();
+        } else if (contentEquals("close")) {
+            close[index] = readNumber();
+        } else if (contentEquals("volume")) {
+            volume[index] = readNumber();
+        } else {
+            skipValue();
+        }
+    }
+
+    /**
+     * Reorders the columns oldest first. The API sends newest first, so the
+     * common case is a single in-place reversal; already ascending input is kept.
+     */
+    private BarSeries toOldestFirst() {
+        return BarSeries.ofUnordered(Arrays.copyOf(timestamps, count), Arrays.copyOf(open, count),
+                Arrays.copyOf(high, count), Arrays.copyOf(low, count), Arrays.copyOf(close, count),
+                Arrays.copyOf(volume, count));
+    }
+
+    private void ensureCapacity() {
+        if (count < timestamps.length) {
+            return;
+        }
+        final int capacity = timestamps.length * 2;
+        timestamps = Arrays.copyOf(timestamps, capacity);
+        open = Arrays.copyOf(open, capacity);
+        high = Arrays.copyOf(high, capacity);
+        low = Arrays.copyOf(low, capacity);
+        close = Arrays.copyOf(close, capacity);
+        volume = Arrays.copyOf(volume, capacity);
+    }
+
+    // ---- Value decoding ----
+
+    /**
+     * Converts the datetime in the token buffer ("yyyy-MM-dd" or "yyyy-MM-dd HH:mm:ss")
+     * to epoch seconds without allocating.
+     */
+    private long parseDateTime() throws IOException {
+        try {
+            return ParsingUtils.parseDateTime(token, 0, token.length());
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Unsupported datetime: " + token, e);
+        }
+    }
+
+    /**
+     * Reads a number that is either a bare JSON number or a quoted decimal
+     * string (the API quotes prices). JSON null yields NaN.
+     */
+    private double readNumber() throws IOException {
+        final char first = peekSignificant();
+        if (first == '"') {
+            readString();
+        } else if (first == 'n') {
+            skipValue();
+            return Double.NaN;
+        } else {
+            token.setLength(0);
+            while (true) {
+                final int c = peek();
+                if (c == -1 || c == ',' || c == '}' || c == ']' || Character.isWhitespace(c)) {
+                    break;
+                }
+                token.append((char) c);
+                position++;
+                consumed++;
+            }
+        }
+        return parseDecimal();
+    }
+
+    /**
+     * Decodes the number in the token buffer (see ParsingUtils.parseDecimal);
+     * an empty token yields NaN.
+     */
+    private double parseDecimal() throws IOException {
+        if (token.length() == 0) {
+            return Double.NaN;
+        }
+        try {
+            return ParsingUtils.parseDecimal(token, 0, token.length());
+        } catch (NumberFormatException e) {
+            throw new IOException("Invalid number: " + token, e);
+        }
+    }
+
+    // ---- Tokenizer ----
+
+    private boolean contentEquals(final String expected) {
+        if (token.length() != expected.length()) {
+            return false;
+        }
+        for (int i = 0; i < expected.length(); i++) {
+            if (token.charAt(i) != expected.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Reads a JSON string into the reusable token buffer.
+     */
+    private void readString() throws IOException {
+        expect('"');
+        token.setLength(0);
+        while (true) {
+            final int c = next();
+            if (c == '"') {
+                return;
+            }
+            if (c == '\\') {
+                appendEscape();
+            } else if (c == -1) {
+                throw syntaxError("Unterminated string");
+            } else {
+                token.append((char) c);
+            }
+        }
+    }
+
+    private void appendEscape() throws IOException {
+        final int c = next();
+        switch (c) {
+            case '"', '\\', '/' -> token.append((char) c);
+            case 'b' -> token.append('\b');
+            case 'f' -> token.append('\f');
+            case 'n' -> token.append('\n');
+            case 'r' -> token.append('\r');
+            case 't' -> token.append('\t');
+            case 'u' -> {
+                int code = 0;
+                for (int i = 0; i < 4; i++) {
+                    final int digit = Character.digit(next(), 16);
+                    if (digit < 0) {
+                        throw syntaxError("Invalid unicode escape");
+                    }
+                    code = code * 16 + digit;
+                }
+                token.append((char) code);
+            }
+            default -> throw syntaxError("Invalid escape");
+        }
+    }
+
+    /**
+     * Skips any JSON value, including nested objects and arrays.
+     */
+    private void skipValue() throws IOException {
+        final char c = peekSignificant();
+        if (c == '"') {
+            readString();
+        } else if (c == '{' || c == '[') {
+            int depth = 0;
+            do {
+                final int d = next();
+                if (d == '"') {
+                    position--;
+                    consumed--;
+                    readString();
+                } else if (d == '{' || d == '[') {
+                    depth++;
+                } else if (d == '}' || d == ']') {
+                    depth--;
+                } else if (d == -1) {
+                    throw syntaxError("Unexpected end of input");
+                }
+            } while (depth > 0);
+        } else {
+            while (true) {
+                final int d = peek();
+                if (d == -1 || d == ',' || d == '}' || d == ']' || Character.isWhitespace(d)) {
+                    return;
+                }
+                position++;
+                consumed++;
+            }
+        }
+    }
+
+    /**
+     * After a member or element: consumes ',' (returns true) or the closing bracket (returns false).
+     */
+    private boolean nextMemberOrEnd(final char closing) throws IOException {
+        final char c = peekSignificant();
+        next();
+        if (c == ',') {
+            return true;
+        }
+        if (c == closing) {
+            return false;
+        }
+        throw syntaxError("Expected ',' or '" + closing + "'");
+    }
+
+    private void expect(final char expected) throws IOException {
+        if (peekSignificant() != expected) {
+            throw syntaxError("Expected '" + expected + "'");
+        }
+        next();
+    }
+
+    private char peekSignificant() throws IOException {
+        while (true) {
+            final int c = peek();
+            if (c == -1) {
+                throw syntaxError("Unexpected end of input");
+            }
+            if (!Character.isWhitespace(c)) {
+                return (char) c;
+            }
+            position++;
+            consumed++;
+        }
+    }
+
+    private int peek() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position];
+    }
+
+    private int next() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        consumed++;
+        return buffer[position++];
+    }
+
+    private boolean fill() throws IOException {
+        final int read = reader.read(buffer, 0, buffer.length);
+        if (read <= 0) {
+            return false;
+        }
+        position = 0;
+        limit = read;
+        return true;
+    }
+
+    private IOException syntaxError(final String message) {
+        return new IOException("Malformed time_series JSON near character " + consumed + ": " + message);
+    }
+}
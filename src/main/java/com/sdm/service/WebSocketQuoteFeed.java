@@ -0,0 +1,164 @@
+package com.sdm.service;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.WebSocket;
+import okhttp3.WebSocketListener;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Live price feed over Twelve Data's WebSocket API.
+ *
+ * Subscribes with {"action":"subscribe"} and turns "price" events into ticks;
+ * the per-tick volume is the change of the event's cumulative day_volume. A
+ * clock thread reports the time every second, so bars close on schedule, and
+ * sends the heartbeat the server requires every 10 seconds.
+ *
+ * Malformed messages are skipped. When the connection fails the feed
+ * reconnects with a doubling delay; after MAX_RECONNECTS failures in a row
+ * without a successful open it gives up and stops the clock.
+ */
+@SuppressWarnings("PMD.GuardLogStatement")
+public final class WebSocketQuoteFeed implements QuoteFeed {
+
+    private static final Logger LOGGER = Logger.getLogger(WebSocketQuoteFeed.class.getName());
+    private static final ZoneId MARKET_ZONE = ZoneId.of("America/New_York");
+    private static final int HEARTBEAT_EVERY_SECONDS = 10;
+    private static final int MAX_RECONNECTS = 6;
+    private static final long FIRST_RECONNECT_DELAY_SECONDS = 1;
+
+    private final OkHttpClient client;
+    private final String url;
+    private final String apiKey;
+    private final ScheduledExecutorService clock = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "quote-feed-clock");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // Last cumulative day volume per symbol; touched only by the socket's reader thread
+    private final Map<String, Double> dayVolumes = new HashMap<>();
+    private volatile WebSocket socket;
+    private volatile boolean closed;
+    // Failed connection attempts since the last successful open
+    private volatile int reconnects;
+
+    /**
+     * @param client Client used to open the socket
+     * @param url    WebSocket endpoint, e.g. wss://ws.twelvedata.com/v1/quotes/price
+     * @param apiKey API key appended to the endpoint
+     */
+    public WebSocketQuoteFeed(final OkHttpClient client, final String url, final String apiKey) {
+        this.client = client;
+        this.url = url;
+        this.apiKey = apiKey;
+    }
+
+    @Override
+    public void start(final Collection<String> symbols, final TickListener listener) {
+        connect(symbols, listener);
+
+        final long[] seconds = {0};
+        clock.scheduleAtFixedRate(() -> {
+            listener.onClock(toBarTime(Instant.now().getEpochSecond()));
+            final WebSocket current = socket;
+            if (++seconds[0] % HEARTBEAT_EVERY_SECONDS == 0 && current != null) {
+                current.send("{\"action\":\"heartbeat\"}");
+            }
+        }, 1, 1, TimeUnit.SECONDS);
+    }
+
+    private void connect(final Collection<String> symbols, final TickListener listener) {
+        final Request request = new Request.Builder()
+                .url(url + (url.contains("?") ? "&" : "?") + "apikey=" + apiKey)
+                .build();
+        socket = client.newWebSocket(request, new WebSocketListener() {
+            @Override
+            public void onOpen(final WebSocket webSocket, final Response response) {
+                reconnects = 0;
+                final JSONObject params = new JSONObject().put("symbols", String.join(",", symbols));
+                webSocket.send(new JSONObject().put("action", "subscribe").put("params", params).toString());
+                LOGGER.info("Subscribed to live prices for " + symbols);
+            }
+
+            @Override
+            public void onMessage(final WebSocket webSocket, final String text) {
+                try {
+                    handleMessage(new JSONObject(text), listener);
+                } catch (JSONException e) {
+                    LOGGER.warning("Skipping malformed live price message: " + e.getMessage());
+                }
+            }
+
+            @Override
+            public void onFailure(final WebSocket webSocket, final Throwable failure, final Response response) {
+                if (closed) {
+                    return;
+                }
+                final int attempt = ++reconnects;
+                if (attempt > MAX_RECONNECTS) {
+                    LOGGER.severe("Live price feed failed " + MAX_RECONNECTS + " times in a row, giving up: "
+                            + failure.getMessage());
+                    clock.shutdownNow();
+                    return;
+                }
+                final long delay = FIRST_RECONNECT_DELAY_SECONDS << (attempt - 1);
+                LOGGER.warning("Live price feed failed: " + failure.getMessage() + "; reconnecting in " + delay + "s");
+                try {
+                    clock.schedule(() -> {
+                        if (!closed) {
+                            connect(symbols, listener);
+                        }
+                    }, delay, TimeUnit.SECONDS);
+                } catch (RejectedExecutionException e) {
+                    LOGGER.fine("Live price feed closed before reconnecting");
+                }
+            }
+        });
+    }
+
+    private void handleMessage(final JSONObject message, final TickListener listener) {
+        final String event = message.optString("event", "");
+        if ("subscribe-status".equals(event) && !"ok".equals(message.optString("status", ""))) {
+            LOGGER.warning("Live price subscription failed: " + message);
+        }
+        if (!"price".equals(event)) {
+            return;
+        }
+        final String symbol = message.getString("symbol");
+        final double dayVolume = message.optDouble("day_volume", 0);
+        final Double previous = dayVolumes.put(symbol, dayVolume);
+        // Cumulative volume resets at the start of each trading day
+        final double volume = previous == null ? 0 : dayVolume >= previous ? dayVolume - previous : dayVolume;
+        listener.onTick(symbol, toBarTime(message.getLong("timestamp")), message.getDouble("price"), volume);
+    }
+
+    /**
+     * Epoch seconds to a bar timestamp (New York wall-clock time as epoch seconds).
+     */
+    private static long toBarTime(final long epochSecond) {
+        return epochSecond + MARKET_ZONE.getRules().getOffset(Instant.ofEpochSecond(epochSecond)).getTotalSeconds();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        clock.shutdownNow();
+        final WebSocket current = socket;
+        if (current != null) {
+            current.close(1000, "Stream stopped");
+        }
+    }
+}
@@ -1,25 +1,38 @@
 package com.sdm.utils;
 
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.List;
 
-import java.util.stream.Collectors;
-
 public final class CSVUtils {
 
+    private static final String HEADER = "Date,Open,High,Low,Close,Volume";
+
     // Prevent instantiation
     private CSVUtils() {
         throw new UnsupportedOperationException("Utility class");
     }
 
+    /**
+     * Streams the header and rows to the file through a buffered writer,
+     * without building the whole file in memory first.
+     */
     public static void saveToCSV(final String filename, final List<List<String>> stockData) throws IOException {
-        final List<String> lines = stockData.stream()
-            .map(row -> String.join(",", row))
-            .collect(Collectors.toList());
-
-        lines.add(0, "Date,Open,High,Low,Close,Volume"); // Add CSV header
-        Files.write(Paths.get(filename), lines);
+        try (BufferedWriter writer = Files.newBufferedWriter(Paths.get(filename), StandardCharsets.UTF_8)) {
+            writer.write(HEADER);
+            writer.newLine();
+            for (final List<String> row : stockData) {
+                for (int i = 0; i < row.size(); i++) {
+                    if (i > 0) {
+                        writer.write(',');
+                    }
+                    writer.write(row.get(i));
+                }
+                writer.newLine();
+            }
+        }
     }
 }
@@ -2,6 +2,8 @@ package com.sdm.utils;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Properties;
 import java.util.logging.Logger;
 
@@ -50,6 +52,18 @@ public final class ConfigLoader {
         return PROPERTIES.getProperty("TICKER_API_URL", "https://api.twelvedata.com/symbols");
     }
 
+    /**
+     * Root directory for locally persisted data (bar store, caches).
+     * Defaults to ~/.sdm when data.dir is not configured.
+     */
+    public static Path getDataDirectory() {
+        final String configured = PROPERTIES.getProperty("data.dir");
+        if (configured == null || configured.isBlank()) {
+            return Paths.get(System.getProperty("user.home"), ".sdm");
+        }
+        return Paths.get(configured);
+    }
+
     public static String getProperty(final String key) {
         final String value = PROPERTIES.getProperty(key);
         if (value == null) {
@@ -0,0 +1,41 @@
+package com.sdm.utils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Converts between the API's datetime strings and epoch seconds (UTC).
+ * Daily and longer bars use "yyyy-MM-dd", intraday bars "yyyy-MM-dd HH:mm:ss".
+ */
+public final class DateTimeUtils {
+
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final long SECONDS_PER_DAY = 86_400L;
+
+    private DateTimeUtils() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Parses "yyyy-MM-dd" or "yyyy-MM-dd HH:mm:ss" into epoch seconds.
+     */
+    public static long toEpochSecond(final String datetime) {
+        if (datetime.length() == 10) {
+            return LocalDate.parse(datetime).toEpochDay() * SECONDS_PER_DAY;
+        }
+        return LocalDateTime.parse(datetime, DATE_TIME).toEpochSecond(ZoneOffset.UTC);
+    }
+
+    /**
+     * Formats epoch seconds back into the API's representation.
+     * Midnight timestamps are printed as a plain date.
+     */
+    public static String format(final long epochSecond) {
+        if (Math.floorMod(epochSecond, SECONDS_PER_DAY) == 0) {
+            return LocalDate.ofEpochDay(Math.floorDiv(epochSecond, SECONDS_PER_DAY)).toString();
+        }
+        return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC).format(DATE_TIME);
+    }
+}
@@ -0,0 +1,206 @@
+package com.sdm.utils;
+
+/**
+ * Matrix stored in one flat double[] and addressed through strides: the value
+ * at (row, col) lives at data[offset + row * rowStride + col * colStride].
+ *
+ * Matrices built by the constructor or of() are row-major and own their
+ * storage, so thousands of rows cost one array instead of one object per row.
+ * transpose(), view() and sliceRows() return views over the same storage, and
+ * lags() returns overlapping windows into one column; none of them copy values.
+ * Writes through a view are visible in every matrix sharing the storage.
+ */
+@SuppressWarnings("PMD.ShortMethodName")
+public final class DenseMatrix {
+    private final double[] data;
+    private final int offset;
+    private final int rows;
+    private final int cols;
+    private final int rowStride;
+    private final int colStride;
+
+    /**
+     * Zero-filled row-major matrix.
+     */
+    public DenseMatrix(final int rows, final int cols) {
+        this(new double[checkedSize(rows, cols)], 0, rows, cols, cols, 1);
+    }
+
+    /**
+     * View over existing storage.
+     *
+     * @param data      Backing array
+     * @param offset    Index of the value at (0, 0)
+     * @param rows      Number of rows
+     * @param cols      Number of columns
+     * @param rowStride Distance in data between (r, c) and (r + 1, c)
+     * @param colStride Distance in data between (r, c) and (r, c + 1)
+     */
+    public DenseMatrix(final double[] data, final int offset, final int rows, final int cols,
+                       final int rowStride, final int colStride) {
+        if (offset < 0 || rows < 0 || cols < 0 || rowStride < 0 || colStride < 0) {
+            throw new IllegalArgumentException("Invalid matrix view: offset=" + offset + ", rows=" + rows
+                    + ", cols=" + cols + ", strides=" + rowStride + "/" + colStride);
+        }
+        if (rows > 0 && cols > 0
+                && (long) offset + (long) (rows - 1) * rowStride + (long) (cols - 1) * colStride >= data.length) {
+            throw new IllegalArgumentException("Matrix view exceeds the storage length " + data.length);
+        }
+        this.data = data;
+        this.offset = offset;
+        this.rows = rows;
+        this.cols = cols;
+        this.rowStride = rowStride;
+        this.colStride = colStride;
+    }
+
+    /**
+     * Copies jagged rows into a row-major matrix.
+     *
+     * @throws IllegalArgumentException if the rows differ in length
+     */
+    public static DenseMatrix of(final double[][] rows) {
+        final int cols = rows.length == 0 ? 0 : rows[0].length;
+        final DenseMatrix matrix = new DenseMatrix(rows.length, cols);
+        for (int i = 0; i < rows.length; i++) {
+            if (rows[i].length != cols) {
+                throw new IllegalArgumentException("Row " + i + " has " + rows[i].length + " values, expected " + cols);
+            }
+            System.arraycopy(rows[i], 0, matrix.data, i * cols, cols);
+        }
+        return matrix;
+    }
+
+    /**
+     * Lag matrix for one-step-ahead prediction: row i holds values[i, i + lags)
+     * and is meant to predict values[i + lags], so there are values.length - lags
+     * rows. The rows overlap in the shared column, costing no extra memory.
+     *
+     * @throws IllegalArgumentException if there are not more values than lags
+     */
+    public static DenseMatrix lags(final double[] values, final int lags) {
+        if (lags < 1 || values.length <= lags) {
+            throw new IllegalArgumentException("Need more than " + lags + " values, got " + values.length);
+        }
+        return new DenseMatrix(values, 0, values.length - lags, lags, 1, 1);
+    }
+
+    public int rows() { return rows; }
+    public int cols() { return cols; }
+    public int rowStride() { return rowStride; }
+    public int colStride() { return colStride; }
+
+    /**
+     * Backing storage, for kernels that walk it directly via index().
+     */
+    @SuppressWarnings("PMD.MethodReturnsInternalArray")
+    public double[] data() { return data; }
+
+    /**
+     * @return index in data() of the value at (row, col), without bounds checks
+     */
+    public int index(final int row, final int col) {
+        return offset + row * rowStride + col * colStride;
+    }
+
+    /**
+     * @return the value at (row, col)
+     */
+    public double get(final int row, final int col) {
+        checkIndex(row, col);
+        return data[index(row, col)];
+    }
+
+    public void set(final int row, final int col, final double value) {
+        checkIndex(row, col);
+        data[index(row, col)] = value;
+    }
+
+    /**
+     * True when each row is a contiguous run of data(), as in row-major storage.
+     */
+    public boolean isRowContiguous() {
+        return colStride == 1 || cols <= 1;
+    }
+
+    /**
+     * Zero-copy transposed view.
+     */
+    public DenseMatrix transpose() {
+        return new DenseMatrix(data, offset, cols, rows, colStride, rowStride);
+    }
+
+    /**
+     * Zero-copy view of rows [rowFrom, rowTo) and columns [colFrom, colTo).
+     */
+    public DenseMatrix view(final int rowFrom, final int rowTo, final int colFrom, final int colTo) {
+        if (rowFrom < 0 || rowTo > rows || rowFrom > rowTo || colFrom < 0 || colTo > cols || colFrom > colTo) {
+            throw new IndexOutOfBoundsException("Invalid range [" + rowFrom + ", " + rowTo + ") x ["
+                    + colFrom + ", " + colTo + ") of " + rows + "x" + cols);
+        }
+        final int start = rowTo > rowFrom && colTo > colFrom ? index(rowFrom, colFrom) : offset;
+        return new DenseMatrix(data, start, rowTo - rowFrom, colTo - colFrom, rowStride, colStride);
+    }
+
+    /**
+     * Zero-copy view of rows [from, to).
+     */
+    public DenseMatrix sliceRows(final int from, final int to) {
+        return view(from, to, 0, cols);
+    }
+
+    /**
+     * Copies one row, e.g. to pass it to PredictionModel#predict.
+     */
+    public double[] row(final int row) {
+        if (row < 0 || row >= rows) {
+            throw new IndexOutOfBoundsException("Row " + row + " outside 0.." + (rows - 1));
+        }
+        final double[] copy = new double[cols];
+        if (isRowContiguous()) {
+            System.arraycopy(data, index(row, 0), copy, 0, cols);
+        } else {
+            for (int c = 0; c < cols; c++) {
+                copy[c] = data[index(row, c)];
+            }
+        }
+        return copy;
+    }
+
+    /**
+     * Compact row-major copy that owns its storage.
+     */
+    public DenseMatrix copy() {
+        final DenseMatrix copy = new DenseMatrix(rows, cols);
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                copy.data[r * cols + c] = data[index(r, c)];
+            }
+        }
+        return copy;
+    }
+
+    /**
+     * Materializes the rows, for consumers that need double[][].
+     */
+    public double[][] toArray() {
+        final double[][] copy = new double[rows][];
+        for (int r = 0; r < rows; r++) {
+            copy[r] = row(r);
+        }
+        return copy;
+    }
+
+    private void checkIndex(final int row, final int col) {
+        if (row < 0 || row >= rows || col < 0 || col >= cols) {
+            throw new IndexOutOfBoundsException("(" + row + ", " + col + ") outside " + rows + "x" + cols);
+        }
+    }
+
+    private static int checkedSize(final int rows, final int cols) {
+        if (rows < 0 || cols < 0 || (long) rows * cols > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid matrix size " + rows + "x" + cols);
+        }
+        return rows * cols;
+    }
+}
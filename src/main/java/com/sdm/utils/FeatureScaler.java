@@ -0,0 +1,135 @@
+package com.sdm.utils;
+
+import java.util.Arrays;
+
+/**
+ * Standardizes feature rows to zero mean and unit variance.
+ *
+ * Statistics are accumulated with Welford's online algorithm in one pass over
+ * all columns, so new rows can be folded in with partialFit in O(features)
+ * instead of recomputing over the whole history. The standard deviation is the
+ * population one; a constant feature is only centred, never divided by zero.
+ *
+ * Not thread-safe; callers sharing a scaler synchronize on it.
+ */
+public final class FeatureScaler {
+    private final double[] mean;
+    private final double[] m2;  // sum of squared deviations from the running mean
+    private long count;
+
+    /**
+     * Creates an empty scaler for rows of the given width.
+     */
+    public FeatureScaler(final int featureCount) {
+        this(new double[featureCount], new double[featureCount], 0);
+    }
+
+    private FeatureScaler(final double[] mean, final double[] m2, final long count) {
+        this.mean = mean;
+        this.m2 = m2;
+        this.count = count;
+    }
+
+    /**
+     * Rebuilds a scaler from stored statistics so it can keep learning with partialFit.
+     *
+     * @param count Number of rows the statistics were computed from
+     * @param mean  Per-feature mean
+     * @param std   Per-feature population standard deviation
+     */
+    public static FeatureScaler restore(final long count, final double[] mean, final double[] std) {
+        if (mean.length != std.length || count < 0) {
+            throw new IllegalArgumentException("Invalid scaler statistics");
+        }
+        final double[] m2 = new double[std.length];
+        for (int f = 0; f < std.length; f++) {
+            m2[f] = std[f] * std[f] * count;
+        }
+        return new FeatureScaler(mean.clone(), m2, count);
+    }
+
+    /**
+     * Resets the statistics and fits them to the first rowCount rows.
+     */
+    public FeatureScaler fit(final double[][] rows, final int rowCount) {
+        Arrays.fill(mean, 0);
+        Arrays.fill(m2, 0);
+        count = 0;
+        for (int i = 0; i < rowCount; i++) {
+            partialFit(rows[i]);
+        }
+        return this;
+    }
+
+    /**
+     * Folds one more row into the statistics.
+     */
+    public void partialFit(final double[] row) {
+        checkWidth(row);
+        count++;
+        for (int f = 0; f < mean.length; f++) {
+            final double delta = row[f] - mean[f];
+            mean[f] += delta / count;
+            m2[f] += delta * (row[f] - mean[f]);
+        }
+    }
+
+    /**
+     * Scales the row in place.
+     *
+     * @throws IllegalStateException if nothing has been fitted yet
+     */
+    public void transform(final double[] row) {
+        transform(row, row);
+    }
+
+    /**
+     * Writes the scaled row into out, which may be the row itself.
+     *
+     * @throws IllegalStateException if nothing has been fitted yet
+     */
+    public void transform(final double[] row, final double[] out) {
+        if (count == 0) {
+            throw new IllegalStateException("Scaler has not been fitted");
+        }
+        checkWidth(row);
+        for (int f = 0; f < mean.length; f++) {
+            final double std = Math.sqrt(m2[f] / count);
+            out[f] = std > 0 ? (row[f] - mean[f]) / std : row[f] - mean[f];
+        }
+    }
+
+    /**
+     * Scales every row in place.
+     */
+    public void transformAll(final double[][] rows) {
+        for (final double[] row : rows) {
+            transform(row);
+        }
+    }
+
+    /**
+     * @return an independent scaler with the same statistics
+     */
+    public FeatureScaler copy() {
+        return new FeatureScaler(mean.clone(), m2.clone(), count);
+    }
+
+    public int getFeatureCount() { return mean.length; }
+    public long getCount() { return count; }
+    public double[] getMean() { return mean.clone(); }
+
+    public double[] getStd() {
+        final double[] std = new double[m2.length];
+        for (int f = 0; f < m2.length; f++) {
+            std[f] = count == 0 ? 0 : Math.sqrt(m2[f] / count);
+        }
+        return std;
+    }
+
+    private void checkWidth(final double[] row) {
+        if (row.length != mean.length) {
+            throw new IllegalArgumentException("Expected " + mean.length + " features but got " + row.length);
+        }
+    }
+}
@@ -8,7 +8,12 @@ import java.util.List;
  * - Matrix multiplication
  * - Matrix transposition
  * - Matrix inversion (via Gauss-Jordan elimination)
+ * - Solving linear systems via the factorizations in LinearSolvers
  * - Fitting linear models using Least Squares
+ * - Normal equations formed in one pass over DenseMatrix views (NormalEquations)
+ *
+ * The routines work on flat DenseMatrix storage; the double[][] variants copy
+ * their input into a DenseMatrix once and delegate.
  */
 public final class LinearAlgebraUtils {
 
@@ -16,121 +21,205 @@ public final class LinearAlgebraUtils {
         throw new UnsupportedOperationException("Utility class");
     }
 
-    
+
     /**
      * Transposes a matrix (flips rows and columns)
      */
     public static double[][] transpose(final double[][] matrix) {
-        final int rows = matrix.length;
-        final int cols = matrix[0].length;
-        final double[][] result = new double[cols][rows];
-        for (int i = 0; i < rows; i++) {
-            for (int j = 0; j < cols; j++) {
-                result[j][i] = matrix[i][j];
-            }
-        }
-        return result;
+        return DenseMatrix.of(matrix).transpose().toArray();
     }
 
-    
+
     /**
      * Multiplies two matrices (A * B)
      */
     public static double[][] multiply(final double[][] matrixA, final double[][] matrixB) {
-        final int rows = matrixA.length;
-        final int cols = matrixB[0].length;
-        final int shared = matrixA[0].length;
-        final double[][] result = new double[rows][cols];
+        return multiply(DenseMatrix.of(matrixA), DenseMatrix.of(matrixB)).toArray();
+    }
+
+
+    /**
+     * Multiplies a matrix with a vector (A * x)
+     */
+    public static double[] multiply(final double[][] matrix, final double[] vector) {
+        return multiply(DenseMatrix.of(matrix), vector);
+    }
+
+
+    /**
+     * Inverts a square matrix using Gauss-Jordan elimination.
+     * Assumes matrix is non-singular.
+     */
+    public static double[][] invert(final double[][] matrix) {
+        return invert(DenseMatrix.of(matrix)).toArray();
+    }
+
+
+    /**
+     * Solves for linear regression weights using the Normal Equation:
+     * θ = (XᵀX)^-1 Xᵀy
+     */
+    public static double[] fitLeastSquares(final double[][] features, final List<Double> targets) {
+        final double[] targetValues = new double[targets.size()];
+        for (int i = 0; i < targetValues.length; i++) {
+            targetValues[i] = targets.get(i);
+        }
+        return fitLeastSquares(features, targetValues);
+    }
+
+
+    /**
+     * Primitive variant of fitLeastSquares(double[][], List) that avoids boxing the targets.
+     */
+    public static double[] fitLeastSquares(final double[][] features, final double[] targets) {
+        return fitLeastSquares(DenseMatrix.of(features), targets, false);
+    }
+
+
+    /**
+     * Multiplies two matrices (A * B) into a new row-major matrix. The loops run
+     * i-k-j so the inner loop walks a row of B and a row of the result.
+     */
+    public static DenseMatrix multiply(final DenseMatrix matrixA, final DenseMatrix matrixB) {
+        if (matrixA.cols() != matrixB.rows()) {
+            throw new IllegalArgumentException("Cannot multiply " + matrixA.rows() + "x" + matrixA.cols()
+                    + " by " + matrixB.rows() + "x" + matrixB.cols());
+        }
+        final int rows = matrixA.rows();
+        final int cols = matrixB.cols();
+        final DenseMatrix result = new DenseMatrix(rows, cols);
+        final double[] out = result.data();
+        final double[] dataA = matrixA.data();
+        final double[] dataB = matrixB.data();
+        final int strideB = matrixB.colStride();
         for (int i = 0; i < rows; i++) {
-            for (int j = 0; j < cols; j++) {
-                for (int k = 0; k < shared; k++) {
-                    result[i][j] += matrixA[i][k] * matrixB[k][j];
+            for (int k = 0; k < matrixA.cols(); k++) {
+                final double value = dataA[matrixA.index(i, k)];
+                final int rowB = matrixB.index(k, 0);
+                for (int j = 0; j < cols; j++) {
+                    out[i * cols + j] += value * dataB[rowB + j * strideB];
                 }
             }
         }
         return result;
     }
 
-    
+
     /**
      * Multiplies a matrix with a vector (A * x)
      */
-    public static double[] multiply(final double[][] matrix, final double[] vector) {
-        final int rows = matrix.length;
-        final int cols = vector.length;
-        final double[] result = new double[rows];
-        for (int i = 0; i < rows; i++) {
-            for (int j = 0; j < cols; j++) {
-                result[i] += matrix[i][j] * vector[j];
+    public static double[] multiply(final DenseMatrix matrix, final double[] vector) {
+        if (matrix.cols() != vector.length) {
+            throw new IllegalArgumentException("Expected " + matrix.cols() + " values but got " + vector.length);
+        }
+        final double[] data = matrix.data();
+        final int stride = matrix.colStride();
+        final double[] result = new double[matrix.rows()];
+        for (int i = 0; i < result.length; i++) {
+            final int rowStart = matrix.index(i, 0);
+            double sum = 0;
+            for (int j = 0; j < vector.length; j++) {
+                sum += data[rowStart + j * stride] * vector[j];
             }
+            result[i] = sum;
         }
         return result;
     }
 
-    
+
     /**
-     * Inverts a square matrix using Gauss-Jordan elimination.
-     * Assumes matrix is non-singular.
+     * Inverts a square matrix using Gauss-Jordan elimination on a flat
+     * augmented [A | I] matrix. Assumes matrix is non-singular.
+     * Prefer solve() when the inverse is only multiplied with a vector.
      */
-    public static double[][] invert(final double[][] matrix) {
-        final int matrixSize = matrix.length;
-        final double[][] augmented = new double[matrixSize][2 * matrixSize];
-        for (int i = 0; i < matrixSize; i++) {
-            System.arraycopy(matrix[i], 0, augmented[i], 0, matrixSize);
-            augmented[i][i + matrixSize] = 1;
+    public static DenseMatrix invert(final DenseMatrix matrix) {
+        final int size = matrix.rows();
+        if (matrix.cols() != size) {
+            throw new IllegalArgumentException("Cannot invert a " + size + "x" + matrix.cols() + " matrix");
+        }
+        final int width = 2 * size;
+        final double[] augmented = new double[size * width];
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                augmented[i * width + j] = matrix.data()[matrix.index(i, j)];
+            }
+            augmented[i * width + size + i] = 1;
         }
-        for (int i = 0; i < matrixSize; i++) {
-            final double pivot = augmented[i][i];
-            for (int j = 0; j < 2 * matrixSize; j++) {
-                augmented[i][j] /= pivot;
+        for (int i = 0; i < size; i++) {
+            final int pivotRow = i * width;
+            final double pivot = augmented[pivotRow + i];
+            for (int j = 0; j < width; j++) {
+                augmented[pivotRow + j] /= pivot;
             }
-            for (int k = 0; k < matrixSize; k++) {
+            for (int k = 0; k < size; k++) {
                 if (k != i) {
-                    final double factor = augmented[k][i];
-                    for (int j = 0; j < 2 * matrixSize; j++) {
-                        augmented[k][j] -= factor * augmented[i][j];
+                    final int row = k * width;
+                    final double factor = augmented[row + i];
+                    for (int j = 0; j < width; j++) {
+                        augmented[row + j] -= factor * augmented[pivotRow + j];
                     }
                 }
             }
         }
-        final double[][] inverse = new double[matrixSize][matrixSize];
-        for (int i = 0; i < matrixSize; i++) {
-            System.arraycopy(augmented[i], matrixSize, inverse[i], 0, matrixSize);
-        }
-        return inverse;
+        return new DenseMatrix(augmented, size, size, size, width, 1).copy();
     }
 
-    
+
     /**
-     * Solves for linear regression weights using the Normal Equation:
-     * θ = (XᵀX)^-1 Xᵀy
+     * Least squares weights for any matrix view, e.g. a lag matrix or the
+     * column prefix of a PolynomialDesignMatrix, without materializing it.
+     *
+     * @param bias true to prepend an intercept weight
+     * @return weights, the intercept first when bias is set
      */
-    public static double[] fitLeastSquares(final double[][] features, final List<Double> targets) {
-        final int numSamples = features.length;
-        final int numFeatures = features[0].length;
-        final double[][] xMatrix = new double[numSamples][numFeatures];
-        final double[][] yMatrix = new double[numSamples][1];
-
-        for (int i = 0; i < numSamples; i++) {
-            System.arraycopy(features[i], 0, xMatrix[i], 0, numFeatures);
-            yMatrix[i][0] = targets.get(i);
-        }
+    public static double[] fitLeastSquares(final DenseMatrix features, final double[] targets, final boolean bias) {
+        return NormalEquations.of(features, targets, bias).solve();
+    }
 
-        final double[][] xT = transpose(xMatrix);
-        final double[][] xTx = multiply(xT, xMatrix);
-        final double[][] xTxInv = invert(xTx);
-        final double[][] xTy = multiply(xT, yMatrix);
-        final double[][] theta = multiply(xTxInv, xTy);
 
-        final double[] weights = new double[numFeatures];
-        for (int i = 0; i < numFeatures; i++) {
-            weights[i] = theta[i][0];
-        }
+    /**
+     * Solves a symmetric system such as the normal equations (XᵀX) θ = Xᵀy
+     * by Cholesky factorization, falling back to pivoted elimination when the
+     * matrix is singular, instead of inverting it.
+     */
+    public static double[] solve(final DenseMatrix matrix, final double[] rhs) {
+        return LinearSolvers.solveSymmetric(matrix, rhs);
+    }
 
-        return weights;
+
+    /**
+     * Computes XᵀX, optionally with a leading column of ones, without forming
+     * the transpose (see NormalEquations for the kernel).
+     */
+    public static DenseMatrix gram(final DenseMatrix features, final boolean bias) {
+        return new NormalEquations(features.cols(), bias).accumulate(features, null, 0).xTx();
     }
 
-    
+
+    /**
+     * Computes Xᵀy, optionally with a leading column of ones.
+     */
+    public static double[] transposeMultiply(final DenseMatrix features, final double[] targets, final boolean bias) {
+        if (targets.length != features.rows()) {
+            throw new IllegalArgumentException("Expected " + features.rows() + " targets but got " + targets.length);
+        }
+        final double[] data = features.data();
+        final int stride = features.colStride();
+        final int shift = bias ? 1 : 0;
+        final double[] result = new double[features.cols() + shift];
+        for (int i = 0; i < targets.length; i++) {
+            final int rowStart = features.index(i, 0);
+            if (bias) {
+                result[0] += targets[i];
+            }
+            for (int k = 0; k < features.cols(); k++) {
+                result[shift + k] += data[rowStart + k * stride] * targets[i];
+            }
+        }
+        return result;
+    }
+
+
     /**
      * Computes dot product between two vectors
      */
@@ -0,0 +1,297 @@
+package com.sdm.utils;
+
+/**
+ * Factorization-based solvers used instead of explicit matrix inversion:
+ * - Cholesky for symmetric positive definite systems such as XᵀX (+ λI)
+ * - Householder QR for least squares directly on X, avoiding the squared
+ *   condition number of the normal equations
+ * - Gaussian elimination with partial pivoting as the fallback for
+ *   singular or indefinite systems
+ *
+ * Inputs are never modified; every solver works on a private copy.
+ */
+public final class LinearSolvers {
+    private static final double EPSILON = Math.ulp(1.0);
+
+    private LinearSolvers() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+
+    /**
+     * Solves a symmetric system a * x = b, e.g. normal equations. Uses
+     * Cholesky and falls back to the pivoted solver when a is not
+     * numerically positive definite (collinear or constant columns).
+     */
+    public static double[] solveSymmetric(final DenseMatrix matrix, final double[] rhs) {
+        final Cholesky cholesky = Cholesky.factor(matrix);
+        if (cholesky.size() == matrix.rows()) {
+            return cholesky.solve(rhs, matrix.rows());
+        }
+        return solvePivoted(matrix, rhs);
+    }
+
+
+    /**
+     * Solves a symmetric positive definite system with Cholesky.
+     *
+     * @throws IllegalArgumentException if the matrix is not positive definite
+     */
+    public static double[] solveCholesky(final DenseMatrix matrix, final double[] rhs) {
+        final Cholesky cholesky = Cholesky.factor(matrix);
+        if (cholesky.size() < matrix.rows()) {
+            throw new IllegalArgumentException("Matrix is not positive definite (failed at column "
+                    + cholesky.size() + ")");
+        }
+        return cholesky.solve(rhs, matrix.rows());
+    }
+
+
+    /**
+     * Least squares weights minimizing |X w - y| via Householder QR of X.
+     * Falls back to the pivoted solver on the normal equations when X has
+     * fewer rows than columns or is rank deficient.
+     */
+    public static double[] solveLeastSquares(final DenseMatrix features, final double[] targets) {
+        final int rows = features.rows();
+        final int cols = features.cols();
+        if (targets.length != rows) {
+            throw new IllegalArgumentException("Expected " + rows + " targets but got " + targets.length);
+        }
+        if (rows < cols) {
+            return fallback(features, targets);
+        }
+
+        // Column-major copy so each Householder reflection walks contiguous memory
+        final double[] qr = new double[rows * cols];
+        for (int c = 0; c < cols; c++) {
+            for (int r = 0; r < rows; r++) {
+                qr[c * rows + r] = features.data()[features.index(r, c)];
+            }
+        }
+        final double[] qty = targets.clone();
+        final double[] diagonal = new double[cols];
+        double largest = 0;
+
+        for (int k = 0; k < cols; k++) {
+            final int column = k * rows;
+            double sumSquares = 0;
+            for (int r = k; r < rows; r++) {
+                sumSquares += qr[column + r] * qr[column + r];
+            }
+            final double norm = Math.sqrt(sumSquares);
+            largest = Math.max(largest, norm);
+            if (norm <= EPSILON * rows * largest) {
+                return fallback(features, targets);
+            }
+            // v = x - alpha * e1 with alpha = -sign(x0) * |x|, stored in place of the column
+            final double alpha = qr[column + k] > 0 ? -norm : norm;
+            qr[column + k] -= alpha;
+            final double vNormSquared = -2 * alpha * qr[column + k];
+            diagonal[k] = alpha;
+
+            for (int c = k + 1; c < cols; c++) {
+                reflect(qr, column, k, rows, qr, c * rows, vNormSquared);
+            }
+            reflect(qr, column, k, rows, qty, 0, vNormSquared);
+        }
+
+        // Back substitution with R (upper triangle, diagonal kept separately)
+        final double[] weights = new double[cols];
+        for (int k = cols - 1; k >= 0; k--) {
+            double sum = qty[k];
+            for (int c = k + 1; c < cols; c++) {
+                sum -= qr[c * rows + k] * weights[c];
+            }
+            weights[k] = sum / diagonal[k];
+        }
+        return weights;
+    }
+
+
+    /**
+     * Solves a * x = b with Gaussian elimination and partial pivoting. Columns
+     * without a usable pivot (a is singular) get weight 0, so a rank-deficient
+     * system still yields one finite solution instead of NaN.
+     */
+    public static double[] solvePivoted(final DenseMatrix matrix, final double[] rhs) {
+        final int size = checkSquare(matrix, rhs);
+        final double[] lu = matrix.copy().data();
+        final double[] b = rhs.clone();
+        double scale = 0;
+        for (final double value : lu) {
+            scale = Math.max(scale, Math.abs(value));
+        }
+        final double tolerance = EPSILON * size * scale;
+
+        final int[] pivotColumn = new int[size];
+        int rank = 0;
+        for (int c = 0; c < size && rank < size; c++) {
+            int best = rank;
+            for (int r = rank + 1; r < size; r++) {
+                if (Math.abs(lu[r * size + c]) > Math.abs(lu[best * size + c])) {
+                    best = r;
+                }
+            }
+            if (Math.abs(lu[best * size + c]) <= tolerance) {
+                continue;  // no pivot: column c is a free variable
+            }
+            swapRows(lu, b, size, rank, best);
+            final double pivot = lu[rank * size + c];
+            for (int r = rank + 1; r < size; r++) {
+                final double factor = lu[r * size + c] / pivot;
+                if (factor != 0) {
+                    for (int j = c; j < size; j++) {
+                        lu[r * size + j] -= factor * lu[rank * size + j];
+                    }
+                    b[r] -= factor * b[rank];
+                }
+            }
+            pivotColumn[rank++] = c;
+        }
+
+        final double[] solution = new double[size];
+        for (int i = rank - 1; i >= 0; i--) {
+            final int c = pivotColumn[i];
+            double sum = b[i];
+            for (int j = c + 1; j < size; j++) {
+                sum -= lu[i * size + j] * solution[j];
+            }
+            solution[c] = sum / lu[i * size + c];
+        }
+        return solution;
+    }
+
+
+    /**
+     * Cholesky factor a = L Lᵀ of the leading block of a symmetric matrix that
+     * is numerically positive definite. Because L of a leading block is the
+     * leading block of L, one factor solves every prefix system, e.g. all
+     * polynomial degrees of a graded design matrix.
+     */
+    public static final class Cholesky {
+        private final double[] lower;  // row-major n x n, lower triangle used
+        private final int stride;
+        private final int size;
+
+        private Cholesky(final double[] lower, final int stride, final int size) {
+            this.lower = lower;
+            this.stride = stride;
+            this.size = size;
+        }
+
+        /**
+         * Factors as many leading columns as are positive definite.
+         */
+        public static Cholesky factor(final DenseMatrix matrix) {
+            final int n = checkSquare(matrix, null);
+            final double[] lower = matrix.copy().data();
+            double largest = 0;
+            for (int i = 0; i < n; i++) {
+                largest = Math.max(largest, Math.abs(lower[i * n + i]));
+            }
+            final double tolerance = EPSILON * n * largest;
+
+            for (int j = 0; j < n; j++) {
+                final int rowJ = j * n;
+                double diagonal = lower[rowJ + j];
+                for (int k = 0; k < j; k++) {
+                    diagonal -= lower[rowJ + k] * lower[rowJ + k];
+                }
+                if (!(diagonal > tolerance)) {
+                    return new Cholesky(lower, n, j);
+                }
+                final double root = Math.sqrt(diagonal);
+                lower[rowJ + j] = root;
+                for (int i = j + 1; i < n; i++) {
+                    final int rowI = i * n;
+                    double sum = lower[rowI + j];
+                    for (int k = 0; k < j; k++) {
+                        sum -= lower[rowI + k] * lower[rowJ + k];
+                    }
+                    lower[rowI + j] = sum / root;
+                }
+            }
+            return new Cholesky(lower, n, n);
+        }
+
+        /**
+         * @return number of leading columns that were factored
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Solves the leading count x count system with the first count entries of rhs.
+         */
+        public double[] solve(final double[] rhs, final int count) {
+            if (count > size || count > rhs.length) {
+                throw new IllegalArgumentException("Cannot solve " + count + " columns with a factor of "
+                        + size + " and " + rhs.length + " values");
+            }
+            final double[] x = new double[count];
+            for (int i = 0; i < count; i++) {
+                double sum = rhs[i];
+                for (int k = 0; k < i; k++) {
+                    sum -= lower[i * stride + k] * x[k];
+                }
+                x[i] = sum / lower[i * stride + i];
+            }
+            for (int i = count - 1; i >= 0; i--) {
+                double sum = x[i];
+                for (int k = i + 1; k < count; k++) {
+                    sum -= lower[k * stride + i] * x[k];
+                }
+                x[i] = sum / lower[i * stride + i];
+            }
+            return x;
+        }
+    }
+
+
+    /**
+     * Applies the reflection I - 2 v vᵀ / |v|² (v in column vColumn from row k) to target[offset + k ..].
+     */
+    private static void reflect(final double[] v, final int vColumn, final int k, final int rows,
+                                final double[] target, final int offset, final double vNormSquared) {
+        double dot = 0;
+        for (int r = k; r < rows; r++) {
+            dot += v[vColumn + r] * target[offset + r];
+        }
+        final double factor = 2 * dot / vNormSquared;
+        for (int r = k; r < rows; r++) {
+            target[offset + r] -= factor * v[vColumn + r];
+        }
+    }
+
+    private static double[] fallback(final DenseMatrix features, final double[] targets) {
+        return solvePivoted(LinearAlgebraUtils.gram(features, false),
+                LinearAlgebraUtils.transposeMultiply(features, targets, false));
+    }
+
+    private static void swapRows(final double[] matrix, final double[] rhs, final int size, final int a, final int b) {
+        if (a == b) {
+            return;
+        }
+        for (int j = 0; j < size; j++) {
+            final double temp = matrix[a * size + j];
+            matrix[a * size + j] = matrix[b * size + j];
+            matrix[b * size + j] = temp;
+        }
+        final double temp = rhs[a];
+        rhs[a] = rhs[b];
+        rhs[b] = temp;
+    }
+
+    private static int checkSquare(final DenseMatrix matrix, final double[] rhs) {
+        final int size = matrix.rows();
+        if (matrix.cols() != size) {
+            throw new IllegalArgumentException("Expected a square matrix but got " + size + "x" + matrix.cols());
+        }
+        if (rhs != null && rhs.length != size) {
+            throw new IllegalArgumentException("Expected " + size + " values but got " + rhs.length);
+        }
+        return size;
+    }
+}
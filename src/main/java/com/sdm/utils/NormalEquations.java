@@ -0,0 +1,190 @@
+package com.sdm.utils;
+
+/**
+ * Accumulates the normal equations XᵀX θ = Xᵀy of a least squares fit,
+ * optionally with an implicit leading column of ones (the intercept).
+ *
+ * The kernel streams over X once in blocks of rows: while a block is in cache
+ * it updates the upper triangle of XᵀX tile by tile and then adds the block's
+ * share of Xᵀy, so neither a transpose nor a bias column is ever allocated.
+ * Several row blocks (e.g. the training parts of a cross-validation fold) can
+ * be accumulated into one system. Not thread-safe.
+ */
+public final class NormalEquations {
+    private static final int ROW_BLOCK = 128;  // rows kept in cache while the tiles are updated
+    private static final int COL_BLOCK = 32;   // 32 x 32 output tile fits comfortably in L1
+
+    private final int size;
+    private final int shift;
+    private final double[] xTx;  // row-major size x size, upper triangle only
+    private final double[] xTy;
+
+    /**
+     * @param featureCount Columns of X
+     * @param bias         true to add an intercept column of ones before them
+     */
+    public NormalEquations(final int featureCount, final boolean bias) {
+        if (featureCount < 0) {
+            throw new IllegalArgumentException("featureCount must not be negative");
+        }
+        this.shift = bias ? 1 : 0;
+        this.size = featureCount + shift;
+        this.xTx = new double[size * size];
+        this.xTy = new double[size];
+    }
+
+    /**
+     * Normal equations of one matrix and its targets.
+     */
+    public static NormalEquations of(final DenseMatrix features, final double[] targets, final boolean bias) {
+        if (targets.length != features.rows()) {
+            throw new IllegalArgumentException("Expected " + features.rows() + " targets but got " + targets.length);
+        }
+        return new NormalEquations(features.cols(), bias).accumulate(features, targets, 0);
+    }
+
+    /**
+     * Adds the rows of features, row i paired with targets[targetStart + i].
+     *
+     * @param targets Target values, or null to accumulate XᵀX only
+     * @return this, for chaining
+     */
+    public NormalEquations accumulate(final DenseMatrix features, final double[] targets, final int targetStart) {
+        final int rows = features.rows();
+        if (features.cols() + shift != size) {
+            throw new IllegalArgumentException("Expected " + (size - shift) + " columns but got " + features.cols());
+        }
+        if (targets != null && (targetStart < 0 || (long) targetStart + rows > targets.length)) {
+            throw new IllegalArgumentException("Targets [" + targetStart + ", " + (targetStart + rows)
+                    + ") exceed " + targets.length + " values");
+        }
+        if (rows == 0) {
+            return this;
+        }
+        if (features.rowStride() == 1 && features.colStride() == 1) {
+            addLagGram(features);
+            addMoments(features, 0, rows, targets, targetStart);
+        } else {
+            for (int from = 0; from < rows; from += ROW_BLOCK) {
+                final int to = Math.min(rows, from + ROW_BLOCK);
+                addGramBlock(features, from, to);
+                addMoments(features, from, to, targets, targetStart);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * @return XᵀX as a new symmetric matrix
+     */
+    public DenseMatrix xTx() {
+        final DenseMatrix result = new DenseMatrix(size, size);
+        final double[] out = result.data();
+        for (int j = 0; j < size; j++) {
+            for (int k = j; k < size; k++) {
+                out[j * size + k] = xTx[j * size + k];
+                out[k * size + j] = xTx[j * size + k];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return copy of Xᵀy
+     */
+    public double[] xTy() {
+        return xTy.clone();
+    }
+
+    /**
+     * Solves the accumulated system for the least squares weights.
+     */
+    public double[] solve() {
+        return LinearAlgebraUtils.solve(xTx(), xTy);
+    }
+
+    /**
+     * Symmetric rank-k update of the feature part of XᵀX with rows [from, to),
+     * one output tile at a time so the tile stays in L1 while the rows stream.
+     */
+    private void addGramBlock(final DenseMatrix features, final int from, final int to) {
+        final double[] data = features.data();
+        final int cols = features.cols();
+        final int stride = features.colStride();
+        for (int jb = 0; jb < cols; jb += COL_BLOCK) {
+            final int jEnd = Math.min(cols, jb + COL_BLOCK);
+            for (int kb = jb; kb < cols; kb += COL_BLOCK) {
+                final int kEnd = Math.min(cols, kb + COL_BLOCK);
+                for (int i = from; i < to; i++) {
+                    final int rowStart = features.index(i, 0);
+                    for (int j = jb; j < jEnd; j++) {
+                        final double value = data[rowStart + j * stride];
+                        final int outRow = (shift + j) * size + shift;
+                        for (int k = Math.max(kb, j); k < kEnd; k++) {
+                            xTx[outRow + k] += value * data[rowStart + k * stride];
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds the intercept row of XᵀX and Xᵀy for rows [from, to).
+     */
+    private void addMoments(final DenseMatrix features, final int from, final int to,
+                            final double[] targets, final int targetStart) {
+        if (targets == null && shift == 0) {
+            return;
+        }
+        final double[] data = features.data();
+        final int cols = features.cols();
+        final int stride = features.colStride();
+        for (int i = from; i < to; i++) {
+            final int rowStart = features.index(i, 0);
+            final double target = targets == null ? 0 : targets[targetStart + i];
+            if (shift == 1) {
+                xTx[0] += 1;
+                xTy[0] += target;
+            }
+            for (int k = 0; k < cols; k++) {
+                final double value = data[rowStart + k * stride];
+                if (shift == 1) {
+                    xTx[1 + k] += value;
+                }
+                xTy[shift + k] += value * target;
+            }
+        }
+    }
+
+    /**
+     * Lag matrices (rows one value apart in the same column): each diagonal
+     * entry follows from the one above-left of it by swapping one product,
+     * so the cost is O(rows * cols + cols²) instead of O(rows * cols²).
+     */
+    private void addLagGram(final DenseMatrix features) {
+        final double[] data = features.data();
+        final int rows = features.rows();
+        final int cols = features.cols();
+        final int start = features.index(0, 0);
+        final double[] gram = new double[cols * cols];
+        for (int i = 0; i < rows; i++) {
+            final double first = data[start + i];
+            for (int k = 0; k < cols; k++) {
+                gram[k] += first * data[start + i + k];
+            }
+        }
+        for (int j = 0; j + 1 < cols; j++) {
+            for (int k = j; k + 1 < cols; k++) {
+                gram[(j + 1) * cols + k + 1] = gram[j * cols + k]
+                        - data[start + j] * data[start + k]
+                        + data[start + rows + j] * data[start + rows + k];
+            }
+        }
+        for (int j = 0; j < cols; j++) {
+            for (int k = j; k < cols; k++) {
+                xTx[(shift + j) * size + shift + k] += gram[j * cols + k];
+            }
+        }
+    }
+}
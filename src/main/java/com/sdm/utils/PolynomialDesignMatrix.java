@@ -0,0 +1,52 @@
+package com.sdm.utils;
+
+/**
+ * Polynomial design matrix expanded once at a maximum degree and shared by
+ * fits of every lower degree.
+ *
+ * Columns are ordered by total degree, so the design matrix of degree d is
+ * simply the first columns(d) columns; prefix(d) is a zero-copy view of them
+ * instead of a second expansion of the features.
+ */
+public final class PolynomialDesignMatrix {
+    private final DenseMatrix matrix;
+    private final int[] columns;  // columns[d] = number of terms up to degree d
+
+    /**
+     * @param features  Raw feature rows (read, not modified)
+     * @param maxDegree Highest degree any fit will use
+     */
+    public PolynomialDesignMatrix(final double[][] features, final int maxDegree) {
+        if (maxDegree < 0) {
+            throw new IllegalArgumentException("maxDegree must not be negative");
+        }
+        final int featureCount = features.length == 0 ? 0 : features[0].length;
+        this.matrix = new PolynomialFeatureExpander(maxDegree).expandMatrix(features);
+        this.columns = new int[maxDegree + 1];
+        for (int d = 0; d <= maxDegree; d++) {
+            columns[d] = new PolynomialFeatureExpander(d).termCount(featureCount);
+        }
+    }
+
+    public int maxDegree() {
+        return columns.length - 1;
+    }
+
+    /**
+     * @return width of the degree's design matrix, i.e. the prefix of each row to use
+     */
+    public int columns(final int degree) {
+        if (degree < 0 || degree >= columns.length) {
+            throw new IllegalArgumentException("Degree " + degree + " outside 0.." + maxDegree());
+        }
+        return columns[degree];
+    }
+
+    /**
+     * Design matrix of the given degree as a view of the leading columns;
+     * callers must not modify it.
+     */
+    public DenseMatrix prefix(final int degree) {
+        return matrix.view(0, matrix.rows(), 0, columns(degree));
+    }
+}
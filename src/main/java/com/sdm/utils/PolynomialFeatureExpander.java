@@ -1,76 +1,222 @@
 package com.sdm.utils;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 
 /**
  * this class Expands a vector of input features into polynomial feature combinations
  * up to a specified total degree.
- * 
+ *
  * For example, input [x1, x2] with degree 2 will produce terms like:
  * [1, x1, x2, x1^2, x1*x2, x2^2]
+ *
+ * Terms are ordered by total degree, so the expansion of degree d is a prefix
+ * of the expansion of any higher degree (see PolynomialDesignMatrix).
+ *
+ * The monomials of each (featureCount, degree) pair are compiled once into a
+ * table where every term is an earlier term times one feature, so a row is
+ * expanded with one multiplication per term and no Math.pow or boxing.
  */
 public class PolynomialFeatureExpander {
+    // Compiled tables shared by all expanders, keyed by (featureCount, degree)
+    private static final Map<Long, Terms> TERMS = new ConcurrentHashMap<>();
+
     private final int degree;  // Max degree for polynomial expansion
+    // Table of the last feature count used, so repeated calls skip the shared map
+    private volatile Terms lastTerms;
 
     public PolynomialFeatureExpander(final int degree) {
         this.degree = degree;
     }
 
-    
+
+    /**
+     * @return number of terms (including the constant) a row of featureCount values expands to
+     */
+    public int termCount(final int featureCount) {
+        return terms(featureCount).parent.length;
+    }
+
+    public int getDegree() {
+        return degree;
+    }
+
+
     /**
      * Expands an entire list of input vectors into polynomial features.
      * @param inputs List of input feature arrays
      * @return List of expanded polynomial feature arrays
      */
     public List<double[]> expand(final List<double[]> inputs) {
-        final List<double[]> expanded = new ArrayList<>();
+        final List<double[]> expanded = new ArrayList<>(inputs.size());
         for (final double[] input : inputs) {
             expanded.add(expandSingle(input));
         }
         return expanded;
     }
 
-    
+
+    /**
+     * Expands an array of input rows into polynomial feature rows,
+     * looking up the compiled table once for the whole batch.
+     * @param inputs Input feature rows
+     * @return Expanded polynomial feature rows, one per input row
+     */
+    public double[][] expand(final double[][] inputs) {
+        final double[][] expanded = new double[inputs.length][];
+        if (inputs.length == 0) {
+            return expanded;
+        }
+        final Terms terms = terms(inputs[0].length);
+        for (int i = 0; i < inputs.length; i++) {
+            expanded[i] = new double[terms.parent.length];
+            terms.evaluate(inputs[i], expanded[i], 0);
+        }
+        return expanded;
+    }
+
+
+    /**
+     * Expands input rows into one row-major DenseMatrix, so a large design
+     * matrix is a single allocation.
+     * @param inputs Input feature rows
+     * @return Matrix with one expanded row per input row
+     */
+    public DenseMatrix expandMatrix(final double[][] inputs) {
+        final int featureCount = inputs.length == 0 ? 0 : inputs[0].length;
+        final Terms terms = terms(featureCount);
+        final int width = terms.parent.length;
+        final DenseMatrix expanded = new DenseMatrix(inputs.length, width);
+        for (int i = 0; i < inputs.length; i++) {
+            terms.evaluate(inputs[i], expanded.data(), i * width);
+        }
+        return expanded;
+    }
+
+
     /**
      * Expands a single input feature vector to all polynomial combinations
      * up to the given degree.
-     * 
+     *
      * Example:
      * input = [x, y], degree = 2
-     * returns: [1, x, y, x^2, xy, y^2]
+     * returns: [1, y, x, y^2, xy, x^2]
      */
     public double[] expandSingle(final double[] input) {
-        final List<Double> terms = new ArrayList<>();
-        generateTerms(input, new double[input.length], 0, degree, terms);
-        return terms.stream().mapToDouble(Double::doubleValue).toArray();
+        final double[] expanded = new double[termCount(input.length)];
+        expandInto(input, expanded);
+        return expanded;
     }
 
-    
+
     /**
-     * Recursively generates all combinations of exponents such that the
-     * total degree of the term does not exceed the max degree.
-     * 
-     * Example:
-     * For input = [x1, x2], and degree = 2,
-     * it will generate combinations like [0,0], [1,0], [0,1], [1,1], [2,0], [0,2]
+     * Expands a row into a caller-supplied buffer without allocating.
+     *
+     * @param out Buffer of at least termCount(input.length) values; the first terms are overwritten
+     */
+    public void expandInto(final double[] input, final double[] out) {
+        final Terms terms = terms(input.length);
+        if (out.length < terms.parent.length) {
+            throw new IllegalArgumentException("Buffer holds " + out.length + " values but "
+                    + terms.parent.length + " terms are needed");
+        }
+        terms.evaluate(input, out, 0);
+    }
+
+    private Terms terms(final int featureCount) {
+        Terms terms = lastTerms;
+        if (terms == null || terms.featureCount != featureCount) {
+            terms = TERMS.computeIfAbsent(((long) featureCount << 32) | degree, key -> Terms.compile(featureCount, degree));
+            lastTerms = terms;
+        }
+        return terms;
+    }
+
+
+    /**
+     * Monomial table: term t is term parent[t] times feature variable[t]; term 0 is the constant 1.
      */
-    private void generateTerms(final double[] input, final double[] powers, final int pos, final int degreeLeft, final List<Double> terms) {
-        if (pos == input.length) {
-            // Compute the product of input[i]^powers[i] for all i
-            double product = 1.0;
-            for (int i = 0; i < input.length; i++) {
-                product *= Math.pow(input[i], powers[i]);
+    private static final class Terms {
+        final int featureCount;
+        final int[] parent;
+        final int[] variable;
+
+        private Terms(final int featureCount, final int[] parent, final int[] variable) {
+            this.featureCount = featureCount;
+            this.parent = parent;
+            this.variable = variable;
+        }
+
+        void evaluate(final double[] input, final double[] out, final int base) {
+            out[base] = 1.0;
+            for (int t = 1; t < parent.length; t++) {
+                out[base + t] = out[base + parent[t]] * input[variable[t]];
+            }
+        }
+
+        /**
+         * Enumerates exponent vectors with total degree at most maxDegree, ordered
+         * by total degree and then with the first feature's exponent most
+         * significant, and links each term to the term with its last used
+         * feature's exponent lowered by one (one degree lower, so always earlier).
+         */
+        static Terms compile(final int featureCount, final int maxDegree) {
+            final List<int[]> exponents = new ArrayList<>();
+            generate(new int[featureCount], 0, maxDegree, exponents);
+            // Stable, so the order within a degree does not depend on maxDegree
+            exponents.sort(Comparator.comparingInt(powers -> Arrays.stream(powers).sum()));
+            final Map<List<Integer>, Integer> index = new HashMap<>();
+            for (int t = 0; t < exponents.size(); t++) {
+                index.put(key(exponents.get(t)), t);
             }
-            terms.add(product);
-            return;
+            final int[] parent = new int[exponents.size()];
+            final int[] variable = new int[exponents.size()];
+            for (int t = 1; t < exponents.size(); t++) {
+                final int[] powers = exponents.get(t).clone();
+                int last = powers.length - 1;
+                while (powers[last] == 0) {
+                    last--;
+                }
+                powers[last]--;
+                parent[t] = index.get(key(powers));
+                variable[t] = last;
+            }
+            return new Terms(featureCount, parent, variable);
+        }
+
+        /**
+         * Recursively generates all combinations of exponents such that the
+         * total degree of the term does not exceed the max degree.
+         *
+         * Example:
+         * For input = [x1, x2], and degree = 2,
+         * it will generate combinations like [0,0], [0,1], [0,2], [1,0], [1,1], [2,0]
+         */
+        private static void generate(final int[] powers, final int pos, final int degreeLeft, final List<int[]> out) {
+            if (pos == powers.length) {
+                out.add(powers.clone());
+                return;
+            }
+            // to Try all power combinations for current variable (from 0 to remaining degree)
+            for (int d = 0; d <= degreeLeft; d++) {
+                powers[pos] = d;
+                generate(powers, pos + 1, degreeLeft - d, out);
+            }
+            powers[pos] = 0;
         }
 
-        // to Try all power combinations for current variable (from 0 to remaining degree)
-        for (int d = 0; d <= degreeLeft; d++) {
-            powers[pos] = d;
-            generateTerms(input, powers, pos + 1, degreeLeft - d, terms);
+        private static List<Integer> key(final int[] powers) {
+            final List<Integer> key = new ArrayList<>(powers.length);
+            for (final int power : powers) {
+                key.add(power);
+            }
+            return key;
         }
     }
 }
@@ -0,0 +1,61 @@
+package com.sdm.model;
+
+import com.sdm.utils.DenseMatrix;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("unit")
+class AutoRegressiveModelTest {
+
+    @Test
+    void trainUnivariate_OnArProcess_ShouldRecoverNextValue() {
+        final double[] prices = new double[200];
+        prices[0] = 10;
+        prices[1] = 12;
+        for (int i = 2; i < prices.length; i++) {
+            prices[i] = 0.5 * prices[i - 1] + 0.3 * prices[i - 2] + 4 + Math.sin(i);
+        }
+        final double[] training = Arrays.copyOf(prices, 199);
+        final AutoRegressiveModel model = new AutoRegressiveModel(3);
+
+        model.trainUnivariate(training);
+
+        assertTrue(Math.abs(model.predictNext() - prices[199]) < 1.5, "Prediction should follow the AR process");
+    }
+
+    @Test
+    void trainMatrix_ShouldMatchTrainingOnMaterializedRows() {
+        final double[] prices = new double[80];
+        for (int i = 0; i < prices.length; i++) {
+            prices[i] = 50 + Math.sin(i * 0.4) * 3 + Math.cos(i * 1.3);
+        }
+        final DenseMatrix lags = DenseMatrix.lags(prices, 4);
+        final double[] targets = Arrays.copyOfRange(prices, 4, prices.length);
+        final MultiFeatureLinearRegressionModel windowed = new MultiFeatureLinearRegressionModel();
+        final MultiFeatureLinearRegressionModel materialized = new MultiFeatureLinearRegressionModel();
+        final RidgeRegressionModel ridge = new RidgeRegressionModel(0.5);
+        final RidgeRegressionModel ridgeMaterialized = new RidgeRegressionModel(0.5);
+
+        windowed.trainMatrix(lags, targets);
+        materialized.trainMultivariate(lags.toArray(), targets);
+        ridge.trainMatrix(lags, targets);
+        ridgeMaterialized.trainMultivariate(lags.toArray(), targets);
+
+        final double[] input = lags.row(lags.rows() - 1);
+        assertAll("matrix training",
+            () -> assertEquals(materialized.predict(input), windowed.predict(input), 1e-6, "Linear fits should agree"),
+            () -> assertEquals(ridgeMaterialized.predict(input), ridge.predict(input), 1e-6, "Ridge fits should agree"));
+    }
+
+    @Test
+    void predictNext_WithoutTraining_ShouldThrow() {
+        assertAll("invalid use",
+            () -> assertThrows(IllegalStateException.class, () -> new AutoRegressiveModel(2).predictNext()),
+            () -> assertThrows(IllegalArgumentException.class, () -> new AutoRegressiveModel(3).trainUnivariate(new double[6])),
+            () -> assertThrows(IllegalArgumentException.class, () -> new AutoRegressiveModel(0)));
+    }
+}
@@ -0,0 +1,68 @@
+package com.sdm.model;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("unit")
+class BarRingBufferTest {
+
+    private static void append(final BarRingBuffer buffer, final long timestamp, final double close) {
+        buffer.append(timestamp, close, close, close, close, 100);
+    }
+
+    @Test
+    void append_BeyondCapacity_ShouldOverwriteOldestBars() {
+        final BarRingBuffer buffer = new BarRingBuffer(3);
+        for (int i = 1; i <= 5; i++) {
+            append(buffer, i * 60L, i);
+        }
+
+        final BarSeries series = buffer.toSeries();
+
+        assertAll("wrapped buffer",
+            () -> assertEquals(3, buffer.size(), "Size must stay at capacity"),
+            () -> assertArrayEquals(new long[]{180, 240, 300}, series.timestampColumn(), "Newest bars must be kept oldest first"),
+            () -> assertArrayEquals(new double[]{3.0, 4.0, 5.0}, series.closeColumn(), 0.0, "Columns must wrap together"),
+            () -> assertEquals(180, buffer.getTimestamp(0), "Index 0 must be the oldest retained bar"),
+            () -> assertEquals(300, buffer.getLastTimestamp(), "Last timestamp must be the newest bar"));
+    }
+
+    @Test
+    void append_WithSameTimestamp_ShouldUpdateFormingBarAndIgnoreOlderBars() {
+        final BarRingBuffer buffer = new BarRingBuffer(4);
+        append(buffer, 60, 1.0);
+        append(buffer, 120, 2.0);
+
+        assertAll("out of order bars",
+            () -> assertTrue(buffer.append(120, 2.0, 2.6, 1.9, 2.5, 300), "Re-sent bar must be accepted"),
+            () -> assertFalse(buffer.append(60, 9.0, 9.0, 9.0, 9.0, 9), "Older bar must be ignored"),
+            () -> assertEquals(2, buffer.size(), "Updates must not add bars"),
+            () -> assertEquals(2.5, buffer.getClose(1), 0.0, "Forming bar must be replaced"),
+            () -> assertEquals(1.0, buffer.getClose(0), 0.0, "Older bar must be untouched"));
+    }
+
+    @Test
+    void appendAll_ShouldSkipAlreadyBufferedBars() {
+        final BarRingBuffer buffer = new BarRingBuffer(10);
+        append(buffer, 60, 1.0);
+        append(buffer, 120, 2.0);
+        final double[] close = {1.0, 2.2, 3.0};
+        final BarSeries delta = new BarSeries(new long[]{60, 120, 180}, close, close, close, close, close);
+
+        assertAll("delta append",
+            () -> assertEquals(2, buffer.appendAll(delta), "Only the re-sent and new bars must be applied"),
+            () -> assertArrayEquals(new double[]{1.0, 2.2, 3.0}, buffer.toSeries().closeColumn(), 0.0, "Buffer must hold merged bars"));
+    }
+
+    @Test
+    void emptyBuffer_ShouldRejectInvalidAccess() {
+        final BarRingBuffer buffer = new BarRingBuffer(2);
+        assertAll("empty buffer",
+            () -> assertTrue(buffer.toSeries().isEmpty(), "Empty buffer must convert to an empty series"),
+            () -> assertThrows(IllegalStateException.class, buffer::getLastTimestamp),
+            () -> assertThrows(IndexOutOfBoundsException.class, () -> buffer.getClose(0)),
+            () -> assertThrows(IllegalArgumentException.class, () -> new BarRingBuffer(0)));
+    }
+}
@@ -0,0 +1,111 @@
+package com.sdm.model;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("unit")
+class BarSeriesTest {
+
+    private static BarSeries series(final long[] timestamps, final double[] close) {
+        return new BarSeries(timestamps, close.clone(), close.clone(), close.clone(), close, close.clone());
+    }
+
+    @Test
+    void mergeNewer_ShouldAppendOnlyNewerBarsAndReplaceResentLastBar() {
+        final BarSeries stored = series(new long[]{100, 200, 300}, new double[]{1.0, 2.0, 3.0});
+        final BarSeries delta = series(new long[]{300, 400}, new double[]{3.5, 4.0});
+
+        final BarSeries merged = stored.mergeNewer(delta);
+
+        assertArrayEquals(new long[]{100, 200, 300, 400}, merged.timestampColumn(), "Re-sent bar must not be duplicated");
+        assertArrayEquals(new double[]{1.0, 2.0, 3.5, 4.0}, merged.closeColumn(), 0.0, "Re-sent bar must be updated");
+        assertEquals(400, merged.getLastTimestamp());
+    }
+
+    @Test
+    void mergeNewer_WithEmptyDelta_ShouldReturnSameSeries() {
+        final BarSeries stored = series(new long[]{100, 200}, new double[]{1.0, 2.0});
+        assertSame(stored, stored.mergeNewer(BarSeries.empty()));
+    }
+
+    @Test
+    void constructor_WithMismatchedColumns_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class,
+            () -> new BarSeries(new long[]{1, 2}, new double[1], new double[2], new double[2], new double[2], new double[2]));
+    }
+
+    @Test
+    void getLastTimestamp_OnEmptySeries_ShouldThrow() {
+        assertThrows(IllegalStateException.class, () -> BarSeries.empty().getLastTimestamp());
+    }
+
+    @Test
+    void slice_ShouldShareBarsWithoutCopying() {
+        final BarSeries whole = series(new long[]{100, 200, 300, 400, 500}, new double[]{1.0, 2.0, 3.0, 4.0, 5.0});
+
+        final BarSeries test = whole.slice(3, 5);
+
+        assertAll("slice view",
+            () -> assertEquals(2, test.size(), "Slice size should be to - from"),
+            () -> assertEquals(400, test.getTimestamp(0), "Slice should start at from"),
+            () -> assertEquals(500, test.getLastTimestamp(), "Slice should end before to"),
+            () -> assertArrayEquals(new double[]{4.0, 5.0}, test.closeColumn(), 0.0, "Close column should cover the slice only"),
+            () -> assertEquals(java.util.List.of(4.0, 5.0), test.closeList(), "List view should match the slice"),
+            () -> assertThrows(IndexOutOfBoundsException.class, () -> test.getClose(2), "Reads past the slice must fail"));
+    }
+
+    @Test
+    void tail_ShouldKeepNewestBarsAndMergeRelativeToView() {
+        final BarSeries whole = series(new long[]{100, 200, 300}, new double[]{1.0, 2.0, 3.0});
+
+        final BarSeries newest = whole.tail(2);
+        final BarSeries merged = newest.mergeNewer(series(new long[]{400}, new double[]{4.0}));
+
+        assertAll("tail view",
+            () -> assertArrayEquals(new long[]{200, 300}, newest.timestampColumn(), "Tail should keep the newest bars"),
+            () -> assertArrayEquals(new long[]{200, 300, 400}, merged.timestampColumn(), "Merge should start from the view"),
+            () -> assertEquals(3, whole.tail(10).size(), "Tail longer than the series should return all bars"));
+    }
+
+    @Test
+    void stitch_ShouldOrderPagesAndDropOverlappingBars() {
+        final BarSeries newest = series(new long[]{300, 400, 500}, new double[]{3.0, 4.0, 5.0});
+        final BarSeries oldest = series(new long[]{100, 200, 300}, new double[]{1.0, 2.0, 3.0});
+
+        final BarSeries stitched = BarSeries.stitch(java.util.List.of(newest, BarSeries.empty(), oldest));
+
+        assertAll("stitched pages",
+            () -> assertArrayEquals(new long[]{100, 200, 300, 400, 500}, stitched.timestampColumn(), "Overlap should appear once"),
+            () -> assertArrayEquals(new double[]{1.0, 2.0, 3.0, 4.0, 5.0}, stitched.closeColumn(), 0.0, "Values should follow their bars"));
+    }
+
+    @Test
+    void ofUnordered_ShouldReverseDescendingAndStablySortShuffledRows() {
+        final BarSeries descending = BarSeries.ofUnordered(new long[]{300, 200, 100}, new double[]{3, 2, 1},
+                new double[3], new double[3], new double[]{3, 2, 1}, new double[3]);
+        final BarSeries shuffled = BarSeries.ofUnordered(new long[]{-50, 200, 100, 200, 1_700_000_000L},
+                new double[5], new double[5], new double[5], new double[]{1, 2, 3, 4, 5}, new double[5]);
+
+        assertAll("ordering",
+            () -> assertArrayEquals(new long[]{100, 200, 300}, descending.timestampColumn(), "Descending rows should be reversed"),
+            () -> assertArrayEquals(new double[]{1, 2, 3}, descending.openColumn(), 0.0, "Fields should follow their rows"),
+            () -> assertArrayEquals(new long[]{-50, 100, 200, 200, 1_700_000_000L}, shuffled.timestampColumn(), "Rows should be sorted"),
+            () -> assertArrayEquals(new double[]{1, 3, 2, 4, 5}, shuffled.closeColumn(), 0.0, "Equal timestamps should keep their order"));
+    }
+
+    @Test
+    void between_ShouldBinarySearchInclusiveRangeWithinView() {
+        final BarSeries view = series(new long[]{100, 200, 300, 400, 500}, new double[]{1, 2, 3, 4, 5}).slice(1, 5);
+
+        assertAll("range queries",
+            () -> assertEquals(0, view.indexAtOrAfter(150), "Search should be relative to the view"),
+            () -> assertEquals(2, view.indexAtOrAfter(400), "Exact matches should be found"),
+            () -> assertEquals(3, view.indexAfter(400), "indexAfter should skip an exact match"),
+            () -> assertEquals(4, view.indexAfter(Long.MAX_VALUE), "Open end should cover every bar"),
+            () -> assertArrayEquals(new long[]{300, 400}, view.between(250, 400).timestampColumn(), "Bounds should be inclusive"),
+            () -> assertTrue(view.between(410, 420).isEmpty(), "Gaps should give an empty view"),
+            () -> assertTrue(view.between(500, 100).isEmpty(), "Inverted ranges should give an empty view"));
+    }
+}
@@ -0,0 +1,100 @@
+package com.sdm.service;
+
+import com.sdm.model.BarSeries;
+import com.sdm.utils.DateTimeUtils;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("unit")
+class BarResamplerTest {
+
+    public BarResamplerTest() {}
+
+    /**
+     * Weekday daily bars from start to end inclusive; close = day of month, volume = 1.
+     */
+    private static BarSeries dailyBars(final LocalDate start, final LocalDate end) {
+        final int maxDays = (int) (end.toEpochDay() - start.toEpochDay()) + 1;
+        final long[] timestamps = new long[maxDays];
+        final double[] open = new double[maxDays];
+        final double[] high = new double[maxDays];
+        final double[] low = new double[maxDays];
+        final double[] close = new double[maxDays];
+        final double[] volume = new double[maxDays];
+        int count = 0;
+        for (LocalDate day = start; !day.isAfter(end); day = day.plusDays(1)) {
+            if (day.getDayOfWeek() == DayOfWeek.SATURDAY || day.getDayOfWeek() == DayOfWeek.SUNDAY) {
+                continue;
+            }
+            timestamps[count] = DateTimeUtils.toEpochSecond(day.toString());
+            open[count] = day.getDayOfMonth() - 0.5;
+            high[count] = day.getDayOfMonth() + 1;
+            low[count] = day.getDayOfMonth() - 1;
+            close[count] = day.getDayOfMonth();
+            volume[count] = 1;
+            count++;
+        }
+        return new BarSeries(timestamps, open, high, low, close, volume).slice(0, count);
+    }
+
+    @Test
+    void testDailyBarsResampleIntoMondayDatedWeeks() {
+        // Wed 2024-01-03 .. Fri 2024-01-19: a partial week then two full ones
+        final BarSeries weekly = BarResampler.resample(dailyBars(LocalDate.of(2024, 1, 3), LocalDate.of(2024, 1, 19)), "1week");
+
+        assertAll("weekly bars",
+            () -> assertEquals(3, weekly.size(), "Three calendar weeks are covered"),
+            () -> assertEquals("2024-01-01", DateTimeUtils.format(weekly.getTimestamp(0)), "Weeks are dated Monday"),
+            () -> assertEquals(2.5, weekly.getOpen(0), 0.0, "Open is the first day's open"),
+            () -> assertEquals(5.0, weekly.getClose(0), 0.0, "Close is Friday's close"),
+            () -> assertEquals(6.0, weekly.getHigh(0), 0.0, "High is the week's highest high"),
+            () -> assertEquals(2.0, weekly.getLow(0), 0.0, "Low is the week's lowest low"),
+            () -> assertEquals(3.0, weekly.getVolume(0), 0.0, "Volume is summed"),
+            () -> assertEquals(5.0, weekly.getVolume(1), 0.0, "A full week sums five days"),
+            () -> assertEquals(19.0, weekly.getClose(weekly.size() - 1), 0.0, "Last week closes on the last day"));
+    }
+
+    @Test
+    void testMonthlyAndCustomPeriods() {
+        final BarSeries daily = dailyBars(LocalDate.of(2023, 11, 1), LocalDate.of(2024, 4, 30));
+
+        final BarSeries monthly = BarResampler.resample(daily, "1month");
+        final BarSeries quarterly = BarResampler.resample(daily, "3month");
+
+        assertAll("calendar periods",
+            () -> assertEquals(6, monthly.size(), "Six months are covered"),
+            () -> assertEquals("2024-02-01", DateTimeUtils.format(monthly.getTimestamp(3)), "Months are dated the 1st"),
+            () -> assertEquals(29.0, monthly.getClose(3), 0.0, "February closes on the 29th"),
+            () -> assertEquals(3, quarterly.size(), "Three quarters are touched"),
+            () -> assertEquals("2023-10-01", DateTimeUtils.format(quarterly.getTimestamp(0)), "Quarters start in Jan/Apr/Jul/Oct"),
+            () -> assertEquals("2024-04-01", DateTimeUtils.format(quarterly.getTimestamp(2)), "Quarters start in Jan/Apr/Jul/Oct"),
+            () -> assertEquals(daily.size(), (int) (quarterly.getVolume(0) + quarterly.getVolume(1) + quarterly.getVolume(2)),
+                    "Every daily bar lands in exactly one quarter"));
+    }
+
+    @Test
+    void testIntradayBarsResampleFromSessionOpen() {
+        final long open = DateTimeUtils.toEpochSecond("2024-01-02 09:30:00");
+        final int count = 8;
+        final long[] timestamps = new long[count];
+        final double[] close = new double[count];
+        for (int i = 0; i < count; i++) {
+            timestamps[i] = open + i * 300L;
+            close[i] = i;
+        }
+        final BarSeries fiveMinute = new BarSeries(timestamps, close.clone(), close.clone(), close.clone(), close, close.clone());
+
+        final BarSeries tenMinute = BarResampler.resample(fiveMinute, "10min");
+
+        assertAll("10min bars",
+            () -> assertEquals(4, tenMinute.size(), "Pairs of 5min bars form 10min bars"),
+            () -> assertEquals("2024-01-02 09:40:00", DateTimeUtils.format(tenMinute.getTimestamp(1)), "Bars are anchored at 09:30"),
+            () -> assertEquals(3.0, tenMinute.getClose(1), 0.0, "Close is the later bar's close"),
+            () -> assertThrows(IllegalArgumentException.class, () -> BarResampler.resample(fiveMinute, "weekly")));
+    }
+}
@@ -0,0 +1,88 @@
+package com.sdm.service;
+
+import com.sdm.model.BarSeries;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("unit")
+class BarStoreTest {
+
+    // default access: used by JUnit for injecting temporary directory
+    @TempDir
+    Path tempDir;
+
+    private BarSeries sample;
+
+    public BarStoreTest() {}
+
+    @BeforeEach
+    void setup() {
+        sample = new BarSeries(
+            new long[]{1_700_000_000L, 1_700_086_400L, 1_700_172_800L},
+            new double[]{10.0, 11.0, 12.0},
+            new double[]{10.5, 11.5, 12.5},
+            new double[]{9.5, 10.5, 11.5},
+            new double[]{10.2, 11.2, 12.2},
+            new double[]{1000, 2000, 3000}
+        );
+    }
+
+    @Test
+    void testWriteThenReadRoundTrip() throws IOException {
+        final BarStore store = new BarStore(tempDir, Duration.ofMinutes(60));
+        store.write("AAPL", "1day", sample);
+
+        final BarSeries loaded = store.readIfFresh("AAPL", "1day");
+
+        assertNotNull(loaded, "Freshly written series should be served from the store");
+        assertArrayEquals(sample.timestampColumn(), loaded.timestampColumn(), "Timestamps must round-trip");
+        assertArrayEquals(sample.openColumn(), loaded.openColumn(), "Open column must round-trip");
+        assertArrayEquals(sample.closeColumn(), loaded.closeColumn(), "Close column must round-trip");
+        assertArrayEquals(sample.volumeColumn(), loaded.volumeColumn(), "Volume column must round-trip");
+    }
+
+    @Test
+    void testStaleSeriesIsNotServedAsFresh() throws IOException {
+        final BarStore store = new BarStore(tempDir, Duration.ofMinutes(-1));
+        store.write("AAPL", "1day", sample);
+
+        assertAll("Stale series handling",
+            () -> assertNull(store.readIfFresh("AAPL", "1day"), "Stale series must not be served as fresh"),
+            () -> assertNotNull(store.read("AAPL", "1day"), "Stale series should still be readable explicitly")
+        );
+    }
+
+    @Test
+    void testFullHistoryFlagRoundTrips() throws IOException {
+        final BarStore store = new BarStore(tempDir, Duration.ofMinutes(60));
+        store.write("AAPL", "1day", sample, true);
+        store.write("MSFT", "1day", sample);
+
+        assertAll("Full history flag",
+            () -> assertTrue(store.hasFullHistory("AAPL", "1day"), "Flag should be read back"),
+            () -> assertFalse(store.hasFullHistory("MSFT", "1day"), "Plain writes are not full history"),
+            () -> assertFalse(store.hasFullHistory("TSLA", "1day"), "Missing file is not full history"),
+            () -> assertEquals(3, store.read("AAPL", "1day").size(), "Flag must not disturb the bars")
+        );
+    }
+
+    @Test
+    void testMissingAndCorruptFilesReturnNull() throws IOException {
+        final BarStore store = new BarStore(tempDir, Duration.ofMinutes(60));
+        Files.write(store.pathFor("MSFT", "1day"), new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18, 19, 20, 21, 22, 23, 24, 25});
+
+        assertAll("Unreadable files",
+            () -> assertNull(store.read("TSLA", "1day"), "Missing file should return null"),
+            () -> assertNull(store.read("MSFT", "1day"), "Corrupt file should return null")
+        );
+    }
+}
@@ -0,0 +1,61 @@
+package com.sdm.service;
+
+import com.sdm.utils.PolynomialDesignMatrix;
+import com.sdm.utils.PolynomialFeatureExpander;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("unit")
+class CrossValidatorTest {
+
+    public CrossValidatorTest() {}
+
+    private static double[][] features(final int count) {
+        final double[][] rows = new double[count][];
+        for (int i = 0; i < count; i++) {
+            rows[i] = new double[]{Math.sin(i * 0.7), Math.cos(i * 0.3), (i % 7) / 7.0};
+        }
+        return rows;
+    }
+
+    private static double[] targets(final double[][] rows) {
+        final double[] targets = new double[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            final double[] x = rows[i];
+            targets[i] = 1 + 2 * x[0] - x[1] + 0.5 * x[0] * x[2] + 0.1 * Math.sin(i * 1.3);
+        }
+        return targets;
+    }
+
+    @Test
+    void testDesignPrefixMatchesLowerDegreeExpansion() {
+        final double[][] rows = features(10);
+        final PolynomialDesignMatrix design = new PolynomialDesignMatrix(rows, 3);
+
+        for (int degree = 0; degree <= 3; degree++) {
+            final double[] expected = new PolynomialFeatureExpander(degree).expandSingle(rows[4]);
+            final double[] prefix = design.prefix(degree).row(4);
+            assertArrayEquals(expected, prefix, 0.0, "Degree " + degree + " should be a column prefix");
+        }
+        assertAll("bounds",
+            () -> assertEquals(20, design.columns(3), "Three features up to degree 3 give 20 terms"),
+            () -> assertThrows(IllegalArgumentException.class, () -> design.columns(4), "Degree above the maximum"));
+    }
+
+    @Test
+    void testSharedDegreeScoresMatchPerDegreeCrossValidation() {
+        final double[][] rows = features(60);
+        final double[] targets = targets(rows);
+
+        final double[] scores = CrossValidator.crossValidateDegreesR2(new PolynomialDesignMatrix(rows, 3), targets, 5);
+
+        assertAll("scores",
+            () -> assertEquals(4, scores.length, "One score per degree from 0"),
+            () -> assertEquals(CrossValidator.crossValidateR2(rows, targets, 1, 5), scores[1], 1e-8, "Degree 1"),
+            () -> assertEquals(CrossValidator.crossValidateR2(rows, targets, 2, 5), scores[2], 1e-8, "Degree 2"),
+            () -> assertEquals(CrossValidator.crossValidateR2(rows, targets, 3, 5), scores[3], 1e-8, "Degree 3"),
+            () -> assertTrue(scores[2] > scores[1], "The interaction term should help degree 2"));
+    }
+}
@@ -0,0 +1,100 @@
+package com.sdm.service;
+
+import com.sdm.model.BarSeries;
+import com.sdm.utils.CSVUtils;
+import com.sdm.utils.DateTimeUtils;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("unit")
+class CsvBarImporterTest {
+
+    // default access: used by JUnit for injecting temporary directory
+    @TempDir
+    Path tempDir;
+
+    public CsvBarImporterTest() {}
+
+    @Test
+    void testImportsSavedCsvOldestFirst() throws IOException {
+        final Path file = tempDir.resolve("saved.csv");
+        CSVUtils.saveToCSV(file.toString(), List.of(
+                List.of("2024-01-04", "3.00", "3.50", "2.50", "3.25", "300"),
+                List.of("2024-01-03", "2.00", "2.50", "1.50", "2.25", "200"),
+                List.of("2024-01-02", "1.00", "1.50", "0.50", "1.25", "100")));
+
+        final BarSeries series = CsvBarImporter.importFile(file);
+
+        assertAll("saved file",
+            () -> assertEquals(3, series.size(), "All rows should be imported"),
+            () -> assertEquals(DateTimeUtils.toEpochSecond("2024-01-02"), series.getTimestamp(0), "Latest-first rows should be reversed"),
+            () -> assertArrayEquals(new double[]{1.25, 2.25, 3.25}, series.closeColumn(), 0.0, "Closes should follow the dates"),
+            () -> assertEquals(300.0, series.getVolume(2), 0.0, "Volume should be parsed"));
+    }
+
+    @Test
+    void testVendorLayoutWithQuotesCrLfAndExtraColumns() throws IOException {
+        final Path file = tempDir.resolve("vendor.csv");
+        Files.writeString(file, "Symbol,\"Datetime\",Volume,Close,Low,High,Open\r\n"
+                + "AAPL,\"2024-01-02 09:35:00\",1e3,-0.5,\"1.125\",7,2\r\n"
+                + "\r\n"
+                + "AAPL,2024-01-02 09:30:00,10,0.1,0.2,0.3,0.4\r\n");
+
+        final BarSeries series = CsvBarImporter.importFile(file);
+
+        assertAll("vendor file",
+            () -> assertEquals(2, series.size(), "Blank lines should be skipped"),
+            () -> assertEquals("2024-01-02 09:30:00", DateTimeUtils.format(series.getTimestamp(0)), "Datetimes should be parsed"),
+            () -> assertEquals(0.4, series.getOpen(0), 0.0, "Columns should be found by name"),
+            () -> assertEquals(1000.0, series.getVolume(1), 0.0, "Exponents should fall back to the JDK parser"),
+            () -> assertEquals(-0.5, series.getClose(1), 0.0, "Negative numbers should be parsed"),
+            () -> assertEquals(1.125, series.getLow(1), 0.0, "Quoted numbers should be parsed"));
+    }
+
+    @Test
+    void testParallelImportMatchesSequentialImport() throws IOException {
+        final Path file = tempDir.resolve("large.csv");
+        final int rows = 60_000;
+        final long start = DateTimeUtils.toEpochSecond("2020-01-01 09:30:00");
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("Date,Open,High,Low,Close,Volume\n");
+            for (int i = 0; i < rows; i++) {
+                final double price = 100 + i * 0.01;
+                writer.write(DateTimeUtils.format(start + i * 60L) + "," + price + "," + (price + 0.5) + ","
+                        + (price - 0.5) + "," + price + "," + (i * 7) + "\n");
+            }
+        }
+
+        final BarSeries sequential = CsvBarImporter.importFile(file, 1);
+        final BarSeries parallel = CsvBarImporter.importFile(file, 4);
+
+        assertAll("chunked import",
+            () -> assertEquals(rows, parallel.size(), "Every row should be imported exactly once"),
+            () -> assertArrayEquals(sequential.timestampColumn(), parallel.timestampColumn(), "Chunks should be joined in file order"),
+            () -> assertArrayEquals(sequential.closeColumn(), parallel.closeColumn(), 0.0, "Values should not depend on chunking"),
+            () -> assertEquals(Double.parseDouble(String.valueOf(100 + 12_345 * 0.01)), parallel.getClose(12_345), 0.0,
+                    "Decimals should be parsed exactly"));
+    }
+
+    @Test
+    void testMalformedRowOrMissingColumnThrows() throws IOException {
+        final Path missing = tempDir.resolve("missing.csv");
+        Files.writeString(missing, "Date,Open,High,Low,Close\n2024-01-02,1,1,1,1\n");
+        final Path malformed = tempDir.resolve("malformed.csv");
+        Files.writeString(malformed, "Date,Open,High,Low,Close,Volume\n2024-01-02,1,1,1,abc,5\n");
+
+        assertAll("invalid files",
+            () -> assertThrows(IOException.class, () -> CsvBarImporter.importFile(missing), "Missing volume column"),
+            () -> assertThrows(IOException.class, () -> CsvBarImporter.importFile(malformed), "Unparseable close"));
+    }
+}
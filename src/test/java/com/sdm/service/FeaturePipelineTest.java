@@ -0,0 +1,85 @@
+package com.sdm.service;
+
+import com.sdm.model.BarSeries;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("unit")
+class FeaturePipelineTest {
+
+    private static final String ALL = "sma:3,ema:3,rsi:2,macd:2:4:2,bbwidth:3:2,atr:2,return:1,return:2";
+
+    public FeaturePipelineTest() {}
+
+    private static BarSeries bars(final int count) {
+        final long[] timestamps = new long[count];
+        final double[] open = new double[count];
+        final double[] high = new double[count];
+        final double[] low = new double[count];
+        final double[] close = new double[count];
+        final double[] volume = new double[count];
+        for (int i = 0; i < count; i++) {
+            timestamps[i] = 86_400L * i;
+            close[i] = 100 + 10 * Math.sin(i * 0.3);
+            open[i] = close[i] - 0.5;
+            high[i] = close[i] + 1;
+            low[i] = close[i] - 1;
+            volume[i] = 1000 + i;
+        }
+        return new BarSeries(timestamps, open, high, low, close, volume);
+    }
+
+    @Test
+    void testIndicatorValuesMatchTextbookDefinitions() {
+        final BarSeries series = new BarSeries(new long[]{1, 2, 3, 4}, new double[4], new double[]{11, 13, 12, 15},
+                new double[]{9, 10, 10, 12}, new double[]{10, 12, 11, 14}, new double[]{1, 1, 1, Math.E});
+
+        final double[][] rows = new FeaturePipeline(ALL, 10).compute(series).rows(4);
+        final double[] last = rows[3];
+
+        assertAll("indicator values",
+            () -> assertEquals(12, rows[0].length, "Base features plus eight indicators"),
+            () -> assertEquals(1.0, last[3], 1e-12, "Volume should be log scaled"),
+            () -> assertEquals((12 + 11 + 14) / 3.0, last[4], 1e-12, "SMA should average the last period closes"),
+            () -> assertEquals(10 + 0.5 * (12 - 10), rows[1][5], 1e-12, "EMA should be seeded with the first close"),
+            () -> assertEquals(100 - 100 / (1 + 2 / 0.25), last[6], 1e-9, "RSI should use Wilder smoothing"),
+            () -> assertEquals(50, rows[0][6], 0.0, "RSI should start neutral"),
+            () -> assertEquals(3.125, last[9], 1e-12, "ATR should include gaps from the previous close"),
+            () -> assertEquals(14.0 / 11 - 1, last[10], 1e-12, "One-bar return"),
+            () -> assertEquals(14.0 / 12 - 1, last[11], 1e-12, "Two-bar return"),
+            () -> assertEquals(0, rows[1][11], 0.0, "Returns should be 0 until enough bars exist"));
+    }
+
+    @Test
+    void testAppendingBarsMatchesFullRecompute() {
+        final BarSeries series = bars(300);
+        final FeaturePipeline streamed = new FeaturePipeline(ALL, 50).compute(series.slice(0, 120));
+        for (int i = 120; i < series.size(); i++) {
+            streamed.append(series.getTimestamp(i), series.getOpen(i), series.getHigh(i), series.getLow(i),
+                    series.getClose(i), series.getVolume(i));
+        }
+        final FeaturePipeline computed = new FeaturePipeline(ALL, 50).compute(series);
+
+        final double[][] expected = computed.rows(50);
+        final double[][] actual = streamed.rows(50);
+        assertAll("streaming",
+            () -> assertTrue(streamed.size() >= 50 && streamed.size() <= 100, "Old rows should be dropped in bulk"),
+            () -> assertEquals(series.getLastTimestamp(), streamed.getLastTimestamp(), "Last timestamp should follow appends"),
+            () -> assertArrayEquals(expected[0], actual[0], 1e-9, "Oldest kept row should match"),
+            () -> assertArrayEquals(expected[49], actual[49], 1e-9, "Newest row should match"),
+            () -> assertThrows(IllegalArgumentException.class,
+                    () -> streamed.append(series.getLastTimestamp(), 1, 1, 1, 1, 1), "Bars must be newer"));
+    }
+
+    @Test
+    void testSpecValidation() {
+        assertAll("specs",
+            () -> assertEquals(4, new FeaturePipeline(" ", 5).width(), "Blank spec gives the base features"),
+            () -> assertEquals(6, new FeaturePipeline("SMA, rsi", 5).width(), "Defaults and case should be accepted"),
+            () -> assertThrows(IllegalArgumentException.class, () -> new FeaturePipeline("vwap:5", 5), "Unknown indicator"),
+            () -> assertThrows(IllegalArgumentException.class, () -> new FeaturePipeline("sma:0", 5), "Non-positive period"),
+            () -> assertThrows(IllegalArgumentException.class, () -> new FeaturePipeline("ema:x", 5), "Non-numeric period"));
+    }
+}
@@ -0,0 +1,64 @@
+package com.sdm.service;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("unit")
+class HttpCachePolicyTest {
+
+    private static final ZoneId NEW_YORK = ZoneId.of("America/New_York");
+
+    public HttpCachePolicyTest() {}
+
+    private static ZonedDateTime at(final int month, final int day, final int hour) {
+        return ZonedDateTime.of(2024, month, day, hour, 0, 0, 0, NEW_YORK);
+    }
+
+    private static long secondsBetween(final ZonedDateTime from, final ZonedDateTime to) {
+        return Duration.between(from, to).getSeconds();
+    }
+
+    @Test
+    void testDailyBarsStayFreshUntilNextClose() {
+        final ZonedDateTime wednesdayMorning = at(3, 6, 10);
+        final ZonedDateTime fridayEvening = at(3, 8, 17);
+
+        assertAll("daily freshness",
+            () -> assertEquals(6 * 3600, HttpCachePolicy.freshnessSeconds("1day", wednesdayMorning), "Same-day close"),
+            () -> assertEquals(secondsBetween(fridayEvening, at(3, 11, 16)),
+                    HttpCachePolicy.freshnessSeconds("1day", fridayEvening), "Weekend should roll to Monday's close"));
+    }
+
+    @Test
+    void testWeeklyAndMonthlyBarsStayFreshUntilPeriodEnd() {
+        final ZonedDateTime wednesday = at(3, 6, 10);
+        final ZonedDateTime fridayEvening = at(3, 8, 17);
+        final ZonedDateTime lastTradingDayEvening = at(3, 29, 17);
+
+        assertAll("period freshness",
+            () -> assertEquals(secondsBetween(wednesday, at(3, 8, 16)),
+                    HttpCachePolicy.freshnessSeconds("1week", wednesday), "Weekly bars until Friday's close"),
+            () -> assertEquals(secondsBetween(fridayEvening, at(3, 15, 16)),
+                    HttpCachePolicy.freshnessSeconds("1week", fridayEvening), "After Friday's close, until next Friday"),
+            () -> assertEquals(secondsBetween(wednesday, at(3, 29, 16)),
+                    HttpCachePolicy.freshnessSeconds("1month", wednesday), "Monthly bars until the month's last weekday"),
+            () -> assertEquals(secondsBetween(lastTradingDayEvening, at(4, 30, 16)),
+                    HttpCachePolicy.freshnessSeconds("1month", lastTradingDayEvening), "After month end, until next month's"));
+    }
+
+    @Test
+    void testIntradayAndCatalogFreshness() {
+        final ZonedDateTime now = at(3, 6, 10);
+
+        assertAll("other endpoints",
+            () -> assertEquals(900, HttpCachePolicy.freshnessSeconds("15min", now), "Intraday bars for one interval"),
+            () -> assertEquals(7200, HttpCachePolicy.freshnessSeconds("2h", now), "Hourly intervals are parsed"),
+            () -> assertEquals(86_400, HttpCachePolicy.freshnessSeconds(null, now), "Catalog for a day"));
+    }
+}
@@ -0,0 +1,110 @@
+package com.sdm.service;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import okhttp3.Cache;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("unit")
+class HttpCacheStatsTest {
+
+    // default access: used by JUnit for injecting temporary directory
+    @TempDir
+    Path tempDir;
+
+    private static final String BODY = "{\"values\":[" + "{\"datetime\":\"2024-03-01\",\"close\":\"1.5\"},".repeat(40) + "{}]}";
+
+    private HttpServer server;
+    private String baseUrl;
+
+    public HttpCacheStatsTest() {}
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/gzip", exchange -> {
+            final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write(BODY.getBytes(StandardCharsets.UTF_8));
+            }
+            exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+            exchange.getResponseHeaders().set("Cache-Control", "max-age=60");
+            send(exchange, compressed.toByteArray(), compressed.size());
+        });
+        server.createContext("/chunked", exchange -> {
+            exchange.getResponseHeaders().set("Cache-Control", "max-age=60");
+            send(exchange, BODY.getBytes(StandardCharsets.UTF_8), 0);
+        });
+        server.createContext("/etag", exchange -> {
+            exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+            exchange.getResponseHeaders().set("ETag", "\"v1\"");
+            if ("\"v1\"".equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+            } else {
+                send(exchange, BODY.getBytes(StandardCharsets.UTF_8), BODY.length());
+            }
+        });
+        server.start();
+        baseUrl = "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    private static void send(final HttpExchange exchange, final byte[] body, final long length) throws IOException {
+        exchange.sendResponseHeaders(200, length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(body);
+        }
+    }
+
+    private String get(final OkHttpClient client, final String path) throws IOException {
+        try (Response response = client.newCall(new Request.Builder().url(baseUrl + path).build()).execute()) {
+            return response.body().string();
+        }
+    }
+
+    @Test
+    void testCountsDecodedBytesOfGzipAndChunkedHits() throws IOException {
+        final HttpCacheStats stats = new HttpCacheStats();
+        final OkHttpClient client = new OkHttpClient.Builder()
+                .cache(new Cache(tempDir.toFile(), 1024 * 1024))
+                .addInterceptor(stats.interceptor())
+                .build();
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(BODY, get(client, "/gzip"), "Gzip body should be decoded");
+            assertEquals(BODY, get(client, "/chunked"), "Chunked body should be complete");
+        }
+        get(client, "/etag");
+        get(client, "/etag");
+
+        assertAll("cache stats",
+            () -> assertEquals(4, stats.getHits(), "Repeat calls within max-age are hits"),
+            () -> assertEquals(3, stats.getMisses(), "First call of each URL is a miss"),
+            () -> assertEquals(1, stats.getRevalidations(), "A 304 is a revalidation"),
+            () -> assertEquals(5L * BODY.length(), stats.getBytesSaved(), "Every cached body read should count"),
+            () -> assertEquals(5.0 / 8, stats.getHitRatio(), 1e-9, "Hits and revalidations over all calls"));
+    }
+}
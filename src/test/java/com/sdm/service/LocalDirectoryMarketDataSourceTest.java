@@ -0,0 +1,80 @@
+package com.sdm.service;
+
+import com.sdm.model.BarSeries;
+import com.sdm.utils.DateTimeUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("unit")
+class LocalDirectoryMarketDataSourceTest {
+
+    // default access: used by JUnit for injecting temporary directory
+    @TempDir
+    Path tempDir;
+
+    private LocalDirectoryMarketDataSource source;
+
+    public LocalDirectoryMarketDataSourceTest() {}
+
+    @BeforeEach
+    void setup() throws IOException {
+        // Newest first, as written by "Save to CSV"
+        Files.write(tempDir.resolve("AAPL_1day.csv"), List.of(
+            "Date,Open,High,Low,Close,Volume",
+            "2024-03-04,103,106,101,105,4000",
+            "2024-03-01,102,105,100,104,3000",
+            "2024-02-29,101,104,99,103,2000",
+            "2024-02-28,100,103,98,102,1000"));
+        source = new LocalDirectoryMarketDataSource(tempDir);
+    }
+
+    @Test
+    void fetchBars_ShouldReadCsvOldestFirst() throws IOException {
+        final BarSeries series = source.fetchBars(new BarQuery("AAPL", "1day", 100));
+
+        assertAll("CSV bars",
+            () -> assertEquals(4, series.size(), "All rows should be read"),
+            () -> assertEquals(DateTimeUtils.toEpochSecond("2024-02-28"), series.getTimestamp(0), "Oldest bar should come first"),
+            () -> assertArrayEquals(new double[]{102, 103, 104, 105}, series.closeColumn(), 0.0, "Closes should follow the bars"));
+    }
+
+    @Test
+    void fetchBars_ShouldApplyRangeAndOutputSize() throws IOException {
+        final BarSeries newestTwo = source.fetchBars(new BarQuery("AAPL", "1day", 2));
+        final BarSeries ranged = source.fetchBars(new BarQuery("AAPL", "1day", 100)
+                .since(DateTimeUtils.toEpochSecond("2024-02-29"))
+                .until(DateTimeUtils.toEpochSecond("2024-03-01")));
+
+        assertAll("query filters",
+            () -> assertArrayEquals(new double[]{104, 105}, newestTwo.closeColumn(), 0.0, "outputSize should keep the newest bars"),
+            () -> assertArrayEquals(new double[]{103, 104}, ranged.closeColumn(), 0.0, "Range bounds should be inclusive"));
+    }
+
+    @Test
+    void fetchBars_ShouldPreferBinaryFilesAndReturnEmptyForUnknownSymbols() throws IOException {
+        new BarStore(tempDir, java.time.Duration.ZERO).write("MSFT", "1day", new BarSeries(
+            new long[]{86_400L}, new double[]{1}, new double[]{2}, new double[]{0.5}, new double[]{1.5}, new double[]{10}));
+
+        assertAll("file lookup",
+            () -> assertEquals(1.5, source.fetchBars(new BarQuery("MSFT", "1day", 10)).getClose(0), "Binary file should be read"),
+            () -> assertTrue(source.fetchBars(new BarQuery("XXXX", "1day", 10)).isEmpty(), "Unknown symbol should give no bars"));
+    }
+
+    @Test
+    void fetchSymbolCatalog_ShouldFallBackToFileNames() throws IOException {
+        assertEquals(Map.of("AAPL", "AAPL"), source.fetchSymbolCatalog());
+
+        Files.write(tempDir.resolve("symbols.csv"), List.of("AAPL,Apple Inc", "MSFT,Microsoft Corporation"));
+        assertEquals(Map.of("AAPL", "Apple Inc", "MSFT", "Microsoft Corporation"), source.fetchSymbolCatalog());
+    }
+}
@@ -0,0 +1,55 @@
+package com.sdm.service;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("unit")
+class MockMarketDataServerTest {
+
+    // default access: used by JUnit for injecting temporary directory
+    @TempDir
+    Path tempDir;
+
+    public MockMarketDataServerTest() {}
+
+    private static String get(final String url) throws IOException {
+        final HttpURLConnection connection = (HttpURLConnection) URI.create(url).toURL().openConnection();
+        try (InputStream input = connection.getInputStream()) {
+            return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    @Test
+    void testReplaysRecordingsWithLatency() throws IOException {
+        final String recorded = "{\"values\":[{\"datetime\":\"2024-03-01\",\"open\":\"1\",\"high\":\"2\",\"low\":\"0.5\",\"close\":\"1.5\",\"volume\":\"10\"}]}";
+        Files.createDirectories(tempDir.resolve("time_series"));
+        Files.writeString(tempDir.resolve("time_series").resolve("AAPL_1day.json"), recorded);
+
+        try (MockMarketDataServer server = new MockMarketDataServer(tempDir, Duration.ofMillis(50), 2)) {
+            final long start = System.nanoTime();
+            final String body = get(server.getTimeSeriesUrl() + "?symbol=aapl&interval=1day&apikey=mock&outputsize=120");
+            final long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+            final String missing = get(server.getTimeSeriesUrl() + "?symbol=XXXX&interval=1day");
+
+            assertAll("replay",
+                () -> assertEquals(recorded, body, "Recorded response should be served verbatim"),
+                () -> assertTrue(elapsedMillis >= 50, "Latency should be applied, took " + elapsedMillis + " ms"),
+                () -> assertTrue(missing.contains("not found"), "Unknown symbols should get the API's error body"),
+                () -> assertEquals(2, server.getRequestCount(), "Every request should be counted"));
+        }
+    }
+}
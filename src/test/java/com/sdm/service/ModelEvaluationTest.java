@@ -64,6 +64,23 @@ class ModelEvaluationTest {
         assertTrue(score.mse >= 0, "MSE should be non-negative");
     }
 
+    @Test
+    void testPrimitiveMetricsMatchListMetrics() {
+        final double[] actual = {100.0, 102.0, 104.0, 106.0};
+        final double[] predicted = {101.0, 101.5, 104.5, 105.0};
+        final List<Double> actualList = List.of(100.0, 102.0, 104.0, 106.0);
+        final List<Double> predictedList = List.of(101.0, 101.5, 104.5, 105.0);
+
+        assertAll("primitive metrics",
+            () -> assertEquals(0.625, evaluator.calculateMSE(actual, predicted), 1e-12, "MSE"),
+            () -> assertEquals(evaluator.calculateMSE(actualList, predictedList),
+                    evaluator.calculateMSE(actual, predicted), 0.0, "MSE should not depend on boxing"),
+            () -> assertEquals(evaluator.calculateRSquared(actualList, predictedList),
+                    evaluator.calculateRSquared(actual, predicted), 0.0, "R² should not depend on boxing"),
+            () -> assertEquals(1.0, evaluator.calculateRSquared(new double[]{5, 5}, new double[]{4, 6}), 0.0,
+                    "Constant actuals count as a perfect fit"));
+    }
+
     @Test
     void testEvaluateAndReturnThrowsExceptionForInvalidSize() {
         final List<Double> actual = List.of(100.0, 101.0);
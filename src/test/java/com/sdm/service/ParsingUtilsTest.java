@@ -0,0 +1,48 @@
+package com.sdm.service;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("unit")
+class ParsingUtilsTest {
+
+    public ParsingUtilsTest() {}
+
+    private static double decimal(final String text) {
+        return ParsingUtils.parseDecimal(text, 0, text.length());
+    }
+
+    @Test
+    void testDecimalsMatchDoubleParseDouble() {
+        final String[] samples = {"0", "189.9800", "-0.000123", "+42.5", "123456789012345",
+            "1234567890.1234567", "0.1000000000000000000000001", "1e5", "-2.5E-3"};
+        for (final String sample : samples) {
+            assertEquals(Double.parseDouble(sample), decimal(sample), 0.0, sample);
+        }
+        assertAll("Rejected input",
+            () -> assertThrows(NumberFormatException.class, () -> decimal("12a"), "Trailing garbage"),
+            () -> assertThrows(NumberFormatException.class, () -> decimal("-"), "Sign without digits"));
+    }
+
+    @Test
+    void testDateTimesMatchJavaTime() {
+        // A cell inside a longer buffer, around leap days and before the epoch
+        final String row = "x,2024-02-29 13:45:07,y";
+        assertAll("Datetimes",
+            () -> assertEquals(LocalDateTime.of(2024, 2, 29, 13, 45, 7).toEpochSecond(ZoneOffset.UTC),
+                    ParsingUtils.parseDateTime(row, 2, 21), "Datetime within a row"),
+            () -> assertEquals(LocalDate.of(1969, 12, 31).toEpochDay() * 86_400L,
+                    ParsingUtils.parseDateTime("1969-12-31", 0, 10), "Date before the epoch"),
+            () -> assertEquals(LocalDate.of(2000, 3, 1).toEpochDay() * 86_400L,
+                    ParsingUtils.parseDateTime("2000-03-01", 0, 10), "Day after a 400-year leap day"),
+            () -> assertFalse(ParsingUtils.isDateTime("02/29/2024", 0, 10), "Other layouts are not recognized"),
+            () -> assertThrows(IllegalArgumentException.class,
+                    () -> ParsingUtils.parseDateTime("2024-0x-29", 0, 10), "Non-digit field"));
+    }
+}
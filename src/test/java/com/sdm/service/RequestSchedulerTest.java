@@ -0,0 +1,70 @@
+package com.sdm.service;
+
+import com.sdm.service.RequestScheduler.Priority;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("unit")
+class RequestSchedulerTest {
+
+    // 600 credits/minute: one credit every 100 ms, with a burst of 600
+    private static final int CREDITS_PER_MINUTE = 600;
+
+    public RequestSchedulerTest() {}
+
+    private static RequestScheduler drainedScheduler() throws InterruptedException {
+        final RequestScheduler scheduler = new RequestScheduler(null, CREDITS_PER_MINUTE, 0);
+        for (int i = 0; i < CREDITS_PER_MINUTE; i++) {
+            scheduler.acquire(Priority.INTERACTIVE);
+        }
+        return scheduler;
+    }
+
+    @Test
+    void acquire_WhenBucketIsEmpty_ShouldWaitForRefill() throws InterruptedException {
+        final RequestScheduler scheduler = drainedScheduler();
+
+        final long start = System.nanoTime();
+        scheduler.acquire(Priority.INTERACTIVE);
+        final long waitedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(waitedMillis >= 50, "Empty bucket should block until a credit accrues, waited " + waitedMillis + " ms");
+    }
+
+    @Test
+    void acquire_ShouldServeInteractiveBeforeQueuedBackground() throws InterruptedException {
+        final RequestScheduler scheduler = drainedScheduler();
+        final List<Priority> served = new CopyOnWriteArrayList<>();
+
+        final Thread background = new Thread(() -> acquireAndRecord(scheduler, Priority.BACKGROUND, served));
+        background.start();
+        Thread.sleep(20); // background is now queued first
+        final Thread interactive = new Thread(() -> acquireAndRecord(scheduler, Priority.INTERACTIVE, served));
+        interactive.start();
+
+        background.join(5_000);
+        interactive.join(5_000);
+
+        assertEquals(List.of(Priority.INTERACTIVE, Priority.BACKGROUND), served,
+                "Interactive request should jump ahead of waiting background work");
+    }
+
+    @Test
+    void constructor_WithNonPositiveRate_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> new RequestScheduler(null, 0, 3));
+    }
+
+    private static void acquireAndRecord(final RequestScheduler scheduler, final Priority priority, final List<Priority> served) {
+        try {
+            scheduler.acquire(priority);
+            served.add(priority);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.sdm.service;
+
+import com.sdm.model.BarSeries;
+import com.sdm.utils.DateTimeUtils;
+import com.sdm.utils.FeatureScaler;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("unit")
+class SeriesArchiveTest {
+
+    // default access: used by JUnit for injecting temporary directory
+    @TempDir
+    Path tempDir;
+
+    public SeriesArchiveTest() {}
+
+    @Test
+    void testDailySeriesWithWeekendsRoundTripsExactly() throws IOException {
+        final int count = 2000;
+        final long[] timestamps = new long[count];
+        final double[][] fields = new double[5][count];
+        long day = DateTimeUtils.toEpochSecond("2015-01-05"); // Monday
+        double price = 100;
+        for (int i = 0; i < count; i++) {
+            timestamps[i] = day;
+            day += i % 5 == 4 ? 3 * 86_400L : 86_400L;
+            price = Math.round((price + Math.sin(i) * 0.75) * 100) / 100.0;
+            fields[0][i] = price;
+            fields[1][i] = price + 0.5;
+            fields[2][i] = price - 0.25;
+            fields[3][i] = i % 7 == 0 ? fields[3][Math.max(0, i - 1)] : price + 0.1;
+            fields[4][i] = 1_000_000 + (i % 13) * 100;
+        }
+        final BarSeries series = new BarSeries(timestamps, fields[0], fields[1], fields[2], fields[3], fields[4]);
+        final SeriesArchive archive = new SeriesArchive("AAPL", "1day",
+                FeatureScaler.restore(1600, new double[]{1.5, 2.5, 3.5, 4.5}, new double[]{0.1, 0.2, 0.3, 0.4}), series);
+        final Path file = tempDir.resolve("daily.sdmz");
+
+        SeriesArchive.writeAll(file, List.of(archive));
+        final SeriesArchive read = SeriesArchive.readAll(file).get(0);
+
+        assertAll("daily archive",
+            () -> assertEquals("AAPL", read.getSymbol(), "Symbol should round trip"),
+            () -> assertEquals("1day", read.getInterval(), "Interval should round trip"),
+            () -> assertArrayEquals(archive.getFeatureMean(), read.getFeatureMean(), 0.0, "Means should round trip"),
+            () -> assertArrayEquals(archive.getFeatureStd(), read.getFeatureStd(), 1e-12, "Stds should round trip"),
+            () -> assertEquals(1600, read.getScaler().getCount(), "Fitted row count should round trip"),
+            () -> assertArrayEquals(timestamps, read.getSeries().timestampColumn(), "Weekend gaps should round trip"),
+            () -> assertArrayEquals(fields[0], read.getSeries().openColumn(), 0.0, "Opens should round trip"),
+            () -> assertArrayEquals(fields[3], read.getSeries().closeColumn(), 0.0, "Closes should round trip"),
+            () -> assertArrayEquals(fields[4], read.getSeries().volumeColumn(), 0.0, "Volumes should round trip"),
+            () -> assertTrue(Files.size(file) < count * 48L * 6 / 10, "Archive should be well under the 48 raw bytes per bar"));
+    }
+
+    @Test
+    void testIntradayAndIrregularValuesRoundTrip() {
+        final long start = DateTimeUtils.toEpochSecond("2024-03-01 09:30:00");
+        final long[] timestamps = {start, start + 60, start + 120, start + 86_400, start + 86_460, start + 9_000_000_000L};
+        final double[] odd = {0.0, -0.0, Double.NaN, Double.MAX_VALUE, -1e-300, Double.NEGATIVE_INFINITY};
+        final double[] flat = {5, 5, 5, 5, 5, 5};
+
+        final long unit = GorillaCodec.timeUnit(timestamps, timestamps.length);
+        final long[] decodedTimes = GorillaCodec.decodeTimestamps(
+                GorillaCodec.encodeTimestamps(timestamps, timestamps.length, unit), timestamps.length, unit);
+        final double[] decodedOdd = GorillaCodec.decodeValues(GorillaCodec.encodeValues(odd, odd.length), odd.length);
+
+        assertAll("codec edge cases",
+            () -> assertEquals(60, unit, "Minute bars should use a one-minute unit"),
+            () -> assertArrayEquals(timestamps, decodedTimes, "Session and large gaps should round trip"),
+            () -> assertEquals(Double.doubleToRawLongBits(-0.0), Double.doubleToRawLongBits(decodedOdd[1]), "Sign bits should be kept"),
+            () -> assertTrue(Double.isNaN(decodedOdd[2]), "NaN should round trip"),
+            () -> assertEquals(Double.MAX_VALUE, decodedOdd[3], 0.0, "Large values should round trip"),
+            () -> assertEquals(-1e-300, decodedOdd[4], 0.0, "Tiny values should round trip"),
+            () -> assertEquals(Double.NEGATIVE_INFINITY, decodedOdd[5], "Infinities should round trip"),
+            () -> assertEquals(9, GorillaCodec.encodeValues(flat, flat.length).length, "Repeated values should cost one bit each"));
+    }
+
+    @Test
+    void testManySymbolsInOneFile() throws IOException {
+        final BarSeries first = new BarSeries(new long[]{86_400, 172_800}, new double[]{1, 2}, new double[]{1, 2},
+                new double[]{1, 2}, new double[]{1, 2}, new double[]{10, 20});
+        final Path file = tempDir.resolve("batch.sdmz");
+
+        SeriesArchive.writeAll(file, List.of(
+                new SeriesArchive("MSFT", "1week", new FeatureScaler(0), first),
+                new SeriesArchive("EMPTY", "1h", new FeatureScaler(0), BarSeries.empty())));
+        final List<SeriesArchive> read = SeriesArchive.readAll(file);
+        final Path bogus = tempDir.resolve("bogus.sdmz");
+        Files.writeString(bogus, "Date,Open,High,Low,Close,Volume\n");
+
+        assertAll("multi-symbol archive",
+            () -> assertEquals(2, read.size(), "Both records should be read"),
+            () -> assertEquals("MSFT", read.get(0).getSymbol(), "Records should keep their order"),
+            () -> assertArrayEquals(new double[]{10, 20}, read.get(0).getSeries().volumeColumn(), 0.0, "Values should round trip"),
+            () -> assertTrue(read.get(1).getSeries().isEmpty(), "Empty series should round trip"),
+            () -> assertThrows(IOException.class, () -> SeriesArchive.readAll(bogus), "Other files should be rejected"));
+    }
+}
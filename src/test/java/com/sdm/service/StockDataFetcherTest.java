@@ -1,15 +1,36 @@
 package com.sdm.service;
 
+import com.sdm.model.BarSeries;
+import com.sdm.utils.ConfigLoader;
+import com.sdm.utils.DateTimeUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 class StockDataFetcherTest {
 
+    // default access: used by JUnit for injecting temporary directory
+    @TempDir
+    Path tempDir;
+
     private StockDataFetcher fetcher;
 
     private static final String INTEGRATION_TAG = "integration";
@@ -78,5 +99,329 @@ class StockDataFetcherTest {
         assertNotNull(prices, "Training prices list must not be null");
         assertFalse(prices.isEmpty(), "Training prices list must not be empty if stock data was fetched");
     }
-       
+
+    @Test
+    @Tag(INTEGRATION_TAG)
+    void testFetchBatchReal() {
+        final List<FetchRequest> requests = List.of(
+            new FetchRequest("AAPL", "Daily"),
+            new FetchRequest("MSFT", "Daily"),
+            new FetchRequest("AAPL", "Daily")
+        );
+
+        final Map<FetchRequest, SymbolFetchResult> results = fetcher.fetchBatch(requests, 2);
+
+        assertAll("Check batch results",
+            () -> assertEquals(2, results.size(), "Duplicate requests should be fetched once"),
+            () -> assertFalse(results.get(requests.get(0)).isEmpty(), "AAPL result should not be empty"),
+            () -> assertFalse(results.get(requests.get(1)).isEmpty(), "MSFT result should not be empty"),
+            () -> assertThrows(UnsupportedOperationException.class,
+                    () -> results.get(requests.get(0)).getTableRows().clear(), "Results must be immutable")
+        );
+    }
+
+    @Test
+    @Tag("unit")
+    void testFetchBatchWithStubSource() throws IOException {
+        final List<String> symbols = List.of("ZZBATCHB", "ZZBATCHA", "ZZBATCHFAIL");
+        final BarStore store = new BarStore(ConfigLoader.getDataDirectory().resolve("bars"), Duration.ZERO);
+        for (final String symbol : symbols) {
+            Files.deleteIfExists(store.pathFor(symbol, "1day"));
+        }
+        final DailyOnlySource daily = new DailyOnlySource(300);
+        final Map<String, Integer> calls = new ConcurrentHashMap<>();
+        final MarketDataSource source = new MarketDataSource() {
+            @Override
+            public BarSeries fetchBars(final BarQuery query) throws IOException {
+                calls.merge(query.getSymbol(), 1, Integer::sum);
+                if ("ZZBATCHFAIL".equals(query.getSymbol())) {
+                    throw new IOException("Source unavailable");
+                }
+                return daily.fetchBars(query);
+            }
+
+            @Override
+            public Map<String, String> fetchSymbolCatalog() {
+                return Map.of();
+            }
+        };
+        try {
+            final List<FetchRequest> requests = List.of(
+                new FetchRequest("ZZBATCHB", "Daily"),
+                new FetchRequest("ZZBATCHA", "Daily"),
+                new FetchRequest("ZZBATCHB", "Daily"),
+                new FetchRequest("ZZBATCHFAIL", "Daily"));
+
+            final Map<FetchRequest, SymbolFetchResult> results = new StockDataFetcher(source).fetchBatch(requests, 2);
+            final SymbolFetchResult first = results.get(requests.get(0));
+
+            assertAll("Offline batch results",
+                () -> assertEquals(List.of(requests.get(0), requests.get(1), requests.get(3)), new ArrayList<>(results.keySet()),
+                        "Duplicates should be dropped and request order kept"),
+                () -> assertEquals(Integer.valueOf(1), calls.get("ZZBATCHB"), "Duplicate requests should be fetched once"),
+                () -> assertEquals("ZZBATCHA", results.get(requests.get(1)).getSymbol(), "Results should match their request"),
+                () -> assertFalse(first.isEmpty(), "Served symbols should have data"),
+                () -> assertTrue(results.get(requests.get(3)).isEmpty(), "A failing source should give an empty result"),
+                () -> assertThrows(UnsupportedOperationException.class, () -> first.getTableRows().clear(),
+                        "Table rows must be immutable"),
+                () -> assertThrows(UnsupportedOperationException.class, () -> first.getScaledTrainFeatures().clear(),
+                        "Feature lists must be immutable"),
+                () -> assertThrows(UnsupportedOperationException.class, () -> results.remove(requests.get(0)),
+                        "The result map must be immutable"));
+        } finally {
+            for (final String symbol : symbols) {
+                Files.deleteIfExists(store.pathFor(symbol, "1day"));
+            }
+        }
+    }
+
+    @Test
+    @Tag("unit")
+    void testMonthlyIsResampledFromStoredDailyBars() throws IOException {
+        final String symbol = "ZZMONTHLYTEST";
+        final Path stored = new BarStore(ConfigLoader.getDataDirectory().resolve("bars"), Duration.ZERO)
+                .pathFor(symbol, "1day");
+        Files.deleteIfExists(stored);
+        final DailyOnlySource source = new DailyOnlySource(3000);
+        try {
+            final List<List<String>> rows = new StockDataFetcher(source).fetchStockData(symbol, "Monthly");
+
+            assertAll("Monthly through the daily store",
+                () -> assertNotNull(rows, "Monthly bars should be derived from daily bars"),
+                () -> assertFalse(rows.isEmpty(), "Monthly fetch should return rows"),
+                () -> assertEquals(List.of("1day"), source.intervals, "Only daily bars should be requested"),
+                () -> assertTrue(Files.isRegularFile(stored), "Daily bars should be kept in the bar store"));
+        } finally {
+            Files.deleteIfExists(stored);
+        }
+    }
+
+    @Test
+    @Tag("unit")
+    void testShortHistoryIsNotDownloadedAgain() throws IOException {
+        // 200 bars is far below the daily depth, but it is everything the source has
+        final String symbol = "ZZSHORTHISTORYTEST";
+        final Path stored = new BarStore(ConfigLoader.getDataDirectory().resolve("bars"), Duration.ZERO)
+                .pathFor(symbol, "1day");
+        Files.deleteIfExists(stored);
+        final DailyOnlySource source = new DailyOnlySource(200);
+        try {
+            final StockDataFetcher shortFetcher = new StockDataFetcher(source);
+            final List<List<String>> first = new ArrayList<>(shortFetcher.fetchStockData(symbol, "Daily"));
+            final List<List<String>> second = shortFetcher.fetchStockData(symbol, "Daily");
+
+            assertAll("Short history from the bar store",
+                () -> assertEquals(first, second, "Repeat fetch should return the stored bars"),
+                () -> assertEquals(1, source.intervals.size(), "Full history should be downloaded only once"));
+        } finally {
+            Files.deleteIfExists(stored);
+        }
+    }
+
+    @Test
+    @Tag("unit")
+    void testStaleBarsAreToppedUpOnlyByASuccessfulDelta() throws IOException {
+        final String symbol = "ZZDELTATEST";
+        final BarStore store = new BarStore(ConfigLoader.getDataDirectory().resolve("bars"), Duration.ofMinutes(60));
+        final Path stored = store.pathFor(symbol, "1day");
+        final DailyOnlySource source = new DailyOnlySource(203);
+        final BarSeries old = source.daily.slice(0, 200);
+        try {
+            store.write(symbol, "1day", old, true);
+            age(stored);
+            source.failure = new ApiErrorException(429, "You have run out of API credits");
+            final StockDataFetcher deltaFetcher = new StockDataFetcher(source);
+
+            final int failedRows = deltaFetcher.fetchStockData(symbol, "Daily").size();
+            final BarSeries afterFailure = store.readIfFresh(symbol, "1day");
+            source.failure = null;
+            deltaFetcher.fetchStockData(symbol, "Daily");
+            final BarSeries afterDelta = store.readIfFresh(symbol, "1day");
+
+            assertAll("Incremental fetch",
+                () -> assertTrue(failedRows > 0, "Stored bars should be served when the delta fails"),
+                () -> assertNull(afterFailure, "A failed delta must not mark the stored bars fresh"),
+                () -> assertEquals(2, source.starts.size(), "Each call should ask only for newer bars"),
+                () -> assertEquals(Long.valueOf(old.getLastTimestamp()), source.starts.get(1), "Delta should start at the last stored bar"),
+                () -> assertNotNull(afterDelta, "A successful delta should refresh the store"),
+                () -> assertEquals(203, afterDelta.size(), "Newer bars should be merged"),
+                () -> assertTrue(store.hasFullHistory(symbol, "1day"), "Merged bars keep the full history flag"));
+        } finally {
+            Files.deleteIfExists(stored);
+        }
+    }
+
+    @Test
+    @Tag("unit")
+    void testModelsTrainOnTheFetchedSeries() throws IOException {
+        final String symbol = "ZZMODELTEST";
+        final Path stored = new BarStore(ConfigLoader.getDataDirectory().resolve("bars"), Duration.ZERO)
+                .pathFor(symbol, "1day");
+        Files.deleteIfExists(stored);
+        try {
+            final StockDataFetcher modelFetcher = new StockDataFetcher(new DailyOnlySource(300));
+            modelFetcher.fetchStockData(symbol, "Daily");
+            final ModelManager manager = new ModelManager();
+            final double prediction = manager.predictBestModel(modelFetcher, "Daily", new ModelEvaluation());
+            final List<Double> boxed = modelFetcher.getTrainingPrices();
+            boxed.clear();
+
+            assertAll("Models on the primitive split",
+                () -> assertTrue(prediction > 0, "Best model should predict a price"),
+                () -> assertFalse(manager.getLastScores().isEmpty(), "Univariate and multivariate models should be scored"),
+                () -> assertSame(boxed, modelFetcher.getTrainingPrices(), "Boxed list should be built once per result"),
+                () -> assertFalse(modelFetcher.getTrainSeries().isEmpty(), "Editing the boxed list must not touch the series"));
+        } finally {
+            Files.deleteIfExists(stored);
+        }
+    }
+
+    @Test
+    @Tag("unit")
+    void testArchiveHoldsTheFullFetchedHistory() throws IOException {
+        final String symbol = "ZZARCHIVETEST";
+        final Path stored = new BarStore(ConfigLoader.getDataDirectory().resolve("bars"), Duration.ZERO)
+                .pathFor(symbol, "1day");
+        Files.deleteIfExists(stored);
+        try {
+            final StockDataFetcher archiveFetcher = new StockDataFetcher(new DailyOnlySource(300));
+            final FetchRequest request = new FetchRequest(symbol, "Daily");
+            final SymbolFetchResult result = archiveFetcher.fetchBatch(List.of(request)).get(request);
+            archiveFetcher.fetchStockData(symbol, "Daily");
+            final SeriesArchive archive = archiveFetcher.toArchive();
+
+            assertAll("Archive of a fetch",
+                () -> assertTrue(result.getSeries().size() < 300, "Model window should be shorter than the history"),
+                () -> assertEquals(300, archive.getSeries().size(), "Every fetched bar should be archived"),
+                () -> assertEquals(result.getHistory().getLastTimestamp(), archive.getSeries().getLastTimestamp(),
+                        "Archive should end at the newest bar"),
+                () -> assertArrayEquals(result.getFeatureMean(), archive.getFeatureMean(), "Scaler means should be kept"),
+                () -> assertArrayEquals(result.getFeatureStd(), archive.getFeatureStd(), "Scaler stds should be kept"));
+        } finally {
+            Files.deleteIfExists(stored);
+        }
+    }
+
+    @Test
+    @Tag("unit")
+    void testStreamedBarsReachTheIntradayBuffer() throws IOException, InterruptedException {
+        final String symbol = "ZZSTREAMTEST";
+        final long open = DateTimeUtils.toEpochSecond("2024-03-01 09:30:00");
+        final StockDataFetcher streamFetcher = new StockDataFetcher(new MinuteSource(open, 120));
+        streamFetcher.fetchStockData(symbol, "1min");
+        final int bufferedBars = streamFetcher.toArchive().getSeries().size();
+
+        // Completes the 11:30, 11:31 and 11:32 bars; the last line only moves the clock on
+        final Path ticks = tempDir.resolve("ticks.csv");
+        Files.write(ticks, List.of(
+                "datetime,symbol,price,volume",
+                "2024-03-01 11:30:10," + symbol + ",100.50,10",
+                "2024-03-01 11:30:40," + symbol + ",101.00,5",
+                "2024-03-01 11:31:15," + symbol + ",100.75,7",
+                "2024-03-01 11:32:05," + symbol + ",101.25,3",
+                "2024-03-01 11:33:00,OTHER,1,1"));
+        final ReplayQuoteFeed feed = new ReplayQuoteFeed(ticks, 0);
+        try (LiveBarStream stream = StockDataFetcher.newLiveStream(feed, List.of("1min"))) {
+            stream.start(List.of(symbol));
+            feed.awaitCompletion();
+        }
+        final boolean refreshed = streamFetcher.refreshFromBuffer(symbol, "1min");
+        final BarSeries buffered = streamFetcher.toArchive().getSeries();
+        final BarSeries test = streamFetcher.getTestSeries();
+
+        assertAll("Replay -> ring buffer -> refreshed result",
+            () -> assertEquals(120, bufferedBars, "Buffer should start with the fetched history"),
+            () -> assertTrue(refreshed, "Buffered symbol should refresh"),
+            () -> assertEquals(123, buffered.size(), "Three completed bars should be appended"),
+            () -> assertEquals(DateTimeUtils.toEpochSecond("2024-03-01 11:32:00"), buffered.getLastTimestamp(),
+                    "Newest bar should be the last completed minute"),
+            () -> assertEquals(101.0, buffered.getHigh(buffered.size() - 3), 0.0, "11:30 bar high"),
+            () -> assertEquals(15.0, buffered.getVolume(buffered.size() - 3), 0.0, "11:30 bar volume"),
+            () -> assertEquals(101.25, test.getClose(test.size() - 1), 0.0, "Model split should end at the streamed close"));
+    }
+
+    /**
+     * Backdates a bar file's written-at header field so the store treats it as stale.
+     */
+    private static void age(final Path barFile) throws IOException {
+        try (FileChannel channel = FileChannel.open(barFile, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(Long.BYTES).order(ByteOrder.LITTLE_ENDIAN).putLong(0, 0L), 16);
+        }
+    }
+
+    /**
+     * Serves count one-minute bars from the given first bar time.
+     */
+    private static final class MinuteSource implements MarketDataSource {
+        private final BarSeries minutes;
+
+        MinuteSource(final long first, final int count) {
+            final long[] timestamps = new long[count];
+            final double[] prices = new double[count];
+            for (int i = 0; i < count; i++) {
+                timestamps[i] = first + i * 60L;
+                prices[i] = 100 + Math.sin(i * 0.1);
+            }
+            minutes = new BarSeries(timestamps, prices, prices, prices, prices, prices);
+        }
+
+        @Override
+        public BarSeries fetchBars(final BarQuery query) {
+            if (!"1min".equals(query.getInterval())) {
+                return BarSeries.empty();
+            }
+            return minutes.between(query.getStartEpochSecond(), query.getEndEpochSecond()).tail(query.getOutputSize());
+        }
+
+        @Override
+        public Map<String, String> fetchSymbolCatalog() {
+            return Map.of();
+        }
+    }
+
+    /**
+     * Serves weekday daily bars ending today and records every requested interval
+     * and delta start; delta requests throw failure while it is set.
+     */
+    private static final class DailyOnlySource implements MarketDataSource {
+        private final BarSeries daily;
+        private final List<String> intervals = Collections.synchronizedList(new ArrayList<>());
+        private final List<Long> starts = Collections.synchronizedList(new ArrayList<>());
+        private volatile IOException failure;
+
+        DailyOnlySource(final int count) {
+            final long[] timestamps = new long[count];
+            final double[] prices = new double[count];
+            LocalDate date = LocalDate.now();
+            for (int i = count - 1; i >= 0; i--) {
+                while (date.getDayOfWeek().getValue() > 5) {
+                    date = date.minusDays(1);
+                }
+                timestamps[i] = date.toEpochDay() * 86_400L;
+                prices[i] = 100 + 10 * Math.sin(i * 0.05) + i * 0.01;
+                date = date.minusDays(1);
+            }
+            daily = new BarSeries(timestamps, prices, prices, prices, prices, prices);
+        }
+
+        @Override
+        public BarSeries fetchBars(final BarQuery query) throws IOException {
+            intervals.add(query.getInterval());
+            if (query.hasStart()) {
+                starts.add(query.getStartEpochSecond());
+                if (failure != null) {
+                    throw failure;
+                }
+            }
+            if (!"1day".equals(query.getInterval())) {
+                return BarSeries.empty();
+            }
+            return daily.between(query.getStartEpochSecond(), query.getEndEpochSecond()).tail(query.getOutputSize());
+        }
+
+        @Override
+        public Map<String, String> fetchSymbolCatalog() {
+            return Map.of();
+        }
+    }
 }
@@ -0,0 +1,53 @@
+package com.sdm.service;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("unit")
+class SymbolCatalogStoreTest {
+
+    // default access: used by JUnit for injecting temporary directory
+    @TempDir
+    Path tempDir;
+
+    public SymbolCatalogStoreTest() {}
+
+    @Test
+    void testWriteThenReadRoundTrip() throws IOException {
+        final Map<String, String> names = new LinkedHashMap<>();
+        names.put("MSFT", "Microsoft Corporation");
+        names.put("AAPL", "Apple Inc");
+        names.put("NVDA", "NVIDIA Corporation");
+        final SymbolCatalogStore store = new SymbolCatalogStore(tempDir.resolve("symbols.catalog"));
+
+        store.write(names);
+        final SymbolCatalogStore.Catalog catalog = store.read();
+
+        assertNotNull(catalog, "Written catalog should be readable");
+        assertAll("round trip",
+            () -> assertEquals(names, catalog.getNames(), "Entries should survive the round trip"),
+            () -> assertEquals(List.of("MSFT", "AAPL", "NVDA"), List.copyOf(catalog.getNames().keySet()), "Order should be preserved"),
+            () -> assertFalse(catalog.isExpired(Duration.ofHours(1)), "Fresh catalog should not be expired"),
+            () -> assertTrue(catalog.isExpired(Duration.ofMillis(-1)), "Catalog older than the TTL should be expired"));
+    }
+
+    @Test
+    void testReadMissingOrCorruptFileReturnsNull() throws IOException {
+        final Path file = tempDir.resolve("symbols.catalog");
+        assertNull(new SymbolCatalogStore(file).read(), "Missing catalog should read as null");
+
+        Files.write(file, new byte[]{1, 2, 3});
+        assertNull(new SymbolCatalogStore(file).read(), "Corrupt catalog should read as null");
+    }
+}
@@ -0,0 +1,100 @@
+package com.sdm.service;
+
+import com.sdm.model.Bar;
+import com.sdm.utils.DateTimeUtils;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("unit")
+class TickAggregatorTest {
+
+    // default access: used by JUnit for injecting temporary directory
+    @TempDir
+    Path tempDir;
+
+    public TickAggregatorTest() {}
+
+    private static long at(final String datetime) {
+        return DateTimeUtils.toEpochSecond(datetime);
+    }
+
+    @Test
+    void testTicksAreAggregatedIntoBarsForEveryInterval() {
+        final TickAggregator aggregator = new TickAggregator(List.of("1min", "5min"));
+        final List<String> completed = new ArrayList<>();
+        final List<Bar> bars = new ArrayList<>();
+        aggregator.addListener((symbol, interval, bar) -> {
+            completed.add(symbol + " " + interval);
+            bars.add(bar);
+        });
+
+        aggregator.onTick("AAPL", at("2024-01-02 09:30:05"), 10.0, 100);
+        aggregator.onTick("AAPL", at("2024-01-02 09:30:40"), 12.0, 50);
+        aggregator.onTick("AAPL", at("2024-01-02 09:30:59"), 9.0, 25);
+        aggregator.onTick("AAPL", at("2024-01-02 09:31:10"), 11.0, 10);
+
+        assertEquals(List.of("AAPL 1min"), completed, "Only the 1min bar has closed");
+        final Bar bar = bars.get(0);
+        assertAll("completed 1min bar",
+            () -> assertEquals(at("2024-01-02 09:30:00"), bar.getTimestamp(), "Bar must be dated at its period start"),
+            () -> assertEquals(10.0, bar.getOpen(), 0.0, "Open must be the first tick"),
+            () -> assertEquals(12.0, bar.getHigh(), 0.0, "High must be the highest tick"),
+            () -> assertEquals(9.0, bar.getLow(), 0.0, "Low must be the lowest tick"),
+            () -> assertEquals(9.0, bar.getClose(), 0.0, "Close must be the last tick"),
+            () -> assertEquals(175.0, bar.getVolume(), 0.0, "Volume must be summed"));
+
+        aggregator.onClock(at("2024-01-02 09:35:00"));
+        assertEquals(List.of("AAPL 1min", "AAPL 1min", "AAPL 5min"), completed, "Clock must close pending bars");
+        assertEquals(10.0, bars.get(2).getOpen(), 0.0, "5min bar must span all ticks");
+        assertEquals(12.0, bars.get(2).getHigh(), 0.0, "5min bar must span all ticks");
+    }
+
+    @Test
+    void testLateAndOutOfSessionTicksAreDropped() {
+        final TickAggregator aggregator = new TickAggregator(List.of("1h"));
+        final List<Bar> bars = new ArrayList<>();
+        aggregator.addListener((symbol, interval, bar) -> bars.add(bar));
+
+        aggregator.onTick("MSFT", at("2024-01-02 09:00:00"), 50.0, 1);
+        aggregator.onTick("MSFT", at("2024-01-02 09:45:00"), 10.0, 1);
+        aggregator.onClock(at("2024-01-02 10:30:00"));
+        aggregator.onTick("MSFT", at("2024-01-02 10:15:00"), 99.0, 1);
+        aggregator.onClock(at("2024-01-02 12:00:00"));
+
+        assertEquals(1, bars.size(), "Pre-market and late ticks must not create bars");
+        assertAll("session-anchored bar",
+            () -> assertEquals(at("2024-01-02 09:30:00"), bars.get(0).getTimestamp(), "Hourly bars start at the 09:30 open"),
+            () -> assertEquals(10.0, bars.get(0).getHigh(), 0.0, "Dropped ticks must not touch the bar"));
+    }
+
+    @Test
+    void testReplayFeedDrivesAggregator() throws IOException, InterruptedException {
+        final Path ticks = tempDir.resolve("ticks.csv");
+        Files.writeString(ticks, String.join("\n",
+                "datetime,symbol,price,volume",
+                "2024-01-02 15:58:30,AAPL,10,5",
+                "2024-01-02 15:58:45,MSFT,99,5",
+                "2024-01-02 15:59:10,AAPL,11,5",
+                "2024-01-02 16:00:00,AAPL,12,5"));
+        final ReplayQuoteFeed feed = new ReplayQuoteFeed(ticks, 0);
+        final LiveBarStream stream = new LiveBarStream(feed, List.of("1min", "1day"));
+        final List<String> completed = new ArrayList<>();
+        stream.addListener((symbol, interval, bar) -> completed.add(symbol + " " + interval + " " + bar.getClose()));
+
+        stream.start(List.of("aapl"));
+        feed.awaitCompletion();
+        stream.close();
+
+        assertEquals(List.of("AAPL 1min 10.0", "AAPL 1min 11.0", "AAPL 1day 11.0"), completed,
+                "Unsubscribed symbols are skipped and the close completes the day");
+    }
+}
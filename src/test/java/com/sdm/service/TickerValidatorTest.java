@@ -0,0 +1,103 @@
+package com.sdm.service;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("unit")
+class TickerValidatorTest {
+
+    // default access: used by JUnit for injecting temporary directory
+    @TempDir
+    Path tempDir;
+
+    private static final List<String> SYMBOLS = List.of("AAPL", "MSFT", "XXXX", "GOOG");
+
+    public TickerValidatorTest() {}
+
+    private static boolean isKnown(final String symbol) {
+        return !"XXXX".equals(symbol);
+    }
+
+    @Test
+    void validate_ShouldStreamValidSymbolsAndPersistResults() throws Exception {
+        final Path store = tempDir.resolve("validation.properties");
+        final Set<String> valid = ConcurrentHashMap.newKeySet();
+        final AtomicInteger checks = new AtomicInteger();
+
+        new TickerValidator(store, Duration.ofHours(1), 4)
+            .validate(SYMBOLS, symbol -> { checks.incrementAndGet(); return isKnown(symbol); }, 100, 100, valid::add)
+            .get(5, TimeUnit.SECONDS);
+
+        assertAll("first run",
+            () -> assertEquals(Set.of("AAPL", "MSFT", "GOOG"), valid, "Only valid symbols should be reported"),
+            () -> assertEquals(4, checks.get(), "Every unknown symbol should be checked once"),
+            () -> assertTrue(Files.isRegularFile(store), "Results should be persisted"));
+
+        final Set<String> cachedValid = ConcurrentHashMap.newKeySet();
+        final AtomicInteger rechecks = new AtomicInteger();
+        new TickerValidator(store, Duration.ofHours(1), 4)
+            .validate(SYMBOLS, symbol -> { rechecks.incrementAndGet(); return true; }, 100, 100, cachedValid::add)
+            .get(5, TimeUnit.SECONDS);
+
+        assertAll("second run",
+            () -> assertEquals(0, rechecks.get(), "Fresh results should not be re-checked"),
+            () -> assertEquals(valid, cachedValid, "Cached valid symbols should be reported"));
+    }
+
+    @Test
+    void validate_WithStaleResults_ShouldRecheckWithinBudget() throws Exception {
+        final Path store = tempDir.resolve("validation.properties");
+        new TickerValidator(store, Duration.ofHours(1), 2)
+            .validate(SYMBOLS, TickerValidatorTest::isKnown, 100, 100, symbol -> { })
+            .get(5, TimeUnit.SECONDS);
+
+        final AtomicInteger checks = new AtomicInteger();
+        new TickerValidator(store, Duration.ZERO, 2)
+            .validate(SYMBOLS, symbol -> { checks.incrementAndGet(); return true; }, 100, 2, symbol -> { })
+            .get(5, TimeUnit.SECONDS);
+
+        assertEquals(2, checks.get(), "Stale symbols should be re-checked up to maxChecks");
+    }
+
+    @Test
+    void validate_WithFailedCheck_ShouldNotRecordSymbol() throws Exception {
+        final Path store = tempDir.resolve("validation.properties");
+        final Set<String> valid = ConcurrentHashMap.newKeySet();
+        new TickerValidator(store, Duration.ofHours(1), 2)
+            .validate(SYMBOLS, symbol -> {
+                if ("MSFT".equals(symbol)) {
+                    throw new IOException("timeout");
+                }
+                return isKnown(symbol);
+            }, 100, 100, valid::add)
+            .get(5, TimeUnit.SECONDS);
+
+        final Set<String> rechecked = ConcurrentHashMap.newKeySet();
+        new TickerValidator(store, Duration.ofHours(1), 2)
+            .validate(SYMBOLS, symbol -> { rechecked.add(symbol); return true; }, 100, 100, symbol -> { })
+            .get(5, TimeUnit.SECONDS);
+
+        assertAll("failed check",
+            () -> assertEquals(Set.of("AAPL", "GOOG"), valid, "A failed check should not report the symbol"),
+            () -> assertEquals(Set.of("MSFT"), rechecked, "Only the failed symbol should be checked again"));
+    }
+
+    @Test
+    void constructor_WithNonPositiveParallelism_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class,
+            () -> new TickerValidator(tempDir.resolve("v.properties"), Duration.ofHours(1), 0));
+    }
+}
@@ -0,0 +1,91 @@
+package com.sdm.service;
+
+import com.sdm.model.BarSeries;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("unit")
+class TimeSeriesJsonParserTest {
+
+    private static final String DAILY_RESPONSE = """
+        {"meta":{"symbol":"AAPL","interval":"1day","currency":"USD","exchange":"NASDAQ","type":"Common Stock"},
+         "values":[
+          {"datetime":"2024-02-23","open":"185.00999","high":"185.03999","low":"182.23000","close":"182.52000","volume":"45119700"},
+          {"datetime":"2024-02-22","open":"183.48000","high":"184.96001","low":"182.46001","close":"184.37000","volume":"52292200"},
+          {"datetime":"2024-02-21","open":"181.94000","high":"182.89000","low":"180.66000","close":"182.32001","volume":"41529700"}
+         ],
+         "status":"ok"}
+        """;
+
+    public TimeSeriesJsonParserTest() {}
+
+    @Test
+    void testParsesNewestFirstResponseIntoOldestFirstColumns() throws IOException {
+        final BarSeries series = TimeSeriesJsonParser.parse(DAILY_RESPONSE);
+
+        assertAll("Daily response",
+            () -> assertEquals(3, series.size(), "All records should be parsed"),
+            () -> assertEquals(1_708_473_600L, series.getTimestamp(0), "Oldest bar (2024-02-21) must come first"),
+            () -> assertEquals(1_708_646_400L, series.getLastTimestamp(), "Newest bar (2024-02-23) must come last"),
+            () -> assertEquals(182.52, series.getClose(2), 1e-12, "Close of newest bar"),
+            () -> assertEquals(181.94, series.getOpen(0), 1e-12, "Open of oldest bar"),
+            () -> assertEquals(41_529_700.0, series.getVolume(0), 0.0, "Volume of oldest bar")
+        );
+    }
+
+    @Test
+    void testParsesIntradayDatetimesAndBareNumbers() throws IOException {
+        final String json = "{\"values\":[{\"datetime\":\"2024-02-23 15:59:00\",\"open\":1.5,\"high\":2,"
+                + "\"low\":1,\"close\":1.75,\"extra\":{\"nested\":[1,2,{\"x\":\"a\\\"b\"}]}}]}";
+
+        final BarSeries series = TimeSeriesJsonParser.parse(json);
+
+        assertAll("Intraday response",
+            () -> assertEquals(1, series.size()),
+            () -> assertEquals(1_708_646_400L + 15 * 3600 + 59 * 60, series.getTimestamp(0), "Time of day must be kept"),
+            () -> assertEquals(1.75, series.getClose(0), 0.0),
+            () -> assertEquals(0.0, series.getVolume(0), 0.0, "Missing volume defaults to zero")
+        );
+    }
+
+    @Test
+    void testErrorResponseThrowsWithApiCode() throws IOException {
+        final String notFound = "{\"code\":400,\"message\":\"**symbol** not found: XXXX\",\"status\":\"error\"}";
+        final String throttled = "{\"code\":429,\"message\":\"You have run out of API credits\",\"status\":\"error\"}";
+        final String noData = "{\"code\":400,\"message\":\"No data is available on the specified dates.\",\"status\":\"error\"}";
+
+        final ApiErrorException rejected = assertThrows(ApiErrorException.class,
+                () -> TimeSeriesJsonParser.parse(notFound), "Unknown symbol should be an API error");
+        final ApiErrorException limited = assertThrows(ApiErrorException.class,
+                () -> TimeSeriesJsonParser.parse(throttled), "Throttling should be an API error");
+        assertAll("Error responses",
+            () -> assertEquals(400, rejected.getCode(), "API code should be kept"),
+            () -> assertTrue(rejected.isBadRequest(), "Unknown symbol is a bad request"),
+            () -> assertTrue(rejected.getMessage().contains("not found"), "API message should be kept"),
+            () -> assertFalse(limited.isBadRequest(), "Throttling may succeed later"),
+            () -> assertTrue(TimeSeriesJsonParser.parse(noData).isEmpty(), "An empty date range has no bars"),
+            () -> assertThrows(IOException.class, () -> TimeSeriesJsonParser.parse("{\"meta\":{}}"),
+                    "A response without values or error status is invalid"));
+    }
+
+    @Test
+    void testMalformedJsonThrows() {
+        assertThrows(IOException.class, () -> TimeSeriesJsonParser.parse("{\"values\":[{\"datetime\":\"2024-02-23\""),
+                "Truncated input should be rejected");
+    }
+
+    @Test
+    void testDecimalParsingMatchesDoubleParseDouble() throws IOException {
+        final Random random = new Random(42);
+        for (int i = 0; i < 2000; i++) {
+            final String price = String.format(java.util.Locale.ROOT, "%.5f", random.nextDouble() * 5000);
+            final String json = "{\"values\":[{\"datetime\":\"2024-01-01\",\"close\":\"" + price + "\"}]}";
+            assertEquals(Double.parseDouble(price), TimeSeriesJsonParser.parse(json).getClose(0), 0.0, "Mismatch for " + price);
+        }
+    }
+}
@@ -5,6 +5,7 @@ import org.junit.jupiter.api.io.TempDir;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
 
@@ -41,6 +42,18 @@ class CSVUtilsTest {
         );
     }
 
+    @Test
+    void testSaveToCsvWritesHeaderThenRowsInOrder() throws IOException {
+        final List<List<String>> rows = List.of(
+            List.of("2024-02-23", "100", "105", "98", "102", "2000"),
+            List.of("2024-02-22", "99", "101", "97", "100", "1500")
+        );
+        CSVUtils.saveToCSV(testCsvFile.getAbsolutePath(), rows);
+
+        assertEquals(List.of("Date,Open,High,Low,Close,Volume", "2024-02-23,100,105,98,102,2000", "2024-02-22,99,101,97,100,1500"),
+                Files.readAllLines(testCsvFile.toPath()), "Header should be followed by the rows as given");
+    }
+
     @Test
     void testSaveToCsvWithEmptyData() {
         final List<List<String>> emptyData = List.of();
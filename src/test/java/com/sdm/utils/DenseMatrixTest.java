@@ -0,0 +1,81 @@
+package com.sdm.utils;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("unit")
+class DenseMatrixTest {
+
+    public DenseMatrixTest() {}
+
+    private static double[] prices(final int count) {
+        final double[] prices = new double[count];
+        for (int i = 0; i < count; i++) {
+            prices[i] = 100 + 5 * Math.sin(i * 0.7) + i * 0.1;
+        }
+        return prices;
+    }
+
+    @Test
+    void testLagViewSharesTheColumn() {
+        final double[] values = {1, 2, 3, 4, 5, 6};
+        final DenseMatrix lags = DenseMatrix.lags(values, 3);
+        final DenseMatrix tail = lags.sliceRows(1, 3);
+        values[3] = 40;
+
+        assertAll("lag view",
+            () -> assertEquals(3, lags.rows(), "One row per predictable value"),
+            () -> assertArrayEquals(new double[]{2, 3, 40}, lags.row(1), 0.0, "Rows should read the shared column"),
+            () -> assertEquals(40, tail.get(0, 2), 0.0, "Slices should stay views"),
+            () -> assertThrows(IndexOutOfBoundsException.class, () -> lags.get(3, 0), "Reads past the view must fail"),
+            () -> assertThrows(IllegalArgumentException.class, () -> new DenseMatrix(values, 2, 3, 3, 1, 1), "View must fit the storage"),
+            () -> assertThrows(IllegalArgumentException.class, () -> DenseMatrix.lags(values, 6), "Need more values than lags"));
+    }
+
+    @Test
+    void testTransposedAndSubMatrixViewsShareStorage() {
+        final DenseMatrix matrix = DenseMatrix.of(new double[][]{{1, 2, 3}, {4, 5, 6}});
+        final DenseMatrix transposed = matrix.transpose();
+        final DenseMatrix block = matrix.view(0, 2, 1, 3);
+        block.set(1, 1, 60);
+
+        assertAll("views",
+            () -> assertEquals(3, transposed.rows(), "Transpose swaps the dimensions"),
+            () -> assertArrayEquals(new double[]{2, 5}, transposed.row(1), 0.0, "Transposed rows are columns"),
+            () -> assertEquals(60, transposed.get(2, 1), 0.0, "Writes through a view should be shared"),
+            () -> assertArrayEquals(new double[]{5, 60}, block.row(1), 0.0, "Sub-matrix rows"),
+            () -> assertArrayEquals(new double[]{1, 4, 2, 5, 3, 60}, transposed.copy().data(), 0.0, "Copies are row-major"),
+            () -> assertThrows(IllegalArgumentException.class, () -> DenseMatrix.of(new double[][]{{1}, {1, 2}}), "Rows must match"),
+            () -> assertThrows(IndexOutOfBoundsException.class, () -> matrix.view(0, 3, 0, 1), "Views must fit the matrix"));
+    }
+
+    @Test
+    void testGramAndTransposeMultiplyMatchMaterializedMatrix() {
+        final double[] column = prices(200);
+        final double[] targets = prices(61);
+        final DenseMatrix rowMajor = DenseMatrix.of(new DenseMatrix(column, 5, 61, 5, 2, 1).toArray());
+        for (final DenseMatrix view : new DenseMatrix[]{
+                new DenseMatrix(column, 7, 61, 6, 1, 1), new DenseMatrix(column, 3, 61, 4, 3, 1),
+                rowMajor.transpose().transpose(), new DenseMatrix(column, 0, 61, 3, 1, 61)}) {
+            final double[][] rows = view.toArray();
+            final double[][] withBias = new double[rows.length][];
+            for (int i = 0; i < rows.length; i++) {
+                withBias[i] = new double[rows[i].length + 1];
+                withBias[i][0] = 1;
+                System.arraycopy(rows[i], 0, withBias[i], 1, rows[i].length);
+            }
+            final double[][] expected = LinearAlgebraUtils.multiply(LinearAlgebraUtils.transpose(withBias), withBias);
+            final double[][] gram = LinearAlgebraUtils.gram(view, true).toArray();
+            final double[] xTy = LinearAlgebraUtils.transposeMultiply(view, targets, false);
+            final String label = "strides " + view.rowStride() + "/" + view.colStride();
+
+            for (int j = 0; j < expected.length; j++) {
+                assertArrayEquals(expected[j], gram[j], 1e-6, "Gram row " + j + " for " + label);
+            }
+            assertArrayEquals(LinearAlgebraUtils.multiply(LinearAlgebraUtils.transpose(rows), targets), xTy, 1e-6,
+                    "Xᵀy for " + label);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.sdm.utils;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("unit")
+class FeatureScalerTest {
+
+    public FeatureScalerTest() {}
+
+    @Test
+    void testFitMatchesTwoPassStatisticsOnTrainingRows() {
+        final double[][] rows = {{1e9 + 1, 2}, {1e9 + 2, 2}, {1e9 + 3, 2}, {1e9 + 4, 2}, {50, 50}};
+
+        final FeatureScaler scaler = new FeatureScaler(2).fit(rows, 4);
+        final double[] scaled = rows[0].clone();
+        scaler.transform(scaled);
+
+        assertAll("fitted stats",
+            () -> assertEquals(4, scaler.getCount(), "Only the training rows should be fitted"),
+            () -> assertEquals(1e9 + 2.5, scaler.getMean()[0], 1e-6, "Mean should be exact for large offsets"),
+            () -> assertEquals(Math.sqrt(1.25), scaler.getStd()[0], 1e-9, "Population std should be numerically stable"),
+            () -> assertEquals(-1.5 / Math.sqrt(1.25), scaled[0], 1e-6, "Rows should be standardized"),
+            () -> assertEquals(0.0, scaled[1], 0.0, "Constant features should only be centred"));
+    }
+
+    @Test
+    void testPartialFitEqualsRefitOnAllRows() {
+        final double[][] rows = {{1, 10}, {4, 20}, {2, 15}, {8, 5}, {3, 30}, {7, 25}};
+
+        final FeatureScaler incremental = new FeatureScaler(2).fit(rows, 3);
+        for (int i = 3; i < rows.length; i++) {
+            incremental.partialFit(rows[i]);
+        }
+        final FeatureScaler restored = FeatureScaler.restore(incremental.getCount(), incremental.getMean(), incremental.getStd());
+        final FeatureScaler refit = new FeatureScaler(2).fit(rows, rows.length);
+
+        assertAll("incremental stats",
+            () -> assertArrayEquals(refit.getMean(), incremental.getMean(), 1e-12, "Means should match a full refit"),
+            () -> assertArrayEquals(refit.getStd(), incremental.getStd(), 1e-12, "Stds should match a full refit"),
+            () -> assertArrayEquals(refit.getStd(), restored.getStd(), 1e-12, "Restored stats should match"),
+            () -> assertEquals(6, restored.getCount(), "Restored count should match"));
+    }
+
+    @Test
+    void testInvalidUseThrows() {
+        final FeatureScaler scaler = new FeatureScaler(2);
+
+        assertAll("invalid use",
+            () -> assertThrows(IllegalStateException.class, () -> scaler.transform(new double[2]), "Unfitted scaler"),
+            () -> assertThrows(IllegalArgumentException.class, () -> scaler.partialFit(new double[3]), "Wrong row width"),
+            () -> assertThrows(IllegalArgumentException.class,
+                    () -> FeatureScaler.restore(1, new double[2], new double[1]), "Mismatched stats"));
+    }
+}
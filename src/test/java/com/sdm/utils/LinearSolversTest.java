@@ -0,0 +1,75 @@
+package com.sdm.utils;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("unit")
+class LinearSolversTest {
+
+    public LinearSolversTest() {}
+
+    @Test
+    void testSolversAgreeOnWellConditionedSystem() {
+        final DenseMatrix features = new DenseMatrix(40, 3);
+        final double[] targets = new double[40];
+        for (int i = 0; i < 40; i++) {
+            features.set(i, 0, 1);
+            features.set(i, 1, Math.sin(i));
+            features.set(i, 2, Math.cos(i * 0.5));
+            targets[i] = 2 - 3 * Math.sin(i) + 0.5 * Math.cos(i * 0.5);
+        }
+        final DenseMatrix xTx = LinearAlgebraUtils.gram(features, false);
+        final double[] xTy = LinearAlgebraUtils.transposeMultiply(features, targets, false);
+        final double[] expected = {2, -3, 0.5};
+        final double[] leading = LinearSolvers.Cholesky.factor(xTx).solve(xTy, 2);
+
+        assertAll("solvers",
+            () -> assertArrayEquals(expected, LinearSolvers.solveCholesky(xTx, xTy), 1e-9, "Cholesky"),
+            () -> assertArrayEquals(expected, LinearSolvers.solveLeastSquares(features, targets), 1e-9, "Householder QR"),
+            () -> assertArrayEquals(expected, LinearSolvers.solvePivoted(xTx, xTy), 1e-9, "Pivoted elimination"),
+            () -> assertArrayEquals(LinearSolvers.solvePivoted(xTx.view(0, 2, 0, 2), new double[]{xTy[0], xTy[1]}),
+                    leading, 1e-9, "One factor should solve the leading block"));
+    }
+
+    @Test
+    void testQrHandlesHighDegreePolynomialInTime() {
+        // Vandermonde columns i^j make XᵀX far too ill-conditioned for inversion
+        final int count = 200;
+        final int degree = 5;
+        final DenseMatrix features = new DenseMatrix(count, degree + 1);
+        final double[] targets = new double[count];
+        for (int i = 0; i < count; i++) {
+            for (int j = 0; j <= degree; j++) {
+                features.set(i, j, Math.pow(i, j));
+            }
+            targets[i] = 1 + 0.5 * i - 1e-3 * i * i + 1e-8 * Math.pow(i, 5);
+        }
+
+        final double[] weights = LinearSolvers.solveLeastSquares(features, targets);
+
+        assertAll("polynomial",
+            () -> assertEquals(1, weights[0], 1e-6, "Intercept"),
+            () -> assertEquals(0.5, weights[1], 1e-8, "Linear term"),
+            () -> assertEquals(1e-8, weights[5], 1e-14, "Fifth power term"));
+    }
+
+    @Test
+    void testSingularSystemsFallBackToFiniteSolution() {
+        // The second column duplicates the first, so XᵀX is singular
+        final DenseMatrix singular = DenseMatrix.of(new double[][]{{2, 2, 1}, {2, 2, 1}, {1, 1, 3}});
+        final double[] rhs = {4, 4, 7};
+
+        final double[] solution = LinearAlgebraUtils.solve(singular, rhs);
+        final double[] check = LinearAlgebraUtils.multiply(singular, solution);
+
+        assertAll("singular",
+            () -> assertArrayEquals(rhs, check, 1e-9, "Fallback should still satisfy a consistent system"),
+            () -> assertTrue(Double.isFinite(solution[0] + solution[1] + solution[2]), "No NaN weights"),
+            () -> assertThrows(IllegalArgumentException.class, () -> LinearSolvers.solveCholesky(singular, rhs),
+                    "Cholesky alone must reject a singular matrix"),
+            () -> assertThrows(IllegalArgumentException.class,
+                    () -> LinearSolvers.solvePivoted(new DenseMatrix(2, 3), new double[2]), "Matrix must be square"));
+    }
+}
@@ -0,0 +1,73 @@
+package com.sdm.utils;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("unit")
+class NormalEquationsTest {
+
+    public NormalEquationsTest() {}
+
+    private static double[][] rows(final int count, final int cols) {
+        final double[][] rows = new double[count][cols];
+        for (int i = 0; i < count; i++) {
+            for (int j = 0; j < cols; j++) {
+                rows[i][j] = Math.sin(i * (0.37 + 0.11 * j)) + 0.01 * j;
+            }
+        }
+        return rows;
+    }
+
+    @Test
+    void testBlockedKernelMatchesNaiveProducts() {
+        // More rows and columns than one block, read through a transposed view
+        final double[][] rows = rows(300, 40);
+        final double[] targets = new double[300];
+        for (int i = 0; i < targets.length; i++) {
+            targets[i] = Math.cos(i * 0.2);
+        }
+        final DenseMatrix strided = DenseMatrix.of(LinearAlgebraUtils.transpose(rows)).transpose();
+        final double[][] withBias = new double[rows.length][];
+        for (int i = 0; i < rows.length; i++) {
+            withBias[i] = new double[41];
+            withBias[i][0] = 1;
+            System.arraycopy(rows[i], 0, withBias[i], 1, 40);
+        }
+        final double[][] transposed = LinearAlgebraUtils.transpose(withBias);
+        final double[][] expected = LinearAlgebraUtils.multiply(transposed, withBias);
+
+        final NormalEquations equations = NormalEquations.of(strided, targets, true);
+        final double[][] xTx = equations.xTx().toArray();
+
+        for (int j = 0; j < expected.length; j++) {
+            assertArrayEquals(expected[j], xTx[j], 1e-9, "XᵀX row " + j);
+        }
+        assertArrayEquals(LinearAlgebraUtils.multiply(transposed, targets), equations.xTy(), 1e-9, "Xᵀy");
+    }
+
+    @Test
+    void testAccumulatingRowBlocksMatchesWholeMatrix() {
+        final DenseMatrix features = DenseMatrix.of(rows(90, 5));
+        final double[] targets = new double[90];
+        for (int i = 0; i < targets.length; i++) {
+            targets[i] = 3 + 2 * features.get(i, 0) - features.get(i, 4);
+        }
+        final NormalEquations whole = NormalEquations.of(features, targets, true);
+        final NormalEquations split = new NormalEquations(5, true)
+                .accumulate(features.sliceRows(0, 30), targets, 0)
+                .accumulate(features.sliceRows(30, 90), targets, 30);
+
+        final double[] weights = split.solve();
+        assertAll("blocks",
+            () -> assertArrayEquals(whole.xTx().data(), split.xTx().data(), 1e-9, "XᵀX should add up"),
+            () -> assertArrayEquals(whole.xTy(), split.xTy(), 1e-9, "Xᵀy should add up"),
+            () -> assertEquals(3, weights[0], 1e-8, "Intercept"),
+            () -> assertEquals(-1, weights[5], 1e-8, "Last weight"),
+            () -> assertThrows(IllegalArgumentException.class,
+                    () -> split.accumulate(features, targets, 1), "Targets must cover the rows"),
+            () -> assertThrows(IllegalArgumentException.class,
+                    () -> split.accumulate(features.view(0, 90, 0, 4), targets, 0), "Column count must match"));
+    }
+}
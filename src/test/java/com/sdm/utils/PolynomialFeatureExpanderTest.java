@@ -0,0 +1,75 @@
+package com.sdm.utils;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("unit")
+class PolynomialFeatureExpanderTest {
+
+    public PolynomialFeatureExpanderTest() {}
+
+    @Test
+    void testExpandsEveryMonomialOnceInTheDocumentedOrder() {
+        final PolynomialFeatureExpander expander = new PolynomialFeatureExpander(2);
+
+        assertArrayEquals(new double[]{1, 3, 2, 9, 6, 4}, expander.expandSingle(new double[]{2, 3}), 1e-12,
+                "Terms should be 1, y, x, y^2, xy, x^2");
+        assertArrayEquals(new PolynomialFeatureExpander(1).expandSingle(new double[]{2, 3}),
+                Arrays.copyOf(expander.expandSingle(new double[]{2, 3}), 3), 0.0, "Lower degrees should be a prefix");
+    }
+
+    @Test
+    void testDegreeFiveOfFourFeaturesIntoCallerBuffer() {
+        final PolynomialFeatureExpander expander = new PolynomialFeatureExpander(5);
+        final double[] input = {1.5, -2, 0.5, 3};
+        final double[] buffer = new double[130];
+        buffer[126] = 42;
+
+        expander.expandInto(input, buffer);
+
+        // Every product x1^a x2^b x3^c x4^d with a+b+c+d <= 5 should appear exactly once
+        final Set<Double> expected = new HashSet<>();
+        for (int a = 0; a <= 5; a++) {
+            for (int b = 0; a + b <= 5; b++) {
+                for (int c = 0; a + b + c <= 5; c++) {
+                    for (int d = 0; a + b + c + d <= 5; d++) {
+                        expected.add(Math.pow(1.5, a) * Math.pow(-2, b) * Math.pow(0.5, c) * Math.pow(3, d));
+                    }
+                }
+            }
+        }
+        final Set<Double> actual = new HashSet<>();
+        for (int t = 0; t < 126; t++) {
+            actual.add(buffer[t]);
+        }
+        final double[][] batch = expander.expand(new double[][]{input, {0, 0, 0, 0}});
+
+        assertAll("degree 5 expansion",
+            () -> assertEquals(126, expander.termCount(4), "C(9, 4) terms"),
+            () -> assertEquals(expected, actual, "Products of powers of two and three are exact"),
+            () -> assertEquals(42, buffer[126], 0.0, "Values past the terms should be left alone"),
+            () -> assertArrayEquals(Arrays.copyOf(buffer, 126), batch[0], 0.0, "Batch rows should match single rows"),
+            () -> assertEquals(1.0, batch[1][0], 0.0, "Constant term should be 1"),
+            () -> assertThrows(IllegalArgumentException.class, () -> expander.expandInto(input, new double[125]),
+                    "Short buffers should be rejected"));
+    }
+
+    @Test
+    void testSwitchingFeatureCountsUsesTheMatchingTable() {
+        final PolynomialFeatureExpander expander = new PolynomialFeatureExpander(2);
+
+        assertAll("alternating widths",
+            () -> assertEquals(6, expander.expandSingle(new double[]{2, 3}).length, "Two features give 6 terms"),
+            () -> assertArrayEquals(new double[]{1, 2, 4}, expander.expandSingle(new double[]{2}), 0.0,
+                    "One feature gives 1, x, x^2"),
+            () -> assertEquals(10, expander.termCount(3), "Three features give 10 terms"),
+            () -> assertArrayEquals(new double[]{1, 3, 2, 9, 6, 4}, expander.expandSingle(new double[]{2, 3}), 1e-12,
+                    "Returning to two features should reuse their table"));
+    }
+}